@@ -0,0 +1,71 @@
+package supermat.bench;
+
+import java.io.Writer;
+import java.util.Formatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.AfficheurSupermat;
+import supermat.Supermat;
+
+/**
+ * Affichage texte d'une matrice n x n vers une sortie qui ignore tout
+ * (Writer.nullWriter()) : seul le formatage est mesuré. printf() reproduit
+ * l'ancien afficher(), un format "%7.2f " par élément.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class AffichageBench {
+
+    @Param({"100", "1000"})
+    public int taille;
+
+    private Supermat m;
+
+    @Setup
+    public void preparer() {
+        m = Formes.aleatoire(taille, taille);
+    }
+
+    @Benchmark
+    public void printf() {
+        Formatter sortie = new Formatter(Writer.nullWriter());
+        for (int i = 0; i < taille; i++) {
+            for (int j = 0; j < taille; j++) {
+                sortie.format("%7.2f ", m.get(i, j));
+            }
+            sortie.format("%n");
+        }
+        sortie.flush();
+    }
+
+    @Benchmark
+    public void afficheur() {
+        AfficheurSupermat sortie = new AfficheurSupermat(Writer.nullWriter());
+        sortie.afficher("M", m);
+        sortie.flush();
+    }
+
+    @Benchmark
+    public void afficheurResume() {
+        AfficheurSupermat sortie = new AfficheurSupermat(Writer.nullWriter());
+        sortie.setResume(5, 5);
+        sortie.afficher("M", m);
+        sortie.flush();
+    }
+}
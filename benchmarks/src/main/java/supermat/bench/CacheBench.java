@@ -0,0 +1,82 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.CacheSupermat;
+import supermat.Supermat;
+
+/**
+ * Cache de résultats : produit() recalculé à chaque appel, face au même
+ * produit rendu par CacheSupermat, opérandes reconnus par identité (une
+ * consultation) ou par contenu (empreinte des deux opérandes à chaque
+ * appel). apresModification modifie un élément de l'opérande avant chaque
+ * appel : invalidation et recalcul. ecrireParElements mesure set(), qui
+ * tient à jour le compteur de modifications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class CacheBench {
+
+    @Param({"64", "256", "1024"})
+    public int taille;
+
+    private Supermat transformation;
+    private Supermat x;
+    private CacheSupermat parIdentite;
+    private CacheSupermat parContenu;
+
+    @Setup
+    public void preparer() {
+        transformation = Formes.aleatoire(taille, taille);
+        x = Formes.aleatoire(taille, taille);
+        parIdentite = new CacheSupermat(64L << 20);
+        parContenu = new CacheSupermat(64L << 20, CacheSupermat.Cles.CONTENU);
+    }
+
+    @Benchmark
+    public Supermat produit() {
+        return Supermat.produit(transformation, x);
+    }
+
+    @Benchmark
+    public Supermat parIdentite() {
+        return parIdentite.produit(transformation, x);
+    }
+
+    @Benchmark
+    public Supermat parContenu() {
+        return parContenu.produit(transformation, x);
+    }
+
+    @Benchmark
+    public Supermat apresModification() {
+        x.set(0, 0, x.get(0, 0));
+        return parIdentite.produit(transformation, x);
+    }
+
+    @Benchmark
+    public Supermat ecrireParElements() {
+        for (int i = 0; i < taille; i++) {
+            for (int j = 0; j < taille; j++) {
+                x.set(i, j, i - j);
+            }
+        }
+        return x;
+    }
+}
@@ -0,0 +1,110 @@
+package supermat.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+import supermat.SupermatConcurrente;
+
+/**
+ * Accès concurrents à une matrice partagée : SupermatConcurrente (verrous par
+ * bandes de lignes, lectures optimistes) face à une Supermat dont chaque accès
+ * est synchronisé sur un seul moniteur.
+ *
+ * lire* mesure des lecteurs seuls, à lancer avec plusieurs nombres de threads
+ * (-t 1, -t 2, -t 4...) ; les groupes concurrente et synchronisee mêlent
+ * trois lecteurs et un écrivain, et instantane mesure la prise d'un instantané
+ * (copie sur écriture).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ConcurrenceBench {
+
+    @Param({"64", "1024"})
+    public int taille;
+
+    private SupermatConcurrente partagee;
+    private Supermat synchronisee;
+    private final Object moniteur = new Object();
+
+    @Setup
+    public void preparer() {
+        Supermat a = Formes.aleatoire(taille, taille);
+        partagee = SupermatConcurrente.depuis(a);
+        synchronisee = a;
+    }
+
+    @Benchmark
+    public double lireConcurrente() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        return partagee.get(r.nextInt(taille), r.nextInt(taille));
+    }
+
+    @Benchmark
+    public double lireSynchronisee() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        int i = r.nextInt(taille);
+        int j = r.nextInt(taille);
+        synchronized (moniteur) {
+            return synchronisee.get(i, j);
+        }
+    }
+
+    @Benchmark
+    @Group("concurrente")
+    @GroupThreads(3)
+    public double lecteurConcurrente() {
+        return lireConcurrente();
+    }
+
+    @Benchmark
+    @Group("concurrente")
+    @GroupThreads(1)
+    public void ecrivainConcurrente() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        partagee.set(r.nextInt(taille), r.nextInt(taille), r.nextDouble());
+    }
+
+    @Benchmark
+    @Group("synchronisee")
+    @GroupThreads(3)
+    public double lecteurSynchronisee() {
+        return lireSynchronisee();
+    }
+
+    @Benchmark
+    @Group("synchronisee")
+    @GroupThreads(1)
+    public void ecrivainSynchronisee() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        int i = r.nextInt(taille);
+        int j = r.nextInt(taille);
+        double v = r.nextDouble();
+        synchronized (moniteur) {
+            synchronisee.set(i, j, v);
+        }
+    }
+
+    @Benchmark
+    public SupermatConcurrente instantane() {
+        return partagee.instantane();
+    }
+}
@@ -0,0 +1,89 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+import supermat.SupermatUtils;
+
+/**
+ * Copies et conversions : copierDepuis(), matSupermat() et supermatMat()
+ * (tableaux 1D et 2D), identite().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class CopieBench {
+
+    @Param({"8", "64", "256", "1024", "4096"})
+    public int taille;
+
+    @Param({"carree", "rectangulaire"})
+    public String forme;
+
+    private Supermat source;
+    private Supermat destination;
+    private double[] tableau;
+    private double[][] tableau2D;
+    private int nl;
+    private int nc;
+
+    @Setup
+    public void preparer() {
+        nl = taille;
+        nc = Formes.colonnes(forme, taille);
+        source = Formes.aleatoire(nl, nc);
+        destination = new Supermat(nl, nc);
+        tableau = new double[nl * nc];
+        source.supermatMat(tableau, nl, nc);
+        tableau2D = new double[nl][nc];
+        SupermatUtils.supermatMat(source, tableau2D);
+    }
+
+    @Benchmark
+    public Supermat copierDepuis() {
+        destination.copierDepuis(source);
+        return destination;
+    }
+
+    @Benchmark
+    public Supermat matSupermat() {
+        return Supermat.matSupermat(tableau, nl, nc, nl, nc);
+    }
+
+    @Benchmark
+    public double[] supermatMat() {
+        source.supermatMat(tableau, nl, nc);
+        return tableau;
+    }
+
+    @Benchmark
+    public Supermat matSupermat2D() {
+        return SupermatUtils.matSupermat(tableau2D);
+    }
+
+    @Benchmark
+    public double[][] supermatMat2D() {
+        SupermatUtils.supermatMat(source, tableau2D);
+        return tableau2D;
+    }
+
+    @Benchmark
+    public Supermat identite() {
+        return SupermatUtils.identite(nl);
+    }
+}
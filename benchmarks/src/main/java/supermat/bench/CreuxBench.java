@@ -0,0 +1,92 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+import supermat.SupermatCSC;
+import supermat.SupermatCSR;
+import supermat.SupermatCreuse;
+
+/**
+ * Matrices creuses (CSR/CSC) contre le produit dense, sur une matrice bande
+ * de demi-largeur 8 (17 non-nuls par ligne au plus) multipliée par une
+ * matrice dense de 64 colonnes. produitDense est la référence : il traite
+ * tous les zéros de la bande.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class CreuxBench {
+
+    private static final int DEMI_LARGEUR = 8;
+    private static final int COLONNES = 64;
+
+    @Param({"256", "1024", "4096"})
+    public int taille;
+
+    private Supermat bande;
+    private Supermat dense;
+    private SupermatCSR csr;
+    private SupermatCSC csc;
+
+    @Setup
+    public void preparer() {
+        bande = new Supermat(taille, taille);
+        for (int i = 0; i < taille; i++) {
+            for (int j = Math.max(0, i - DEMI_LARGEUR); j <= Math.min(taille - 1, i + DEMI_LARGEUR); j++) {
+                bande.set(i, j, 1.0 + (i + j) % 7);
+            }
+        }
+        dense = Formes.aleatoire(taille, COLONNES);
+        csr = SupermatCSR.depuisDense(bande);
+        csc = SupermatCSC.depuisDense(bande);
+    }
+
+    @Benchmark
+    public Supermat produitDense() {
+        return Supermat.produit(bande, dense);
+    }
+
+    @Benchmark
+    public Supermat produitCSR() {
+        return SupermatCreuse.produit(csr, dense);
+    }
+
+    @Benchmark
+    public Supermat produitCSC() {
+        return SupermatCreuse.produit(csc, dense);
+    }
+
+    @Benchmark
+    public SupermatCSR produitCreuxCSR() {
+        return SupermatCSR.produit(csr, csr);
+    }
+
+    @Benchmark
+    public SupermatCSR transposeCSR() {
+        return csr.transpose();
+    }
+
+    @Benchmark
+    public SupermatCSR permuterLignesCSR() {
+        // Pas d'état à restaurer : deux échanges successifs s'annulent
+        csr.permuterLignes(0, taille - 1);
+        csr.permuterLignes(0, taille - 1);
+        return csr;
+    }
+}
@@ -0,0 +1,66 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.DecompositionLU;
+import supermat.Supermat;
+
+/**
+ * Décomposition LU et résolution, avec le produit de même taille comme
+ * référence : la décomposition fait 2n³/3 opérations, le produit 2n³, donc
+ * une décomposition au débit du produit prend le tiers de son temps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 4)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class DecompositionBench {
+
+    @Param({"256", "1024", "2048"})
+    public int taille;
+
+    private Supermat a;
+    private Supermat b;
+    private DecompositionLU lu;
+
+    @Setup
+    public void preparer() {
+        a = Formes.aleatoire(taille, taille);
+        b = Formes.aleatoire(taille, 1);
+        lu = DecompositionLU.decomposer(a);
+    }
+
+    @Benchmark
+    public DecompositionLU decomposer() {
+        return DecompositionLU.decomposer(a);
+    }
+
+    @Benchmark
+    public Supermat resoudre() {
+        return lu.resoudre(b);
+    }
+
+    @Benchmark
+    public Supermat inverse() {
+        return lu.inverse();
+    }
+
+    @Benchmark
+    public Supermat produit() {
+        return Supermat.produit(a, a);
+    }
+}
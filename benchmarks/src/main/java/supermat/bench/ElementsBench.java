@@ -0,0 +1,84 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+import supermat.SupermatUtils;
+
+/**
+ * Opérations élément par élément (addition, mise à l'échelle, produit scalaire,
+ * remplissage, lecture par get()). Noyaux vectoriels par défaut ; comparer avec
+ * -jvmArgsAppend -Dsupermat.vectoriel=false pour les noyaux scalaires, et
+ * -jvmArgsAppend -Dsupermat.controles=false pour get() sans contrôle d'indices.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ElementsBench {
+
+    @Param({"8", "64", "256", "1024", "4096"})
+    public int taille;
+
+    @Param({"carree", "rectangulaire"})
+    public String forme;
+
+    private Supermat a;
+    private Supermat b;
+
+    @Setup
+    public void preparer() {
+        int nc = Formes.colonnes(forme, taille);
+        a = Formes.aleatoire(taille, nc);
+        b = Formes.aleatoire(taille, nc);
+    }
+
+    @Benchmark
+    public Supermat addition() {
+        return SupermatUtils.addition(a, b);
+    }
+
+    @Benchmark
+    public Supermat multiplierParScalaire() {
+        SupermatUtils.multiplierParScalaire(a, 1.0);
+        return a;
+    }
+
+    @Benchmark
+    public double produitScalaire() {
+        return SupermatUtils.produitScalaire(a, b);
+    }
+
+    @Benchmark
+    public double sommeParElements() {
+        double somme = 0.0;
+        int nl = a.getNombreLignes();
+        int nc = a.getNombreColonnes();
+        for (int i = 0; i < nl; i++) {
+            for (int j = 0; j < nc; j++) {
+                somme += a.get(i, j);
+            }
+        }
+        return somme;
+    }
+
+    @Benchmark
+    public Supermat remplir() {
+        SupermatUtils.remplir(b, 0.5);
+        return b;
+    }
+}
@@ -0,0 +1,75 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+import supermat.SupermatUtils;
+
+/**
+ * Expressions différées contre la même suite d'opérations immédiates, qui
+ * alloue une matrice par étape. A lancer avec -prof gc pour comparer les
+ * octets alloués par opération.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ExpressionBench {
+
+    @Param({"64", "256", "1024"})
+    public int taille;
+
+    private Supermat a;
+    private Supermat b;
+    private Supermat c;
+    private Supermat d;
+
+    @Setup
+    public void preparer() {
+        a = Formes.aleatoire(taille, taille);
+        b = Formes.aleatoire(taille, taille);
+        c = Formes.aleatoire(taille, taille);
+        d = Formes.aleatoire(taille, taille);
+    }
+
+    /** 2 (Aᵗ B + C) : transposée, produit, somme et échelle séparés. */
+    @Benchmark
+    public Supermat produitImmediat() {
+        Supermat p = Supermat.produit(SupermatUtils.transpose(a), b);
+        Supermat s = SupermatUtils.addition(p, c);
+        SupermatUtils.multiplierParScalaire(s, 2.0);
+        return s;
+    }
+
+    @Benchmark
+    public Supermat produitDiffere() {
+        return a.t().fois(b).plus(c).echelle(2.0).evaluer();
+    }
+
+    /** A + 2 B - C + D/2 : une matrice intermédiaire par opération. */
+    @Benchmark
+    public Supermat combinaisonImmediate() {
+        Supermat s = SupermatUtils.combinaison(1.0, a, 2.0, b);
+        s = SupermatUtils.soustraction(s, c);
+        return SupermatUtils.combinaison(1.0, s, 0.5, d);
+    }
+
+    @Benchmark
+    public Supermat combinaisonDifferee() {
+        return a.plus(b.echelle(2.0)).moins(c).plus(d.echelle(0.5)).evaluer();
+    }
+}
@@ -0,0 +1,35 @@
+package supermat.bench;
+
+import supermat.Supermat;
+import supermat.SupermatUtils;
+
+/**
+ * Formes de matrices communes aux bancs d'essai.
+ * "carree" : n x n ; "rectangulaire" : n x n/4 (au moins une colonne).
+ * Les tailles (8 à 4096 par défaut) se restreignent avec -p taille=64,256.
+ */
+final class Formes {
+
+    /** Graine de la première matrice ; les suivantes prennent les graines suivantes. */
+    private static final long GRAINE = 20240601L;
+
+    private static long tirage;
+
+    private Formes() {
+    }
+
+    static int colonnes(String forme, int taille) {
+        return "rectangulaire".equals(forme) ? Math.max(1, taille / 4) : taille;
+    }
+
+    /**
+     * Alloue une matrice nl x nc remplie de valeurs aléatoires dans [-1, 1[.
+     * Les graines se suivent d'un appel à l'autre : un même banc d'essai
+     * travaille toujours sur les mêmes matrices.
+     */
+    static Supermat aleatoire(int nl, int nc) {
+        Supermat m = new Supermat(nl, nc);
+        SupermatUtils.remplirAleatoire(m, -1.0, 1.0, GRAINE + tirage++);
+        return m;
+    }
+}
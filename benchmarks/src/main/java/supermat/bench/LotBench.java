@@ -0,0 +1,92 @@
+package supermat.bench;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import supermat.LotSupermat;
+import supermat.Supermat;
+
+/**
+ * 10 000 petits produits n x n : boucle de Supermat.produit() sur des matrices
+ * séparées, contre un seul appel à LotSupermat.produit() sur les mêmes
+ * matrices rangées en lot. Temps par produit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class LotBench {
+
+    static final int LOT = 10000;
+
+    @Param({"2", "3", "4", "8"})
+    public int taille;
+
+    private Supermat[] a;
+    private Supermat[] b;
+    private Supermat[] c;
+    private LotSupermat lotA;
+    private LotSupermat lotB;
+    private LotSupermat lotC;
+
+    @Setup
+    public void preparer() {
+        a = new Supermat[LOT];
+        b = new Supermat[LOT];
+        c = new Supermat[LOT];
+        lotA = new LotSupermat(LOT, taille, taille);
+        lotB = new LotSupermat(LOT, taille, taille);
+        lotC = new LotSupermat(LOT, taille, taille);
+        for (int k = 0; k < LOT; k++) {
+            a[k] = Formes.aleatoire(taille, taille);
+            b[k] = Formes.aleatoire(taille, taille);
+            c[k] = new Supermat(taille, taille);
+            lotA.setMatrice(k, a[k]);
+            lotB.setMatrice(k, b[k]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOT)
+    public void boucle(Blackhole bh) {
+        for (int k = 0; k < LOT; k++) {
+            bh.consume(Supermat.produit(a[k], b[k]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOT)
+    public void boucleDestination(Blackhole bh) {
+        for (int k = 0; k < LOT; k++) {
+            bh.consume(Supermat.produit(a[k], b[k], c[k]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOT)
+    public LotSupermat lot() {
+        return LotSupermat.produit(lotA, lotB, lotC);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOT)
+    public LotSupermat lotParallele() {
+        return LotSupermat.produitParallele(lotA, lotB, lotC, ForkJoinPool.commonPool());
+    }
+}
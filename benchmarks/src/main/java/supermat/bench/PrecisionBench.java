@@ -0,0 +1,80 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Precision;
+import supermat.Supermat;
+import supermat.SupermatFloat;
+
+/**
+ * Produit carré n x n en double (Supermat), en float et en précision mixte
+ * (SupermatFloat, sommes en double), résultat écrit dans une matrice
+ * réutilisée. Les opérandes occupent 8 n² octets chacun en double, 4 n² en
+ * float ; avec -prof gc, les variantes « Alloue » montrent l'écart pour le
+ * résultat.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class PrecisionBench {
+
+    @Param({"256", "512", "1024"})
+    public int taille;
+
+    private Supermat a;
+    private Supermat b;
+    private Supermat c;
+    private SupermatFloat fa;
+    private SupermatFloat fb;
+    private SupermatFloat fc;
+
+    @Setup
+    public void preparer() {
+        a = Formes.aleatoire(taille, taille);
+        b = Formes.aleatoire(taille, taille);
+        c = new Supermat(taille, taille);
+        fa = SupermatFloat.depuis(a);
+        fb = SupermatFloat.depuis(b);
+        fc = new SupermatFloat(taille, taille);
+    }
+
+    @Benchmark
+    public Supermat produitDouble() {
+        return Supermat.produit(a, b, c);
+    }
+
+    @Benchmark
+    public SupermatFloat produitFloat() {
+        return SupermatFloat.produit(fa, fb, fc, Precision.SIMPLE);
+    }
+
+    @Benchmark
+    public SupermatFloat produitMixte() {
+        return SupermatFloat.produit(fa, fb, fc, Precision.DOUBLE);
+    }
+
+    @Benchmark
+    public Supermat produitDoubleAlloue() {
+        return Supermat.produit(a, b);
+    }
+
+    @Benchmark
+    public SupermatFloat produitFloatAlloue() {
+        return SupermatFloat.produit(fa, fb);
+    }
+}
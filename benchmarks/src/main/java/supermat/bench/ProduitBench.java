@@ -0,0 +1,62 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+
+/**
+ * Produit matriciel : A (n x p) × B (p x n), p = n (carree) ou n/4 (rectangulaire).
+ * Noyaux vectoriels par défaut ; -jvmArgsAppend -Dsupermat.vectoriel=false pour les scalaires.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ProduitBench {
+
+    @Param({"8", "64", "256", "1024", "4096"})
+    public int taille;
+
+    @Param({"carree", "rectangulaire"})
+    public String forme;
+
+    private Supermat a;
+    private Supermat b;
+
+    @Setup
+    public void preparer() {
+        int p = Formes.colonnes(forme, taille);
+        a = Formes.aleatoire(taille, p);
+        b = Formes.aleatoire(p, taille);
+    }
+
+    @Benchmark
+    public Supermat produit() {
+        return Supermat.produit(a, b);
+    }
+
+    /** (A × B)ᵀ = Bᵀ × Aᵀ calculé sur des vues transposées, sans les matérialiser. */
+    @Benchmark
+    public Supermat produitTransposees() {
+        return Supermat.produit(b.transposee(), a.transposee());
+    }
+
+    @Benchmark
+    public Supermat produitParallele() {
+        return Supermat.produitParallele(a, b);
+    }
+}
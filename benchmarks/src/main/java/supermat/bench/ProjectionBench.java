@@ -0,0 +1,84 @@
+package supermat.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+
+/**
+ * Supermatrice projetée depuis un fichier (Supermat.projeter()) comparée à la
+ * même matrice dans le tas : lecture ligne par ligne et produit A × B.
+ * Le fichier est dans le cache du système : on mesure le coût d'accès hors
+ * du tas, pas celui du disque.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ProjectionBench {
+
+    @Param({"64", "256", "1024"})
+    public int taille;
+
+    @Param({"tas", "fichier"})
+    public String stockage;
+
+    private Path fichier;
+    private Supermat a;
+    private Supermat b;
+    private double[] ligne;
+
+    @Setup
+    public void preparer() throws IOException {
+        Supermat source = Formes.aleatoire(taille, taille);
+        if ("fichier".equals(stockage)) {
+            fichier = Files.createTempFile("supermat", ".bin");
+            a = Supermat.projeter(fichier, taille, taille);
+            a.copierDepuis(source);
+        } else {
+            a = source;
+        }
+        b = Formes.aleatoire(taille, taille);
+        ligne = new double[taille];
+    }
+
+    @TearDown
+    public void liberer() throws IOException {
+        if (fichier != null) {
+            a.recupererSupermat();
+            Files.delete(fichier);
+        }
+    }
+
+    @Benchmark
+    public double lireLignes() {
+        double somme = 0.0;
+        for (int i = 0; i < taille; i++) {
+            a.getLigne(i, ligne);
+            somme += ligne[i];
+        }
+        return somme;
+    }
+
+    @Benchmark
+    public Supermat produit() {
+        return Supermat.produit(a, b);
+    }
+}
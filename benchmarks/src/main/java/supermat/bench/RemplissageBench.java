@@ -0,0 +1,70 @@
+package supermat.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+import supermat.SupermatUtils;
+
+/**
+ * Remplissage aléatoire reproductible (remplirAleatoire(), remplirNormale()),
+ * comparé à un remplissage séquentiel élément par élément avec java.util.Random.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class RemplissageBench {
+
+    @Param({"8", "64", "256", "1024", "4096"})
+    public int taille;
+
+    @Param({"carree", "rectangulaire"})
+    public String forme;
+
+    private Supermat a;
+    private final Random random = new Random(1);
+
+    @Setup
+    public void preparer() {
+        a = new Supermat(taille, Formes.colonnes(forme, taille));
+    }
+
+    @Benchmark
+    public Supermat remplirAleatoire() {
+        SupermatUtils.remplirAleatoire(a, -1.0, 1.0, 1L);
+        return a;
+    }
+
+    @Benchmark
+    public Supermat remplirNormale() {
+        SupermatUtils.remplirNormale(a, 0.0, 1.0, 1L);
+        return a;
+    }
+
+    @Benchmark
+    public Supermat sequentielRandom() {
+        int nl = a.getNombreLignes();
+        int nc = a.getNombreColonnes();
+        for (int i = 0; i < nl; i++) {
+            for (int j = 0; j < nc; j++) {
+                a.set(i, j, -1.0 + 2.0 * random.nextDouble());
+            }
+        }
+        return a;
+    }
+}
@@ -0,0 +1,67 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+import supermat.SupermatUtils;
+
+/**
+ * Produits et transposées de taille moyenne en boucle, avec un résultat
+ * alloué à chaque appel ou écrit dans une matrice réutilisée. A lancer avec
+ * -prof gc : les variantes « Destination » n'allouent rien en régime établi
+ * (les panneaux du produit sont loués à la réserve).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ReserveBench {
+
+    @Param({"32", "128", "256"})
+    public int taille;
+
+    private Supermat a;
+    private Supermat b;
+    private Supermat destination;
+
+    @Setup
+    public void preparer() {
+        a = Formes.aleatoire(taille, taille);
+        b = Formes.aleatoire(taille, taille);
+        destination = new Supermat(taille, taille);
+    }
+
+    @Benchmark
+    public Supermat produit() {
+        return Supermat.produit(a, b);
+    }
+
+    @Benchmark
+    public Supermat produitDestination() {
+        return Supermat.produit(a, b, destination);
+    }
+
+    @Benchmark
+    public Supermat transpose() {
+        return SupermatUtils.transpose(a);
+    }
+
+    @Benchmark
+    public Supermat transposeDestination() {
+        return SupermatUtils.transpose(a, destination);
+    }
+}
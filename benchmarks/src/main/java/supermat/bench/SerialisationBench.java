@@ -0,0 +1,80 @@
+package supermat.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.LecteurSupermat;
+import supermat.Supermat;
+
+/**
+ * Format binaire : sauvegarder(), charger() et lecture par blocs de 64 lignes
+ * (LecteurSupermat). Le fichier reste dans le cache du système : la mesure
+ * porte sur le codage et les copies, pas sur le disque.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SerialisationBench {
+
+    @Param({"64", "256", "1024", "4096"})
+    public int taille;
+
+    @Param({"carree", "rectangulaire"})
+    public String forme;
+
+    private Path fichier;
+    private Supermat a;
+    private Supermat bloc;
+
+    @Setup
+    public void preparer() throws IOException {
+        int nc = Formes.colonnes(forme, taille);
+        a = Formes.aleatoire(taille, nc);
+        bloc = new Supermat(64, nc);
+        fichier = Files.createTempFile("supermat", ".bin");
+        a.sauvegarder(fichier);
+    }
+
+    @TearDown
+    public void supprimer() throws IOException {
+        Files.delete(fichier);
+    }
+
+    @Benchmark
+    public void sauvegarder() {
+        a.sauvegarder(fichier);
+    }
+
+    @Benchmark
+    public Supermat charger() {
+        return Supermat.charger(fichier);
+    }
+
+    @Benchmark
+    public Supermat lireParBlocs() {
+        try (LecteurSupermat lecteur = LecteurSupermat.ouvrir(fichier)) {
+            while (lecteur.lireBloc(bloc) > 0) {
+                // chaque bloc remplace le précédent
+            }
+        }
+        return bloc;
+    }
+}
@@ -0,0 +1,57 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+
+/**
+ * Strassen-Winograd (produitStrassen) contre le produit par blocs, en matrices
+ * carrées, pour plusieurs seuils de récursion. Le produit classique ne dépend
+ * pas du seuil : il sert de référence pour chaque ligne du tableau.
+ * Les tailles impaires (1000, 3000) mesurent le coût des pelures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 4)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class StrassenBench {
+
+    @Param({"512", "1000", "1024", "2048", "3000", "4096"})
+    public int taille;
+
+    @Param({"128", "256", "512"})
+    public int seuil;
+
+    private Supermat a;
+    private Supermat b;
+
+    @Setup
+    public void preparer() {
+        a = Formes.aleatoire(taille, taille);
+        b = Formes.aleatoire(taille, taille);
+    }
+
+    @Benchmark
+    public Supermat produit() {
+        return Supermat.produit(a, b);
+    }
+
+    @Benchmark
+    public Supermat produitStrassen() {
+        return Supermat.produitStrassen(a, b, seuil);
+    }
+}
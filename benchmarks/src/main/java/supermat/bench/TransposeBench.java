@@ -0,0 +1,63 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+import supermat.SupermatUtils;
+
+/**
+ * Transposée d'une matrice n x n ou n x n/4 : copie par tuiles, vue sans copie,
+ * et transposition sur place du plus grand bloc carré.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class TransposeBench {
+
+    @Param({"8", "64", "256", "1024", "4096"})
+    public int taille;
+
+    @Param({"carree", "rectangulaire"})
+    public String forme;
+
+    private Supermat a;
+    private Supermat carre;
+
+    @Setup
+    public void preparer() {
+        int nc = Formes.colonnes(forme, taille);
+        a = Formes.aleatoire(taille, nc);
+        carre = a.sousMatrice(0, nc - 1, 0, nc - 1);
+    }
+
+    @Benchmark
+    public Supermat transpose() {
+        return SupermatUtils.transpose(a);
+    }
+
+    @Benchmark
+    public Supermat transposee() {
+        return a.transposee();
+    }
+
+    @Benchmark
+    public Supermat transposerEnPlace() {
+        SupermatUtils.transposerEnPlace(carre);
+        return carre;
+    }
+}
@@ -0,0 +1,105 @@
+package supermat.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import supermat.Supermat;
+
+/**
+ * Produits matrice × vecteur et mise à jour de rang 1 : multiplierVecteur()
+ * (A x), multiplierVecteurTransposee() (Aᵗ x), ajouterProduitExterieur()
+ * (A += x yᵗ), face à produit() avec le vecteur dans une Supermat n×1.
+ * multiplierVecteurs applique la matrice à 16 vecteurs avec un seul tableau
+ * résultat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class VecteurBench {
+
+    @Param({"64", "256", "1024", "4096"})
+    public int taille;
+
+    @Param({"carree", "rectangulaire"})
+    public String forme;
+
+    private Supermat a;
+    private double[] x;
+    private double[] y;
+    private double[] xt;
+    private double[] yt;
+    private Supermat colonne;
+    private double[][] lot;
+
+    @Setup
+    public void preparer() {
+        int nc = Formes.colonnes(forme, taille);
+        a = Formes.aleatoire(taille, nc);
+        x = ligne(Formes.aleatoire(1, nc));
+        y = new double[taille];
+        xt = ligne(Formes.aleatoire(1, taille));
+        yt = new double[nc];
+        colonne = Formes.aleatoire(nc, 1);
+        lot = new double[16][];
+        for (int k = 0; k < lot.length; k++) {
+            lot[k] = ligne(Formes.aleatoire(1, nc));
+        }
+    }
+
+    private static double[] ligne(Supermat m) {
+        double[] v = new double[m.getNombreColonnes()];
+        m.getLigne(0, v);
+        return v;
+    }
+
+    @Benchmark
+    public double[] multiplierVecteur() {
+        a.multiplierVecteur(x, y);
+        return y;
+    }
+
+    @Benchmark
+    public double[] multiplierVecteurParallele() {
+        a.multiplierVecteur(1.0, x, 0.0, y, ForkJoinPool.commonPool());
+        return y;
+    }
+
+    @Benchmark
+    public Supermat produitColonne() {
+        return Supermat.produit(a, colonne);
+    }
+
+    @Benchmark
+    public double[] multiplierVecteurTransposee() {
+        a.multiplierVecteurTransposee(xt, yt);
+        return yt;
+    }
+
+    @Benchmark
+    public Supermat ajouterProduitExterieur() {
+        a.ajouterProduitExterieur(1e-12, xt, x);
+        return a;
+    }
+
+    @Benchmark
+    public void multiplierVecteurs(Blackhole trou) {
+        a.multiplierVecteurs(Arrays.stream(lot), v -> trou.consume(v[0]));
+    }
+}
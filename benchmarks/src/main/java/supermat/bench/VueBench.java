@@ -0,0 +1,60 @@
+package supermat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import supermat.Supermat;
+
+/**
+ * Opérations sans déplacement de données : sousMatrice() et permuterLignes().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class VueBench {
+
+    @Param({"8", "64", "256", "1024", "4096"})
+    public int taille;
+
+    @Param({"carree", "rectangulaire"})
+    public String forme;
+
+    private Supermat a;
+    private int nl;
+    private int nc;
+    private int ligne;
+
+    @Setup
+    public void preparer() {
+        nl = taille;
+        nc = Formes.colonnes(forme, taille);
+        a = Formes.aleatoire(nl, nc);
+    }
+
+    /** Bloc central couvrant la moitié des lignes et des colonnes. */
+    @Benchmark
+    public Supermat sousMatrice() {
+        return a.sousMatrice(nl / 4, nl / 4 + nl / 2 - 1, nc / 4, nc / 4 + nc / 2 - 1);
+    }
+
+    @Benchmark
+    public Supermat permuterLignes() {
+        ligne = (ligne + 1) % nl;
+        a.permuterLignes(0, ligne);
+        return a;
+    }
+}
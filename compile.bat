@@ -1,7 +1,7 @@
 @echo off
 echo Compilation des classes Java...
 if not exist bin mkdir bin
-javac -d bin src/main/java/supermat/*.java
+javac --add-modules jdk.incubator.vector -d bin src/main/java/supermat/*.java
 
 if %ERRORLEVEL% EQU 0 (
     echo Compilation réussie!
@@ -1,17 +1,17 @@
 @echo off
 echo Compilation des classes Java...
-javac -d bin src/main/java/supermat/*.java
+javac --add-modules jdk.incubator.vector -d bin src/main/java/supermat/*.java
 
 if %ERRORLEVEL% EQU 0 (
     echo Compilation réussie!
     echo.
     echo Exécution des tests principaux:
-    java -cp bin supermat.TestSupermat
+    java --add-modules jdk.incubator.vector -cp bin supermat.TestSupermat
     echo.
     echo ================================================
     echo.
     echo Exécution de la démonstration complète:
-    java -cp bin supermat.DemoSupermat
+    java --add-modules jdk.incubator.vector -cp bin supermat.DemoSupermat
 ) else (
     echo Erreur de compilation!
 )
@@ -0,0 +1,322 @@
+package supermat;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Affichage texte des matrices vers un Writer ou un flux, dans le format
+ * d'afficher() : un en-tête, puis chaque élément en "%7.2f " et une ligne
+ * par ligne de la matrice.
+ *
+ * Les éléments sont formatés à la main dans un tampon de caractères réutilisé,
+ * vidé vers la sortie par blocs de TAILLE_TAMPON caractères : ni chaîne de
+ * format analysée, ni objet alloué, ni écriture synchronisée par élément. Le
+ * texte produit est celui de printf (arrondi au plus proche, cas d'égalité
+ * vers le haut, séparateur décimal et chiffres de la locale par défaut) ;
+ * les valeurs non finies ou de plus de 10^12 passent par String.format().
+ *
+ * setResume(lignes, colonnes) n'affiche que les premières et dernières
+ * lignes et colonnes, les autres étant remplacées par "...".
+ *
+ * <pre>
+ * try (AfficheurSupermat sortie = new AfficheurSupermat(Files.newBufferedWriter(chemin))) {
+ *     sortie.setResume(5, 5);
+ *     sortie.afficher("A", a);
+ * }
+ * </pre>
+ */
+public class AfficheurSupermat implements AutoCloseable, Flushable {
+
+    /** Taille du tampon de caractères. */
+    static final int TAILLE_TAMPON = 8192;
+
+    /** Au-delà, les éléments sont formatés par String.format(). */
+    private static final double LIMITE = 1e12;
+
+    /** Largeur d'un élément, sans l'espace qui le suit. */
+    private static final int LARGEUR = 7;
+
+    private static final String ELISION = "    ... ";
+
+    private final Appendable sortie;
+    private final char[] tampon = new char[TAILLE_TAMPON];
+    private int position;
+    private double[] ligne = new double[0];
+    private int lignesResume;
+    private int colonnesResume;
+
+    private final Locale locale;
+    private final char zero;
+    private final char separateur;
+
+    /**
+     * Affichage vers un Writer (FileWriter, StringWriter...).
+     */
+    public AfficheurSupermat(Writer sortie) {
+        this((Appendable) sortie);
+    }
+
+    /**
+     * Affichage vers un flux d'octets, dans le jeu de caractères par défaut.
+     * Un PrintStream (System.out) est utilisé directement, avec son propre
+     * codage.
+     */
+    public AfficheurSupermat(OutputStream sortie) {
+        this(sortie instanceof PrintStream ? (Appendable) sortie
+                                           : new OutputStreamWriter(sortie, Charset.defaultCharset()));
+    }
+
+    private AfficheurSupermat(Appendable sortie) {
+        this.sortie = sortie;
+        this.locale = Locale.getDefault(Locale.Category.FORMAT);
+        DecimalFormatSymbols symboles = DecimalFormatSymbols.getInstance(locale);
+        this.zero = symboles.getZeroDigit();
+        this.separateur = symboles.getDecimalSeparator();
+    }
+
+    /**
+     * Mode résumé : seules les n premières et les n dernières lignes sont
+     * affichées (n = lignes), et dans chacune les m premières et les m
+     * dernières colonnes (m = colonnes) ; le reste est remplacé par "...".
+     * Par exemple, setResume(3, 4) affiche 6 lignes de 8 éléments. 0 affiche
+     * toutes les lignes (ou colonnes).
+     */
+    public void setResume(int lignes, int colonnes) {
+        if (lignes < 0 || colonnes < 0) {
+            throw new IllegalArgumentException("paramètres de résumé invalides (" + lignes + ", " + colonnes + ")");
+        }
+        this.lignesResume = lignes;
+        this.colonnesResume = colonnes;
+    }
+
+    /**
+     * Affiche une matrice (Supermat, SupermatFloat ou expression, évaluée une
+     * fois).
+     *
+     * @throws SupermatException si l'écriture échoue (l'IOException
+     *         d'origine est dans getCause())
+     */
+    public void afficher(String nom, Expression m) {
+        Objects.requireNonNull(m, "la matrice ne peut pas être null");
+
+        if (m instanceof Supermat) {
+            Supermat sm = (Supermat) m;
+            ecrire(enTete(nom, sm.getNombreLignes(), sm.getNombreColonnes(), ""), sm);
+        } else if (m instanceof SupermatFloat) {
+            ecrire(enTete(nom, m.getNombreLignes(), m.getNombreColonnes(), ", float"), m);
+        } else {
+            ecrire(enTete(nom, m.getNombreLignes(), m.getNombreColonnes(), ""), m.evaluer());
+        }
+    }
+
+    /**
+     * Affiche une matrice creuse sous forme dense.
+     */
+    public void afficher(String nom, SupermatCreuse m) {
+        Objects.requireNonNull(m, "la matrice ne peut pas être null");
+
+        String titre = enTete(nom, m.getNombreLignes(), m.getNombreColonnes(),
+                              ", " + m.getNombreNonNuls() + " non nuls");
+        ecrire(titre, m.getNombreLignes(), m.getNombreColonnes(), m::lire);
+    }
+
+    /**
+     * Écrit le texte en attente, puis vide la sortie.
+     */
+    @Override
+    public void flush() {
+        try {
+            vider();
+            if (sortie instanceof Flushable) {
+                ((Flushable) sortie).flush();
+            }
+        } catch (IOException e) {
+            throw new SupermatException("écriture impossible (" + e.getMessage() + ")", e);
+        }
+    }
+
+    /**
+     * Écrit le texte en attente et ferme la sortie.
+     */
+    @Override
+    public void close() {
+        flush();
+        if (sortie instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) sortie).close();
+            } catch (Exception e) {
+                throw new SupermatException("fermeture impossible (" + e.getMessage() + ")", e);
+            }
+        }
+    }
+
+    /** Lecture d'un élément (i, j) sans contrôle. */
+    interface Source {
+        double lire(int i, int j);
+    }
+
+    private static String enTete(String nom, int nl, int nc, String precision) {
+        if (nom == null || nom.isEmpty()) {
+            nom = "Matrice";
+        }
+        return nom + " (" + nl + "x" + nc + precision + ") :";
+    }
+
+    /**
+     * Supermat : chaque ligne affichée est lue d'un bloc par getLigne() ; en
+     * résumé, seules ses colonnes affichées le sont, en deux morceaux.
+     */
+    private void ecrire(String titre, Supermat m) {
+        int nc = m.getNombreColonnes();
+        if (ligne.length < nc) {
+            ligne = new double[nc];
+        }
+
+        if (colonnesResume > 0 && 2 * colonnesResume < nc) {
+            int fin = nc - colonnesResume;
+            ecrire(titre, m.getNombreLignes(), nc, (i, j) -> {
+                if (j == 0) {
+                    m.getLigne(i, 0, ligne, 0, colonnesResume);
+                    m.getLigne(i, fin, ligne, fin, colonnesResume);
+                }
+                return ligne[j];
+            });
+            return;
+        }
+
+        ecrire(titre, m.getNombreLignes(), nc, (i, j) -> {
+            if (j == 0) {
+                m.getLigne(i, ligne);
+            }
+            return ligne[j];
+        });
+    }
+
+    private void ecrire(String titre, Expression m) {
+        ecrire(titre, m.getNombreLignes(), m.getNombreColonnes(), m::get);
+    }
+
+    /**
+     * Écrit l'en-tête puis les lignes affichées, suivies d'une ligne vide.
+     */
+    void ecrire(String titre, int nl, int nc, Source source) {
+        try {
+            texte(titre);
+            caractere('\n');
+            boolean coupeLignes = lignesResume > 0 && 2 * lignesResume < nl;
+            boolean coupeColonnes = colonnesResume > 0 && 2 * colonnesResume < nc;
+            for (int i = 0; i < nl; i++) {
+                if (coupeLignes && i == lignesResume) {
+                    int affichees = coupeColonnes ? 2 * colonnesResume + 1 : nc;
+                    for (int j = 0; j < affichees; j++) {
+                        texte(ELISION);
+                    }
+                    caractere('\n');
+                    i = nl - lignesResume - 1;
+                    continue;
+                }
+                for (int j = 0; j < nc; j++) {
+                    if (coupeColonnes && j == colonnesResume) {
+                        texte(ELISION);
+                        j = nc - colonnesResume - 1;
+                        continue;
+                    }
+                    nombre(source.lire(i, j));
+                    caractere(' ');
+                }
+                caractere('\n');
+            }
+            caractere('\n');
+        } catch (IOException e) {
+            throw new SupermatException("écriture impossible (" + e.getMessage() + ")", e);
+        }
+    }
+
+    /**
+     * Écrit v comme "%7.2f".
+     */
+    private void nombre(double v) throws IOException {
+        double absolu = Math.abs(v);
+        if (!(absolu < LIMITE)) {
+            // NaN, infinis et grandes valeurs
+            texte(String.format(locale, "%7.2f", v));
+            return;
+        }
+
+        double echelle = absolu * 100.0;
+        long centiemes = (long) echelle;
+        double reste = echelle - centiemes;
+        if (Math.abs(reste - 0.5) <= 4 * Math.ulp(echelle)) {
+            // Presque à égalité : printf arrondit la plus courte écriture
+            // décimale de v (Double.toString), vers le haut en cas d'égalité
+            centiemes = new BigDecimal(Double.toString(absolu)).setScale(2, RoundingMode.HALF_UP)
+                                                               .unscaledValue().longValue();
+        } else if (reste > 0.5) {
+            centiemes++;
+        }
+
+        boolean negatif = Double.doubleToRawLongBits(v) < 0;
+        long entier = centiemes / 100;
+        int chiffres = 1;
+        for (long p = 10; p <= entier; p *= 10) {
+            chiffres++;
+        }
+        int longueur = (negatif ? 1 : 0) + chiffres + 3;
+
+        if (position + Math.max(longueur, LARGEUR) > tampon.length) {
+            vider();
+        }
+        for (int k = longueur; k < LARGEUR; k++) {
+            tampon[position++] = ' ';
+        }
+        if (negatif) {
+            tampon[position++] = '-';
+        }
+        int fin = position + chiffres;
+        for (int k = fin - 1; k >= position; k--) {
+            tampon[k] = (char) (zero + (int) (entier % 10));
+            entier /= 10;
+        }
+        position = fin;
+        int fraction = (int) (centiemes % 100);
+        tampon[position++] = separateur;
+        tampon[position++] = (char) (zero + fraction / 10);
+        tampon[position++] = (char) (zero + fraction % 10);
+    }
+
+    private void caractere(char c) throws IOException {
+        if (position == tampon.length) {
+            vider();
+        }
+        tampon[position++] = c;
+    }
+
+    private void texte(String s) throws IOException {
+        for (int k = 0; k < s.length(); k++) {
+            caractere(s.charAt(k));
+        }
+    }
+
+    private void vider() throws IOException {
+        if (position == 0) {
+            return;
+        }
+        if (sortie instanceof Writer) {
+            ((Writer) sortie).write(tampon, 0, position);
+        } else {
+            sortie.append(CharBuffer.wrap(tampon, 0, position));
+        }
+        position = 0;
+    }
+}
@@ -0,0 +1,493 @@
+package supermat;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Cache de résultats : un produit, une transposée ou une identité déjà
+ * calculés sont rendus sans être recalculés tant que leurs opérandes n'ont
+ * pas changé (transformation fixe appliquée plusieurs fois, identite(n)
+ * redemandée...).
+ *
+ * Clés : chaque opérande est reconnu par son identité et son compteur de
+ * modifications, que set(), setLigne(), permuterLignes(), copierDepuis(),
+ * remplir(), un produit dans une destination, etc. font changer, y compris
+ * à travers une vue. Un résultat dont un opérande a changé depuis le calcul
+ * est retiré (invalidation) et recalculé à la consultation suivante. Les
+ * matrices dont les écritures ne sont pas suivies (envelopper(), projeter())
+ * sont reconnues par une empreinte de leur contenu (128 bits), recalculée
+ * à chaque consultation en lisant toute la matrice. Avec Cles.CONTENU, tous
+ * les opérandes le sont : deux matrices distinctes de même contenu partagent
+ * alors leurs résultats.
+ *
+ * Taille : la somme des tailles des résultats (8 octets par élément) reste
+ * sous la capacité ; au-delà, les résultats les moins récemment utilisés
+ * sont retirés (LRU). Un résultat plus grand que la capacité n'est pas
+ * conservé. Les opérandes ne sont retenus que par des références faibles :
+ * les résultats d'un opérande récupéré par le garbage collector sont retirés
+ * à l'appel suivant du cache (produit(), transpose() ou identite()).
+ *
+ * Les résultats rendus sont partagés entre les appelants : ils ne doivent
+ * pas être modifiés ni libérés (les recopier d'abord, par copierDepuis()).
+ * Une modification est détectée et le résultat recalculé, mais les autres
+ * détenteurs la voient.
+ *
+ * Les méthodes peuvent être appelées depuis plusieurs threads ; les calculs
+ * se font hors du verrou du cache. Le compteur de modifications est un
+ * champ ordinaire, mis à jour sans barrière pour ne pas ralentir set() :
+ * une modification faite sur un autre thread n'est garantie visible, et le
+ * résultat invalidé, que si elle arrive-avant (happens-before) la
+ * consultation, par exemple par un verrou, un Future.get() ou le
+ * join() d'une tâche. Sans cette synchronisation, la consultation peut
+ * rendre l'ancien résultat. Comme toute Supermat, un opérande ne doit être
+ * modifié que par un thread à la fois (sinon, SupermatConcurrente).
+ *
+ * <pre>
+ * CacheSupermat cache = new CacheSupermat(64L &lt;&lt; 20);   // 64 Mo
+ * Supermat y = cache.produit(transformation, x);          // calculé
+ * Supermat z = cache.produit(transformation, x);          // même résultat, sans calcul
+ * x.set(0, 0, 1.0);
+ * Supermat w = cache.produit(transformation, x);          // recalculé
+ * </pre>
+ */
+public final class CacheSupermat {
+
+    /** Reconnaissance des opérandes. */
+    public enum Cles {
+        /**
+         * Identité et compteur de modifications ; empreinte du contenu pour
+         * les matrices non suivies.
+         */
+        IDENTITE,
+        /** Empreinte du contenu pour toutes les matrices. */
+        CONTENU
+    }
+
+    private static final int PRODUIT = 0;
+    private static final int TRANSPOSE = 1;
+    private static final int IDENTITE = 2;
+
+    private final long capacite;
+    private final Cles cles;
+    private final LinkedHashMap<Cle, Entree> entrees = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReferenceQueue<Supermat> collectees = new ReferenceQueue<>();  // opérandes récupérés par le GC
+
+    // Protégés par this
+    private long octets;
+    private long succes;
+    private long echecs;
+    private long invalidations;
+    private long evictions;
+
+    /**
+     * Cache d'au plus capaciteOctets octets de résultats, opérandes reconnus
+     * par identité (Cles.IDENTITE).
+     */
+    public CacheSupermat(long capaciteOctets) {
+        this(capaciteOctets, Cles.IDENTITE);
+    }
+
+    /**
+     * Cache d'au plus capaciteOctets octets de résultats.
+     */
+    public CacheSupermat(long capaciteOctets, Cles cles) {
+        if (capaciteOctets < 0) {
+            throw new IllegalArgumentException("la capacité ne peut pas être négative (" + capaciteOctets + ")");
+        }
+        this.capacite = capaciteOctets;
+        this.cles = Objects.requireNonNull(cles, "le mode de reconnaissance ne peut pas être null");
+    }
+
+    /**
+     * Produit a × b (Supermat.produit()), rendu depuis le cache si possible.
+     */
+    public Supermat produit(Supermat a, Supermat b) {
+        Objects.requireNonNull(a, "la première matrice ne peut pas être null");
+        Objects.requireNonNull(b, "la seconde matrice ne peut pas être null");
+
+        Operande oa = operande(a);
+        Operande ob = operande(b);
+        return obtenir(new Cle(PRODUIT, oa.cle, ob.cle, 0), oa, ob, () -> Supermat.produit(a, b));
+    }
+
+    /**
+     * Transposée copiée (SupermatUtils.transpose()), rendue depuis le cache
+     * si possible.
+     */
+    public Supermat transpose(Supermat a) {
+        Objects.requireNonNull(a, "la supermatrice ne peut pas être null");
+
+        Operande oa = operande(a);
+        return obtenir(new Cle(TRANSPOSE, oa.cle, null, 0), oa, null, () -> SupermatUtils.transpose(a));
+    }
+
+    /**
+     * Matrice identité n x n (SupermatUtils.identite()), partagée.
+     */
+    public Supermat identite(int n) {
+        return obtenir(new Cle(IDENTITE, null, null, n), null, null, () -> SupermatUtils.identite(n));
+    }
+
+    /**
+     * Retire tous les résultats périmés : opérande modifié, résultat
+     * modifié. Ils le seraient sinon à leur prochaine consultation, ou par
+     * l'éviction. (Ceux d'un opérande récupéré par le garbage collector sont
+     * retirés sans attendre, à chaque appel du cache.)
+     */
+    public synchronized void purger() {
+        while (collectees.poll() != null) {
+            // file vidée : le parcours ci-dessous retire aussi ces entrées
+        }
+        Iterator<Entree> it = entrees.values().iterator();
+        while (it.hasNext()) {
+            Entree e = it.next();
+            if (!e.valide()) {
+                it.remove();
+                octets -= e.octets;
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Retire les résultats dont un opérande a été récupéré par le garbage
+     * collector : leur clé ne peut plus être retrouvée, ils occuperaient la
+     * capacité jusqu'à leur éviction. Ne parcourt les entrées que si une
+     * référence a été mise dans la file depuis le dernier appel. Appelée
+     * sous le verrou.
+     */
+    private void retirerCollectees() {
+        if (collectees.poll() == null) {
+            return;
+        }
+        while (collectees.poll() != null) {
+            // une seule passe suffit pour toutes les références de la file
+        }
+        Iterator<Entree> it = entrees.values().iterator();
+        while (it.hasNext()) {
+            Entree e = it.next();
+            if (e.operandeCollecte()) {
+                it.remove();
+                octets -= e.octets;
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Vide le cache (les compteurs sont conservés).
+     */
+    public synchronized void vider() {
+        entrees.clear();
+        octets = 0;
+    }
+
+    /** Capacité en octets. */
+    public long getCapacite() {
+        return capacite;
+    }
+
+    /** Mode de reconnaissance des opérandes. */
+    public Cles getCles() {
+        return cles;
+    }
+
+    /** Octets occupés par les résultats conservés. */
+    public synchronized long getOctets() {
+        return octets;
+    }
+
+    /** Nombre de résultats conservés. */
+    public synchronized int getNombreEntrees() {
+        return entrees.size();
+    }
+
+    /** Nombre de résultats rendus depuis le cache. */
+    public synchronized long getSucces() {
+        return succes;
+    }
+
+    /** Nombre de résultats calculés faute d'être dans le cache. */
+    public synchronized long getEchecs() {
+        return echecs;
+    }
+
+    /** Nombre de résultats retirés parce qu'ils étaient périmés. */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    /** Nombre de résultats retirés pour rester sous la capacité. */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Rend le résultat de cle s'il est à jour, sinon le calcule (hors du
+     * verrou) et le conserve. Les versions des opérandes sont relevées avant
+     * le calcul : une modification pendant le calcul rend l'entrée périmée.
+     */
+    private Supermat obtenir(Cle cle, Operande a, Operande b, Supplier<Supermat> calcul) {
+        Entree nouvelle = new Entree(a, b);
+        synchronized (this) {
+            retirerCollectees();
+            Entree e = entrees.get(cle);
+            if (e != null) {
+                if (e.valide()) {
+                    succes++;
+                    return e.resultat;
+                }
+                entrees.remove(cle);
+                octets -= e.octets;
+                invalidations++;
+            }
+            echecs++;
+        }
+
+        Supermat resultat = calcul.get();
+        nouvelle.conserver(resultat);
+        if (nouvelle.octets <= capacite) {
+            ajouter(cle, nouvelle);
+        }
+        return resultat;
+    }
+
+    private synchronized void ajouter(Cle cle, Entree entree) {
+        retirerCollectees();
+        Entree ancienne = entrees.put(cle, entree);
+        if (ancienne != null) {
+            octets -= ancienne.octets;   // calculée en même temps par un autre thread
+        }
+        octets += entree.octets;
+
+        Iterator<Entree> it = entrees.values().iterator();
+        while (octets > capacite && it.hasNext()) {
+            Entree e = it.next();
+            if (e == entree) {
+                continue;
+            }
+            it.remove();
+            octets -= e.octets;
+            evictions++;
+        }
+    }
+
+    /**
+     * Clé d'un opérande : sa référence (identité et version) si ses
+     * écritures sont suivies et que le cache reconnaît par identité, sinon
+     * l'empreinte de son contenu.
+     */
+    private Operande operande(Supermat m) {
+        long version = m.version();
+        if (cles == Cles.IDENTITE && version >= 0) {
+            Reference ref = new Reference(m, collectees);
+            return new Operande(ref, ref, version);
+        }
+        return new Operande(Empreinte.de(m), null, 0L);
+    }
+
+    /** Opérande d'une consultation : clé et version relevée. */
+    private static final class Operande {
+        final Object cle;
+        final WeakReference<Supermat> matrice;   // null si reconnu par son contenu
+        final long version;
+
+        Operande(Object cle, WeakReference<Supermat> matrice, long version) {
+            this.cle = cle;
+            this.matrice = matrice;
+            this.version = version;
+        }
+    }
+
+    /** Résultat conservé et versions des opérandes au moment du calcul. */
+    private static final class Entree {
+        final WeakReference<Supermat> a, b;
+        final long versionA, versionB;
+        Supermat resultat;
+        long versionResultat;
+        long octets;
+
+        Entree(Operande a, Operande b) {
+            this.a = a != null ? a.matrice : null;
+            this.b = b != null ? b.matrice : null;
+            this.versionA = a != null ? a.version : 0L;
+            this.versionB = b != null ? b.version : 0L;
+        }
+
+        void conserver(Supermat resultat) {
+            this.resultat = resultat;
+            this.versionResultat = resultat.version();
+            this.octets = 8L * resultat.getNombreLignes() * resultat.getNombreColonnes();
+        }
+
+        /** Opérandes toujours là et non modifiés, résultat non modifié. */
+        boolean valide() {
+            return aJour(a, versionA) && aJour(b, versionB) && resultat.version() == versionResultat;
+        }
+
+        /** Un opérande a été récupéré par le garbage collector. */
+        boolean operandeCollecte() {
+            return (a != null && a.get() == null) || (b != null && b.get() == null);
+        }
+
+        private static boolean aJour(WeakReference<Supermat> ref, long version) {
+            if (ref == null) {
+                return true;
+            }
+            Supermat m = ref.get();
+            return m != null && m.version() == version;
+        }
+    }
+
+    /** Clé d'un résultat : opération, clés des opérandes, taille. */
+    private static final class Cle {
+        final int operation;
+        final Object a, b;
+        final int n;
+
+        Cle(int operation, Object a, Object b, int n) {
+            this.operation = operation;
+            this.a = a;
+            this.b = b;
+            this.n = n;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Cle)) {
+                return false;
+            }
+            Cle c = (Cle) o;
+            return operation == c.operation && n == c.n && Objects.equals(a, c.a) && Objects.equals(b, c.b);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * (31 * operation + Objects.hashCode(a)) + Objects.hashCode(b)) * 31 + n;
+        }
+    }
+
+    /**
+     * Référence faible à une matrice, égale à toute autre référence à la même
+     * matrice (tant qu'elle existe).
+     */
+    private static final class Reference extends WeakReference<Supermat> {
+        private final int hash;
+
+        Reference(Supermat m, ReferenceQueue<Supermat> file) {
+            super(m, file);
+            this.hash = System.identityHashCode(m);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Reference)) {
+                return false;
+            }
+            Supermat m = get();
+            return m != null && m == ((Reference) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Empreinte du contenu d'une matrice : dimensions et deux hachages
+     * indépendants de 64 bits des éléments, ligne par ligne (probabilité de
+     * collision de l'ordre de 2^-128).
+     */
+    private static final class Empreinte {
+        private static final long P1 = 0x9E3779B97F4A7C15L;
+        private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+        private static final long P3 = 0x165667B19E3779F9L;
+        private static final long P4 = 0xD6E8FEB86659FD93L;
+
+        final int nl, nc;
+        final long h1, h2;
+
+        private Empreinte(int nl, int nc, long h1, long h2) {
+            this.nl = nl;
+            this.nc = nc;
+            this.h1 = h1;
+            this.h2 = h2;
+        }
+
+        static Empreinte de(Supermat m) {
+            int nl = m.getNombreLignes();
+            int nc = m.getNombreColonnes();
+            // Lignes lues directement dans le tableau du tas, sinon recopiées
+            boolean direct = !m.isTransposee() && !m.isProjetee();
+            double[] ligne = direct ? m.donnees() : new double[nc];
+            // Deux chaînes par hachage, éléments pairs et impairs : les
+            // multiplications des quatre chaînes se recouvrent
+            long a0 = P1, a1 = P2, b0 = P3, b1 = P4;
+            for (int i = 0; i < nl; i++) {
+                int debut = 0;
+                if (direct) {
+                    debut = m.debutLigne(i);
+                } else {
+                    m.getLigne(i, ligne);
+                }
+                int j = 0;
+                for (; j + 1 < nc; j += 2) {
+                    long x0 = Double.doubleToLongBits(ligne[debut + j]);
+                    long x1 = Double.doubleToLongBits(ligne[debut + j + 1]);
+                    a0 = Long.rotateLeft(a0 + x0 * P1, 31) * P2;
+                    a1 = Long.rotateLeft(a1 + x1 * P1, 31) * P2;
+                    b0 = Long.rotateLeft(b0 ^ x0 * P3, 27) * P4;
+                    b1 = Long.rotateLeft(b1 ^ x1 * P3, 27) * P4;
+                }
+                if (j < nc) {
+                    long x0 = Double.doubleToLongBits(ligne[debut + j]);
+                    a0 = Long.rotateLeft(a0 + x0 * P1, 31) * P2;
+                    b0 = Long.rotateLeft(b0 ^ x0 * P3, 27) * P4;
+                }
+            }
+            long h1 = melanger(a0 ^ Long.rotateLeft(a1, 17) ^ nl);
+            long h2 = melanger(b0 ^ Long.rotateLeft(b1, 23) ^ ((long) nc << 32));
+            return new Empreinte(nl, nc, h1, h2);
+        }
+
+        /** Mélange final (murmur3) : chaque bit d'entrée influe sur tous les bits. */
+        private static long melanger(long h) {
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            return h ^ (h >>> 33);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Empreinte)) {
+                return false;
+            }
+            Empreinte e = (Empreinte) o;
+            return nl == e.nl && nc == e.nc && h1 == e.h1 && h2 == e.h2;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (h1 ^ (h1 >>> 32));
+        }
+    }
+
+    /**
+     * Retourne une représentation textuelle du cache.
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format("CacheSupermat(%d entrées, %d/%d octets, %d succès, %d échecs)",
+                             entrees.size(), octets, capacite, succes, echecs);
+    }
+}
@@ -0,0 +1,57 @@
+package supermat;
+
+/**
+ * Contrôles de validité partagés par les classes de matrices.
+ *
+ * Les indices élément par élément (get(), set(), getLigne()...) sont contrôlés
+ * par Objects.checkIndex(), que le JIT reconnaît comme un contrôle de bornes
+ * de tableau et sort des boucles quand il peut en prouver les bornes. Les
+ * messages d'erreur ne sont construits que sur le chemin de l'exception.
+ *
+ * Avec -Dsupermat.controles=false, ces contrôles par élément disparaissent
+ * (INDICES est une constante, le code mort est éliminé) ; les contrôles d'une
+ * opération entière (dimensions, null, matrice libérée) restent. Réservé au
+ * code déjà mis au point : un indice faux lit ou écrit alors un autre élément
+ * du stockage, ou lève ArrayIndexOutOfBoundsException.
+ */
+final class Controles {
+
+    /** Contrôle des indices élément par élément (vrai par défaut). */
+    static final boolean INDICES = Boolean.parseBoolean(System.getProperty("supermat.controles", "true"));
+
+    private Controles() {
+    }
+
+    /**
+     * Vérifie des dimensions de matrice nl x nc (strictement positives et
+     * tenant dans un tableau Java).
+     */
+    static void dimensions(int nl, int nc) {
+        if (nl <= 0 || nc <= 0) {
+            throw new DimensionsException("dimensions invalides (" + nl + ", " + nc + ")");
+        }
+        if ((long) nl * nc > Integer.MAX_VALUE - 8) {
+            throw new DimensionsException("matrice trop grande (" + nl + ", " + nc + ")");
+        }
+    }
+
+    /**
+     * Vérifie que les dimensions d'un produit sont compatibles.
+     */
+    static void produit(int ncGauche, int nlDroite) {
+        if (ncGauche != nlDroite) {
+            throw new DimensionsException("dimensions incompatibles pour le produit (" +
+                                          ncGauche + " != " + nlDroite + ")");
+        }
+    }
+
+    /**
+     * Vérifie qu'un tableau fourni contient au moins n éléments à partir de pos.
+     */
+    static void tableau(double[] tableau, int pos, long n) {
+        if (pos < 0 || pos + n > tableau.length) {
+            throw new IndexOutOfBoundsException("tableau trop petit (" + tableau.length +
+                                                " éléments à partir de " + pos + " pour " + n + ")");
+        }
+    }
+}
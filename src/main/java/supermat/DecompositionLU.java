@@ -0,0 +1,325 @@
+package supermat;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Décomposition LU avec pivot partiel : P A = L U, où L est triangulaire
+ * inférieure à diagonale unité et U triangulaire supérieure.
+ *
+ * La factorisation est faite par blocs de BLOC colonnes, « vers la droite » :
+ * <ol>
+ * <li>le panneau de colonnes est factorisé élément par élément ; chaque pivot
+ *     est amené en place par permuterLignes(), qui échange deux références de
+ *     ligne en O(1) au lieu de recopier les lignes entières ;</li>
+ * <li>les lignes du panneau à droite de celui-ci sont résolues par la partie
+ *     triangulaire L11 du panneau (U12 = L11⁻¹ A12) ;</li>
+ * <li>le reste de la matrice est mis à jour par A22 -= L21 × U12, un produit
+ *     sur des vues sousMatrice() calculé par NoyauProduit et découpé en tâches
+ *     fork-join comme produitParallele().</li>
+ * </ol>
+ * Presque tout le calcul (2n³/3 opérations) passe par cette dernière étape,
+ * qui tourne au débit du produit matriciel. Les résolutions (resoudre(),
+ * inverse()) sont découpées de la même manière.
+ *
+ * <pre>
+ * DecompositionLU lu = DecompositionLU.decomposer(a);
+ * Supermat x = lu.resoudre(b);      // a × x = b
+ * double det = lu.determinant();
+ * </pre>
+ */
+public final class DecompositionLU {
+
+    /** Largeur des panneaux de colonnes. */
+    static final int BLOC = 128;
+
+    private final Supermat lu;           // L sous la diagonale, U au-dessus (lignes permutées)
+    private final int[] permutation;     // ligne i de L U = ligne permutation[i] de A
+    private final int signe;             // signature de la permutation
+    private final boolean singuliere;
+    private final ForkJoinPool pool;
+
+    private DecompositionLU(Supermat lu, int[] permutation, int signe, boolean singuliere, ForkJoinPool pool) {
+        this.lu = lu;
+        this.permutation = permutation;
+        this.signe = signe;
+        this.singuliere = singuliere;
+        this.pool = pool;
+    }
+
+    /**
+     * Décompose une matrice carrée sur le pool fork-join commun.
+     * La matrice a n'est pas modifiée.
+     */
+    public static DecompositionLU decomposer(Supermat a) {
+        return decomposer(a, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Décompose une matrice carrée ; les mises à jour par produit sont
+     * réparties sur le pool donné. La matrice a n'est pas modifiée.
+     */
+    public static DecompositionLU decomposer(Supermat a, ForkJoinPool pool) {
+        Objects.requireNonNull(a, "la matrice ne peut pas être null");
+        Objects.requireNonNull(pool, "le pool de threads ne peut pas être null");
+
+        int n = a.getNombreLignes();
+        if (n != a.getNombreColonnes()) {
+            throw new DimensionsException("la matrice doit être carrée (" + n + "x" +
+                                          a.getNombreColonnes() + ")");
+        }
+
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.DECOMPOSITION_LU) : null;
+        Supermat lu = new Supermat(n, n);
+        lu.copierDepuis(a);
+
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        int signe = 1;
+        boolean singuliere = false;
+        Noyaux noyaux = Noyaux.INSTANCE;
+        double[] d = lu.donnees();
+
+        for (int k = 0; k < n; k += BLOC) {
+            int fin = Math.min(k + BLOC, n);
+
+            // 1. Panneau [k..n[ x [k..fin[, colonne par colonne
+            for (int j = k; j < fin; j++) {
+                int p = j;
+                double max = Math.abs(d[lu.debutLigne(j) + j]);
+                for (int i = j + 1; i < n; i++) {
+                    double v = Math.abs(d[lu.debutLigne(i) + j]);
+                    if (v > max) {
+                        max = v;
+                        p = i;
+                    }
+                }
+                if (p != j) {
+                    lu.permuterLignes(j, p);
+                    int temp = permutation[j];
+                    permutation[j] = permutation[p];
+                    permutation[p] = temp;
+                    signe = -signe;
+                }
+
+                int lj = lu.debutLigne(j);
+                double pivot = d[lj + j];
+                if (pivot == 0.0) {
+                    // Colonne nulle sous la diagonale : rien à éliminer
+                    singuliere = true;
+                    continue;
+                }
+                for (int i = j + 1; i < n; i++) {
+                    int li = lu.debutLigne(i);
+                    double l = d[li + j] / pivot;
+                    d[li + j] = l;
+                    if (l != 0.0 && j + 1 < fin) {
+                        noyaux.axpy(-l, d, lj + j + 1, d, li + j + 1, fin - j - 1);
+                    }
+                }
+            }
+
+            if (fin == n) {
+                break;
+            }
+
+            // 2. U12 = L11⁻¹ A12 (L11 à diagonale unité)
+            for (int i = k + 1; i < fin; i++) {
+                int li = lu.debutLigne(i);
+                for (int r = k; r < i; r++) {
+                    double l = d[li + r];
+                    if (l != 0.0) {
+                        noyaux.axpy(-l, d, lu.debutLigne(r) + fin, d, li + fin, n - fin);
+                    }
+                }
+            }
+
+            // 3. A22 -= L21 × U12
+            soustraireProduit(lu.sousMatrice(fin, n - 1, k, fin - 1), lu.sousMatrice(k, fin - 1, fin, n - 1),
+                              lu.sousMatrice(fin, n - 1, fin, n - 1), pool);
+        }
+
+        if (mesure != null) {
+            // Environ 2n³/3 opérations ; L U et la permutation sont alloués
+            mesure.fin(n, n, n, 2L * n * n * n / 3, 8L * n * n + 4L * n);
+        }
+        return new DecompositionLU(lu, permutation, signe, singuliere, pool);
+    }
+
+    /**
+     * Indique si un pivot nul a été rencontré (matrice singulière).
+     */
+    public boolean isSinguliere() {
+        return singuliere;
+    }
+
+    /**
+     * Ordre de la matrice décomposée.
+     */
+    public int getOrdre() {
+        return lu.getNombreLignes();
+    }
+
+    /**
+     * Permutation des lignes : la ligne i de P A est la ligne getPermutation()[i] de A.
+     */
+    public int[] getPermutation() {
+        return permutation.clone();
+    }
+
+    /**
+     * Facteur L (triangulaire inférieur, diagonale unité), dans une nouvelle matrice.
+     */
+    public Supermat getL() {
+        int n = getOrdre();
+        Supermat l = new Supermat(n, n);
+        double[] ligne = new double[n];
+        for (int i = 0; i < n; i++) {
+            lu.getLigne(i, ligne);
+            Arrays.fill(ligne, i, n, 0.0);
+            ligne[i] = 1.0;
+            l.setLigne(i, ligne);
+        }
+        return l;
+    }
+
+    /**
+     * Facteur U (triangulaire supérieur), dans une nouvelle matrice.
+     */
+    public Supermat getU() {
+        int n = getOrdre();
+        Supermat u = new Supermat(n, n);
+        double[] ligne = new double[n];
+        for (int i = 0; i < n; i++) {
+            lu.getLigne(i, ligne);
+            Arrays.fill(ligne, 0, i, 0.0);
+            u.setLigne(i, ligne);
+        }
+        return u;
+    }
+
+    /**
+     * Déterminant : produit des pivots, au signe de la permutation près.
+     */
+    public double determinant() {
+        double det = signe;
+        double[] d = lu.donnees();
+        for (int i = 0; i < getOrdre(); i++) {
+            det *= d[lu.debutLigne(i) + i];
+        }
+        return det;
+    }
+
+    /**
+     * Résout A X = B pour un second membre B (n x m quelconque).
+     *
+     * @throws MatriceSinguliereException si A est singulière
+     */
+    public Supermat resoudre(Supermat b) {
+        Objects.requireNonNull(b, "le second membre ne peut pas être null");
+
+        int n = getOrdre();
+        if (b.getNombreLignes() != n) {
+            throw new DimensionsException("dimensions incompatibles pour la résolution (" +
+                                          b.getNombreLignes() + " != " + n + ")");
+        }
+
+        if (singuliere) {
+            throw new MatriceSinguliereException("la matrice est singulière");
+        }
+
+        int m = b.getNombreColonnes();
+        Supermat x = new Supermat(n, m);
+        for (int i = 0; i < n; i++) {
+            b.getLigne(permutation[i], x.donnees(), x.debutLigne(i));
+        }
+
+        descente(x);
+        remontee(x);
+        return x;
+    }
+
+    /**
+     * Inverse de A (résolution de A X = I).
+     *
+     * @throws MatriceSinguliereException si A est singulière
+     */
+    public Supermat inverse() {
+        return resoudre(SupermatUtils.identite(getOrdre()));
+    }
+
+    /**
+     * X = L⁻¹ X par blocs de lignes : chaque bloc reçoit d'abord la
+     * contribution des blocs déjà résolus (un produit), puis est résolu par
+     * la partie triangulaire de L.
+     */
+    private void descente(Supermat x) {
+        int n = getOrdre();
+        int m = x.getNombreColonnes();
+        Noyaux noyaux = Noyaux.INSTANCE;
+        double[] d = lu.donnees();
+        double[] dx = x.donnees();
+
+        for (int k = 0; k < n; k += BLOC) {
+            int fin = Math.min(k + BLOC, n);
+            if (k > 0) {
+                soustraireProduit(lu.sousMatrice(k, fin - 1, 0, k - 1), x.sousMatrice(0, k - 1, 0, m - 1),
+                                  x.sousMatrice(k, fin - 1, 0, m - 1), pool);
+            }
+            for (int i = k + 1; i < fin; i++) {
+                int li = lu.debutLigne(i);
+                for (int r = k; r < i; r++) {
+                    double l = d[li + r];
+                    if (l != 0.0) {
+                        noyaux.axpy(-l, dx, x.debutLigne(r), dx, x.debutLigne(i), m);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * X = U⁻¹ X par blocs de lignes, du dernier bloc au premier.
+     */
+    private void remontee(Supermat x) {
+        int n = getOrdre();
+        int m = x.getNombreColonnes();
+        Noyaux noyaux = Noyaux.INSTANCE;
+        double[] d = lu.donnees();
+        double[] dx = x.donnees();
+
+        for (int fin = n; fin > 0; fin -= BLOC) {
+            int k = Math.max(0, fin - BLOC);
+            if (fin < n) {
+                soustraireProduit(lu.sousMatrice(k, fin - 1, fin, n - 1), x.sousMatrice(fin, n - 1, 0, m - 1),
+                                  x.sousMatrice(k, fin - 1, 0, m - 1), pool);
+            }
+            for (int i = fin - 1; i >= k; i--) {
+                int li = lu.debutLigne(i);
+                int xi = x.debutLigne(i);
+                for (int r = i + 1; r < fin; r++) {
+                    double u = d[li + r];
+                    if (u != 0.0) {
+                        noyaux.axpy(-u, dx, x.debutLigne(r), dx, xi, m);
+                    }
+                }
+                noyaux.echelonner(1.0 / d[li + i], dx, xi, m);
+            }
+        }
+    }
+
+    /**
+     * C -= A × B, en parallèle sur le pool au-delà de TacheProduit.SEUIL.
+     */
+    private static void soustraireProduit(Supermat a, Supermat b, Supermat c, ForkJoinPool pool) {
+        TacheProduit tache = new TacheProduit(a, b, c, -1.0, pool.getParallelism());
+        if ((long) c.getNombreLignes() * c.getNombreColonnes() * a.getNombreColonnes() <= TacheProduit.SEUIL) {
+            tache.invoke();
+        } else {
+            pool.invoke(tache);
+        }
+    }
+}
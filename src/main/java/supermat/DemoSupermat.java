@@ -62,7 +62,7 @@ public class DemoSupermat {
         
         subA.set(0, 0, 999.0);
         System.out.println("Après modification de sub[0,0] = 999:");
-        A.afficher("A (inchangée car vue indépendante en Java)");
+        A.afficher("A (modifiée car la vue partage ses données)");
         subA.afficher("Sous-matrice modifiée");
         
         // Démonstration avec matrices plus grandes
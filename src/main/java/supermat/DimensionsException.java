@@ -0,0 +1,14 @@
+package supermat;
+
+/**
+ * Dimensions invalides (négatives, nulles, trop grandes) ou incompatibles
+ * avec l'opération demandée (produit, destination, copie...).
+ */
+public class DimensionsException extends SupermatException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DimensionsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,42 @@
+package supermat;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événement JFR émis à la fin de chaque opération mesurée (voir Mesures),
+ * visible dans JMC sous Supermat / Opération. Sa durée est celle de
+ * l'opération ; le seuil habituel de JFR (threshold) s'applique.
+ */
+@Name("supermat.Operation")
+@Label("Opération")
+@Category("Supermat")
+@Description("Opération matricielle mesurée")
+@StackTrace(false)
+final class EvenementOperation extends Event {
+
+    @Label("Opération")
+    String operation;
+
+    @Label("Lignes")
+    int lignes;
+
+    @Label("Colonnes")
+    int colonnes;
+
+    @Label("Profondeur")
+    @Description("Dimension commune d'un produit (0 sinon)")
+    int profondeur;
+
+    @Label("Opérations flottantes")
+    long operationsFlottantes;
+
+    @Label("Octets alloués")
+    @DataAmount
+    long octetsAlloues;
+}
@@ -0,0 +1,92 @@
+package supermat;
+
+import java.util.Objects;
+
+/**
+ * Expression matricielle évaluée à la demande.
+ *
+ * t(), fois(), plus(), moins() et echelle() ne calculent rien : ils
+ * construisent un graphe d'opérations, qui n'est matérialisé que par
+ * evaluer() ou au premier get(). Supermat est elle-même une expression
+ * (une feuille du graphe), ce qui permet d'écrire
+ * <pre>
+ * Supermat d = a.t().fois(b).plus(c).echelle(2.0).evaluer();
+ * </pre>
+ * Ce calcul alloue une seule matrice (d) : la transposée est une vue lue
+ * directement par le produit par blocs, et le facteur 2 est appliqué aux
+ * panneaux de b pendant le produit, qui s'accumule dans d après que
+ * 2 × c y a été écrit. Les mêmes opérations avec produit(),
+ * SupermatUtils.transpose() et addition() allouent quatre matrices.
+ *
+ * Les sommes et multiplications par un scalaire sont regroupées en une
+ * seule combinaison linéaire, calculée en un passage ligne par ligne ; les
+ * transpositions sont descendues jusqu'aux feuilles ((AB)ᵗ = BᵗAᵗ), où elles
+ * deviennent des vues transposee(). Seuls les facteurs d'un produit qui ne
+ * sont pas des feuilles (par exemple (a + b) dans (a + b) × c) sont
+ * matérialisés dans une matrice intermédiaire.
+ *
+ * Les feuilles ne sont pas copiées : une expression lit l'état de ses
+ * matrices au moment de l'évaluation.
+ */
+public interface Expression {
+
+    /**
+     * Nombre de lignes du résultat.
+     */
+    int getNombreLignes();
+
+    /**
+     * Nombre de colonnes du résultat.
+     */
+    int getNombreColonnes();
+
+    /**
+     * Élément (i, j) du résultat. Une expression différée est évaluée au
+     * premier appel et son résultat conservé pour les appels suivants.
+     */
+    double get(int i, int j);
+
+    /**
+     * Calcule l'expression dans une supermatrice du tas. Une Supermat se
+     * rend elle-même, sans copie ; les expressions différées, SupermatFloat
+     * et SupermatConcurrente rendent une nouvelle matrice. La bibliothèque
+     * ne libère jamais le résultat de evaluer() d'une autre implémentation.
+     */
+    Supermat evaluer();
+
+    /**
+     * Transposée de l'expression (sans calcul).
+     */
+    Expression t();
+
+    /**
+     * Produit this × autre (différé).
+     */
+    default Expression fois(Expression autre) {
+        Objects.requireNonNull(autre, "l'expression ne peut pas être null");
+        Controles.produit(getNombreColonnes(), autre.getNombreLignes());
+
+        return new ExpressionProduit(this, autre, 1.0);
+    }
+
+    /**
+     * Somme this + autre (différée).
+     */
+    default Expression plus(Expression autre) {
+        return ExpressionLineaire.combiner(this, 1.0, autre, 1.0);
+    }
+
+    /**
+     * Différence this - autre (différée).
+     */
+    default Expression moins(Expression autre) {
+        return ExpressionLineaire.combiner(this, 1.0, autre, -1.0);
+    }
+
+    /**
+     * Produit par un scalaire (différé).
+     */
+    default Expression echelle(double facteur) {
+        return ExpressionLineaire.echelle(this, facteur);
+    }
+}
@@ -0,0 +1,56 @@
+package supermat;
+
+/**
+ * Nœud interne d'une Expression : dimensions connues à la construction,
+ * résultat calculé au premier get() puis conservé.
+ */
+abstract class ExpressionDifferee implements Expression {
+
+    final int nl;
+    final int nc;
+    private Supermat resultat;
+
+    ExpressionDifferee(int nl, int nc) {
+        this.nl = nl;
+        this.nc = nc;
+    }
+
+    @Override
+    public int getNombreLignes() {
+        return nl;
+    }
+
+    @Override
+    public int getNombreColonnes() {
+        return nc;
+    }
+
+    @Override
+    public double get(int i, int j) {
+        if (resultat == null) {
+            resultat = evaluer();
+        }
+        return resultat.get(i, j);
+    }
+
+    /**
+     * Facteur d'un produit sous forme de supermatrice : les feuilles sont
+     * utilisées telles quelles, les autres expressions sont évaluées.
+     */
+    static Supermat materialiser(Expression e) {
+        return e instanceof Supermat ? (Supermat) e : e.evaluer();
+    }
+
+    /**
+     * Vrai si materialiser(e) crée une matrice qui n'appartient qu'à
+     * l'appelant, qui peut donc la libérer : expressions différées de la
+     * bibliothèque, SupermatFloat (versDouble()) et SupermatConcurrente
+     * (versSupermat()). Le résultat de evaluer() d'une autre implémentation
+     * d'Expression peut être une matrice qu'elle conserve : il n'est jamais
+     * libéré.
+     */
+    static boolean creeParMaterialiser(Expression e) {
+        return e instanceof ExpressionDifferee || e instanceof SupermatFloat
+               || e instanceof SupermatConcurrente;
+    }
+}
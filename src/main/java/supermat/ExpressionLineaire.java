@@ -0,0 +1,188 @@
+package supermat;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Combinaison linéaire différée c0 × X0 + c1 × X1 + ... où chaque Xk est une
+ * feuille ou un produit. Les feuilles qui ne sont pas des Supermat
+ * (SupermatFloat, SupermatConcurrente...) sont évaluées en Supermat au début
+ * de l'évaluation. Les sommes imbriquées sont aplaties à la
+ * construction, si bien que l'évaluation écrit le résultat en un seul passage
+ * sur les feuilles, puis y accumule directement les produits.
+ */
+final class ExpressionLineaire extends ExpressionDifferee {
+
+    final Expression[] termes;
+    final double[] coefficients;
+
+    private ExpressionLineaire(int nl, int nc, Expression[] termes, double[] coefficients) {
+        super(nl, nc);
+        this.termes = termes;
+        this.coefficients = coefficients;
+    }
+
+    /**
+     * alpha × x + beta × y.
+     */
+    static Expression combiner(Expression x, double alpha, Expression y, double beta) {
+        Objects.requireNonNull(y, "l'expression ne peut pas être null");
+
+        if (x.getNombreLignes() != y.getNombreLignes() || x.getNombreColonnes() != y.getNombreColonnes()) {
+            throw new DimensionsException("dimensions incompatibles (" +
+                                          x.getNombreLignes() + "x" + x.getNombreColonnes() + " et " +
+                                          y.getNombreLignes() + "x" + y.getNombreColonnes() + ")");
+        }
+
+        ExpressionLineaire gauche = aplatir(x);
+        ExpressionLineaire droite = aplatir(y);
+        int n = gauche.termes.length;
+        Expression[] termes = Arrays.copyOf(gauche.termes, n + droite.termes.length);
+        double[] coefficients = new double[termes.length];
+        for (int k = 0; k < n; k++) {
+            coefficients[k] = alpha * gauche.coefficients[k];
+        }
+        for (int k = 0; k < droite.termes.length; k++) {
+            termes[n + k] = droite.termes[k];
+            coefficients[n + k] = beta * droite.coefficients[k];
+        }
+        return new ExpressionLineaire(x.getNombreLignes(), x.getNombreColonnes(), termes, coefficients);
+    }
+
+    /**
+     * facteur × x.
+     */
+    static Expression echelle(Expression x, double facteur) {
+        ExpressionLineaire e = aplatir(x);
+        double[] coefficients = e.coefficients.clone();
+        for (int k = 0; k < coefficients.length; k++) {
+            coefficients[k] *= facteur;
+        }
+        return new ExpressionLineaire(e.nl, e.nc, e.termes, coefficients);
+    }
+
+    /**
+     * x vue comme une combinaison linéaire (1 × x si ce n'en est pas une).
+     */
+    private static ExpressionLineaire aplatir(Expression x) {
+        if (x instanceof ExpressionLineaire) {
+            return (ExpressionLineaire) x;
+        }
+        return new ExpressionLineaire(x.getNombreLignes(), x.getNombreColonnes(),
+                                      new Expression[] {x}, new double[] {1.0});
+    }
+
+    @Override
+    public Expression t() {
+        Expression[] transposes = new Expression[termes.length];
+        for (int k = 0; k < termes.length; k++) {
+            transposes[k] = termes[k].t();
+        }
+        return new ExpressionLineaire(nc, nl, transposes, coefficients);
+    }
+
+    @Override
+    public Supermat evaluer() {
+        Supermat resultat = new Supermat(nl, nc);
+        combinerFeuilles(resultat);
+        for (int k = 0; k < termes.length; k++) {
+            if (termes[k] instanceof ExpressionProduit) {
+                ((ExpressionProduit) termes[k]).accumuler(resultat, coefficients[k]);
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Écrit la somme des feuilles dans c (nulle à l'entrée), ligne par
+     * ligne : chaque ligne de c est écrite une fois et reste dans le cache
+     * pendant que toutes les feuilles y sont ajoutées. Les feuilles
+     * transposées ou projetées sont lues par getLigne() dans un tampon ;
+     * les autres expressions (tout terme qui n'est pas un produit) sont
+     * d'abord évaluées (SupermatFloat.versDouble(), un instantané de
+     * SupermatConcurrente...), et les temporaires ainsi créés libérés à la
+     * fin.
+     */
+    private void combinerFeuilles(Supermat c) {
+        int n = 0;
+        for (Expression terme : termes) {
+            if (!(terme instanceof ExpressionProduit)) {
+                n++;
+            }
+        }
+        if (n == 0) {
+            return;
+        }
+
+        Supermat[] feuilles = new Supermat[n];
+        boolean[] temporaires = new boolean[n];
+        double[] coefs = new double[n];
+        double[][] tampons = new double[n][];
+        n = 0;
+        for (int k = 0; k < termes.length; k++) {
+            if (!(termes[k] instanceof ExpressionProduit)) {
+                feuilles[n] = ExpressionDifferee.materialiser(termes[k]);
+                temporaires[n] = ExpressionDifferee.creeParMaterialiser(termes[k]);
+                coefs[n] = coefficients[k];
+                if (feuilles[n].isTransposee() || feuilles[n].isProjetee()) {
+                    tampons[n] = new double[nc];
+                }
+                n++;
+            }
+        }
+
+        Noyaux noyaux = Noyaux.INSTANCE;
+        double[] dc = c.donnees();
+        double[][] sources = new double[n][];
+        int[] debuts = new int[n];
+        for (int i = 0; i < nl; i++) {
+            for (int k = 0; k < n; k++) {
+                if (tampons[k] != null) {
+                    feuilles[k].getLigne(i, tampons[k]);
+                    sources[k] = tampons[k];
+                    debuts[k] = 0;
+                } else {
+                    sources[k] = feuilles[k].donnees();
+                    debuts[k] = feuilles[k].debutLigne(i);
+                }
+            }
+
+            int lc = c.debutLigne(i);
+            int k;
+            if (n >= 2) {
+                noyaux.combiner(coefs[0], sources[0], debuts[0], coefs[1], sources[1], debuts[1], dc, lc, nc);
+                k = 2;
+            } else {
+                System.arraycopy(sources[0], debuts[0], dc, lc, nc);
+                if (coefs[0] != 1.0) {
+                    noyaux.echelonner(coefs[0], dc, lc, nc);
+                }
+                k = 1;
+            }
+            for (; k < n; k++) {
+                noyaux.axpy(coefs[k], sources[k], debuts[k], dc, lc, nc);
+            }
+        }
+
+        for (int k = 0; k < n; k++) {
+            if (temporaires[k]) {
+                feuilles[k].liberer();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("(");
+        for (int k = 0; k < termes.length; k++) {
+            if (k > 0) {
+                sb.append(" + ");
+            }
+            if (coefficients[k] != 1.0) {
+                sb.append(coefficients[k]).append(" × ");
+            }
+            sb.append(termes[k]);
+        }
+        return sb.append(")").toString();
+    }
+}
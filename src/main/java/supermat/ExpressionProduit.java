@@ -0,0 +1,63 @@
+package supermat;
+
+/**
+ * Produit différé alpha × A × B. Les facteurs scalaires des opérandes
+ * (a.echelle(2).fois(b)) sont sortis dans alpha, qui est appliqué par
+ * NoyauProduit pendant la recopie des panneaux de B.
+ */
+final class ExpressionProduit extends ExpressionDifferee {
+
+    final Expression a;
+    final Expression b;
+    final double alpha;
+
+    ExpressionProduit(Expression a, Expression b, double alpha) {
+        super(a.getNombreLignes(), b.getNombreColonnes());
+        // Un opérande réduit à k × feuille devient la feuille, k passe dans alpha
+        if (a instanceof ExpressionLineaire && ((ExpressionLineaire) a).termes.length == 1) {
+            alpha *= ((ExpressionLineaire) a).coefficients[0];
+            a = ((ExpressionLineaire) a).termes[0];
+        }
+        if (b instanceof ExpressionLineaire && ((ExpressionLineaire) b).termes.length == 1) {
+            alpha *= ((ExpressionLineaire) b).coefficients[0];
+            b = ((ExpressionLineaire) b).termes[0];
+        }
+        this.a = a;
+        this.b = b;
+        this.alpha = alpha;
+    }
+
+    @Override
+    public Expression t() {
+        return new ExpressionProduit(b.t(), a.t(), alpha);
+    }
+
+    @Override
+    public Supermat evaluer() {
+        Supermat resultat = new Supermat(nl, nc);
+        accumuler(resultat, 1.0);
+        return resultat;
+    }
+
+    /**
+     * c += coefficient × alpha × A × B.
+     */
+    void accumuler(Supermat c, double coefficient) {
+        Supermat x = materialiser(a);
+        Supermat y = materialiser(b);
+        NoyauProduit.multiplier(x, y, c, coefficient * alpha, 0, nl, 0, nc);
+
+        // Facteurs intermédiaires créés ici rendus à la réserve
+        if (creeParMaterialiser(a)) {
+            x.liberer();
+        }
+        if (creeParMaterialiser(b)) {
+            y.liberer();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "(" + (alpha != 1.0 ? alpha + " × " : "") + a + " × " + b + ")";
+    }
+}
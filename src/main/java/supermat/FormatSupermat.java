@@ -0,0 +1,176 @@
+package supermat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Format binaire des supermatrices (Supermat.sauvegarder(), Supermat.charger(),
+ * LecteurSupermat).
+ *
+ * En-tête de TAILLE_EN_TETE octets, toujours gros-boutiste :
+ * <pre>
+ *  0  "SUPERMAT"   signature (8 octets ASCII)
+ *  8  version      u16
+ * 10  type         u8  (TYPE_DOUBLE)
+ * 11  ordre        u8  ordre des octets des éléments (0 petit-boutiste, 1 gros-boutiste)
+ * 12  nl           i32
+ * 16  nc           i32
+ * 20  réservé      12 octets nuls
+ * </pre>
+ * suivi des nl x nc éléments ligne par ligne. Les fichiers écrits par la
+ * bibliothèque sont petit-boutistes, comme les fichiers projetés, et
+ * l'en-tête de 32 octets garde les éléments alignés pour la projection.
+ */
+final class FormatSupermat {
+
+    static final byte[] SIGNATURE = "SUPERMAT".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int TYPE_DOUBLE = 1;
+    static final int TAILLE_EN_TETE = 32;
+
+    /** Taille du tampon des transferts FileChannel (1 Mo). */
+    static final int TAILLE_TAMPON = 1 << 20;
+
+    private FormatSupermat() {
+    }
+
+    /** Dimensions et codage lus dans un en-tête. */
+    static final class EnTete {
+        final int nl;
+        final int nc;
+        final int type;
+        final ByteOrder ordre;
+
+        EnTete(int nl, int nc, int type, ByteOrder ordre) {
+            this.nl = nl;
+            this.nc = nc;
+            this.type = type;
+            this.ordre = ordre;
+        }
+    }
+
+    /**
+     * En-tête d'une matrice nl x nc de doubles petit-boutistes, prêt à écrire.
+     */
+    static ByteBuffer enTete(int nl, int nc) {
+        ByteBuffer tampon = ByteBuffer.allocate(TAILLE_EN_TETE).order(ByteOrder.BIG_ENDIAN);
+        tampon.put(SIGNATURE)
+              .putShort((short) VERSION)
+              .put((byte) TYPE_DOUBLE)
+              .put((byte) 0)
+              .putInt(nl)
+              .putInt(nc);
+        tampon.position(TAILLE_EN_TETE);
+        return tampon.flip();
+    }
+
+    /**
+     * Écrit l'en-tête puis les éléments de m, ligne par ligne, par tampons
+     * de TAILLE_TAMPON octets.
+     */
+    static void ecrire(Supermat m, FileChannel canal) throws IOException {
+        int nl = m.getNombreLignes();
+        int nc = m.getNombreColonnes();
+        ecrireTout(canal, enTete(nl, nc));
+
+        ByteBuffer tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON).order(ByteOrder.LITTLE_ENDIAN);
+        DoubleBuffer elements = tampon.asDoubleBuffer();
+        // Lignes directement lisibles dans le tableau du tas, sinon recopiées
+        boolean direct = !m.isTransposee() && !m.isProjetee();
+        double[] ligne = direct ? m.donnees() : new double[nc];
+
+        for (int i = 0; i < nl; i++) {
+            int debut = 0;
+            if (direct) {
+                debut = m.debutLigne(i);
+            } else {
+                m.getLigne(i, ligne);
+            }
+            for (int j = 0; j < nc; ) {
+                if (!elements.hasRemaining()) {
+                    vider(canal, tampon, elements);
+                }
+                int n = Math.min(nc - j, elements.remaining());
+                elements.put(ligne, debut + j, n);
+                j += n;
+            }
+        }
+        vider(canal, tampon, elements);
+    }
+
+    /**
+     * Écrit les éléments accumulés dans le tampon et le remet à zéro.
+     */
+    private static void vider(FileChannel canal, ByteBuffer tampon, DoubleBuffer elements) throws IOException {
+        tampon.position(0).limit(elements.position() * Double.BYTES);
+        ecrireTout(canal, tampon);
+        tampon.clear();
+        elements.clear();
+    }
+
+    /**
+     * Lit et vérifie l'en-tête au début du canal, qui est laissé sur le
+     * premier élément.
+     */
+    static EnTete lireEnTete(FileChannel canal) throws IOException {
+        ByteBuffer tampon = ByteBuffer.allocate(TAILLE_EN_TETE).order(ByteOrder.BIG_ENDIAN);
+        lireTout(canal, tampon);
+        tampon.flip();
+
+        byte[] signature = new byte[SIGNATURE.length];
+        tampon.get(signature);
+        if (!Arrays.equals(signature, SIGNATURE)) {
+            throw new IOException("ce n'est pas un fichier de supermatrice");
+        }
+
+        int version = tampon.getShort() & 0xFFFF;
+        int type = tampon.get() & 0xFF;
+        int ordre = tampon.get() & 0xFF;
+        int nl = tampon.getInt();
+        int nc = tampon.getInt();
+
+        if (version != VERSION) {
+            throw new IOException("version du format non prise en charge (" + version + ")");
+        }
+        if (type != TYPE_DOUBLE) {
+            throw new IOException("type d'élément non pris en charge (" + type + ")");
+        }
+        if (ordre > 1) {
+            throw new IOException("ordre des octets invalide (" + ordre + ")");
+        }
+        if (nl <= 0 || nc <= 0) {
+            throw new IOException("dimensions invalides (" + nl + ", " + nc + ")");
+        }
+        long attendu = TAILLE_EN_TETE + (long) nl * nc * Double.BYTES;
+        if (canal.size() < attendu) {
+            throw new IOException("fichier tronqué (" + canal.size() + " octets au lieu de " + attendu + ")");
+        }
+
+        return new EnTete(nl, nc, type, ordre == 0 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Remplit le tampon depuis le canal (plusieurs lectures si nécessaire).
+     */
+    static void lireTout(FileChannel canal, ByteBuffer tampon) throws IOException {
+        while (tampon.hasRemaining()) {
+            if (canal.read(tampon) < 0) {
+                throw new IOException("fin de fichier inattendue");
+            }
+        }
+    }
+
+    /**
+     * Écrit tout le contenu du tampon dans le canal.
+     */
+    static void ecrireTout(FileChannel canal, ByteBuffer tampon) throws IOException {
+        while (tampon.hasRemaining()) {
+            canal.write(tampon);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package supermat;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Remplissage aléatoire reproductible et parallèle (SupermatUtils.remplirAleatoire(),
+ * remplirNormale(), remplirEntiers(), SupermatCSR.aleatoire()).
+ *
+ * Les éléments, pris dans l'ordre des lignes, sont découpés en blocs de BLOC
+ * éléments. Un générateur L64X128MixRandom créé à partir de la graine est
+ * scindé (split()) une fois par bloc, dans l'ordre des blocs et sur le thread
+ * appelant ; chaque bloc est ensuite tiré par son propre générateur, sans
+ * synchronisation, sur le pool fork-join commun. Le résultat ne dépend donc
+ * que de la graine et de la forme de la matrice, pas du nombre de threads.
+ */
+final class GenerateurAleatoire {
+
+    static final String ALGORITHME = "L64X128MixRandom";
+
+    /** Nombre d'éléments tirés par un même générateur. */
+    static final int BLOC = 1 << 16;
+
+    private static final RandomGeneratorFactory<SplittableGenerator> FABRIQUE =
+            RandomGeneratorFactory.of(ALGORITHME);
+
+    private GenerateurAleatoire() {
+    }
+
+    /** Loi des éléments tirés. */
+    interface Loi {
+        double tirer(RandomGenerator g);
+    }
+
+    /**
+     * Un générateur par bloc, scindés dans l'ordre à partir de la graine.
+     */
+    static SplittableGenerator[] generateurs(long graine, int blocs) {
+        SplittableGenerator racine = FABRIQUE.create(graine);
+        SplittableGenerator[] g = new SplittableGenerator[blocs];
+        for (int b = 0; b < blocs; b++) {
+            g[b] = racine.split();
+        }
+        return g;
+    }
+
+    /**
+     * Remplit sm avec des éléments tirés selon la loi.
+     */
+    static void remplir(Supermat sm, long graine, Loi loi) {
+        int nl = sm.getNombreLignes();
+        int nc = sm.getNombreColonnes();
+        long total = (long) nl * nc;
+        if (total == 0) {
+            return;
+        }
+
+        int blocs = (int) ((total + BLOC - 1) / BLOC);
+        SplittableGenerator[] g = generateurs(graine, blocs);
+        // Les matrices du tas non transposées sont écrites directement dans leur tableau
+        boolean direct = !sm.isTransposee() && !sm.isProjetee();
+        sm.modifiee();
+
+        executer(blocs, b -> {
+            RandomGenerator gb = g[b];
+            long e = (long) b * BLOC;
+            long fin = Math.min(total, e + BLOC);
+            int i = (int) (e / nc);
+            int j = (int) (e % nc);
+            while (e < fin) {
+                int n = (int) Math.min(nc - j, fin - e);
+                if (direct) {
+                    double[] d = sm.donnees();
+                    int o = sm.debutLigne(i) + j;
+                    for (int k = 0; k < n; k++) {
+                        d[o + k] = loi.tirer(gb);
+                    }
+                } else {
+                    for (int k = 0; k < n; k++) {
+                        sm.set(i, j + k, loi.tirer(gb));
+                    }
+                }
+                e += n;
+                i++;
+                j = 0;
+            }
+        });
+    }
+
+    /**
+     * Matrice creuse nl x nc dont chaque élément est non nul avec la
+     * probabilité densite, de valeur uniforme dans [min, max[. Les blocs
+     * sont des groupes de lignes d'environ BLOC éléments ; dans une ligne,
+     * l'écart entre deux non-nuls suit une loi géométrique, ce qui coûte
+     * O(nnz) tirages au lieu de nl x nc.
+     */
+    static StockageCreux creux(int nl, int nc, double densite, double min, double max, long graine) {
+        int lignesParBloc = Math.max(1, BLOC / nc);
+        int blocs = (nl + lignesParBloc - 1) / lignesParBloc;
+        SplittableGenerator[] g = generateurs(graine, blocs);
+        double etendue = max - min;
+        double logRejet = Math.log1p(-densite);
+
+        int[][] indicesBlocs = new int[blocs][];
+        double[][] valeursBlocs = new double[blocs][];
+        int[] pointeurs = new int[nl + 1];   // nombre de non-nuls par ligne, puis cumul
+
+        executer(blocs, b -> {
+            RandomGenerator gb = g[b];
+            int i0 = b * lignesParBloc;
+            int i1 = Math.min(nl, i0 + lignesParBloc);
+            int capacite = (int) Math.min(Integer.MAX_VALUE - 8,
+                                          16 + (long) Math.ceil(1.25 * densite * nc * (i1 - i0)));
+            int[] indices = new int[capacite];
+            double[] valeurs = new double[capacite];
+            int n = 0;
+            for (int i = i0; i < i1; i++) {
+                long j = -1;
+                while (true) {
+                    if (densite >= 1.0) {
+                        j++;
+                    } else {
+                        // Nombre d'éléments nuls avant le prochain non-nul
+                        j += 1 + (long) Math.floor(Math.log(1.0 - gb.nextDouble()) / logRejet);
+                    }
+                    if (j >= nc) {
+                        break;
+                    }
+                    if (n == indices.length) {
+                        int nouvelle = (int) Math.min(Integer.MAX_VALUE - 8, 2L * n);
+                        indices = Arrays.copyOf(indices, nouvelle);
+                        valeurs = Arrays.copyOf(valeurs, nouvelle);
+                    }
+                    indices[n] = (int) j;
+                    valeurs[n] = min + gb.nextDouble() * etendue;
+                    n++;
+                }
+                pointeurs[i + 1] = n;
+            }
+            indicesBlocs[b] = indices;
+            valeursBlocs[b] = valeurs;
+        });
+
+        // Assemblage : les comptes de chaque bloc sont relatifs au début du bloc
+        long nnz = 0;
+        for (int b = 0; b < blocs; b++) {
+            int i0 = b * lignesParBloc;
+            int i1 = Math.min(nl, i0 + lignesParBloc);
+            long base = nnz;
+            nnz += pointeurs[i1];
+            if (nnz > Integer.MAX_VALUE - 8) {
+                throw new DimensionsException("trop d'éléments non nuls (" + nnz + ")");
+            }
+            for (int i = i0 + 1; i <= i1; i++) {
+                pointeurs[i] += (int) base;
+            }
+        }
+        int[] indices = new int[(int) nnz];
+        double[] valeurs = new double[(int) nnz];
+        for (int b = 0; b < blocs; b++) {
+            int i0 = b * lignesParBloc;
+            int i1 = Math.min(nl, i0 + lignesParBloc);
+            int debut = pointeurs[i0];
+            System.arraycopy(indicesBlocs[b], 0, indices, debut, pointeurs[i1] - debut);
+            System.arraycopy(valeursBlocs[b], 0, valeurs, debut, pointeurs[i1] - debut);
+        }
+        return new StockageCreux(nl, nc, pointeurs, indices, valeurs);
+    }
+
+    /**
+     * Exécute travail pour chaque bloc 0..blocs-1 : sur le thread appelant
+     * s'il n'y en a qu'un, sinon en parallèle sur le pool commun.
+     */
+    private static void executer(int blocs, IntConsumer travail) {
+        if (blocs == 1) {
+            travail.accept(0);
+        } else {
+            ForkJoinPool.commonPool().invoke(new Tache(travail, 0, blocs));
+        }
+    }
+
+    /** Découpe récursive d'une plage de blocs. */
+    private static final class Tache extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient IntConsumer travail;
+        private final int b0, b1;
+
+        Tache(IntConsumer travail, int b0, int b1) {
+            this.travail = travail;
+            this.b0 = b0;
+            this.b1 = b1;
+        }
+
+        @Override
+        protected void compute() {
+            if (b1 - b0 == 1) {
+                travail.accept(b0);
+                return;
+            }
+            int milieu = (b0 + b1) >>> 1;
+            invokeAll(new Tache(travail, b0, milieu), new Tache(travail, milieu, b1));
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package supermat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Lecture par blocs de lignes d'un fichier écrit par Supermat.sauvegarder().
+ *
+ * Le fichier est lu séquentiellement par tampons de 1 Mo (FileChannel vers un
+ * tampon direct, puis copie en bloc vers la matrice) : seul le bloc courant
+ * est en mémoire, ce qui permet de traiter des fichiers plus grands que le tas.
+ *
+ * <pre>
+ * try (LecteurSupermat lecteur = LecteurSupermat.ouvrir(chemin)) {
+ *     Supermat bloc = new Supermat(1000, lecteur.getNombreColonnes());
+ *     int n;
+ *     while ((n = lecteur.lireBloc(bloc)) > 0) {
+ *         // les n premières lignes de bloc sont les lignes suivantes du fichier
+ *     }
+ * }
+ * </pre>
+ */
+public class LecteurSupermat implements AutoCloseable {
+
+    private final FileChannel canal;
+    private final int nl;
+    private final int nc;
+    private final ByteBuffer tampon;
+    private DoubleBuffer elements;
+    private long octetsRestants;   // éléments du fichier pas encore chargés dans le tampon
+    private int ligneCourante;
+
+    private LecteurSupermat(FileChannel canal, FormatSupermat.EnTete enTete) {
+        this.canal = canal;
+        this.nl = enTete.nl;
+        this.nc = enTete.nc;
+        this.tampon = ByteBuffer.allocateDirect(FormatSupermat.TAILLE_TAMPON).order(enTete.ordre);
+        this.elements = tampon.asDoubleBuffer().limit(0);
+        this.octetsRestants = (long) nl * nc * Double.BYTES;
+    }
+
+    /**
+     * Ouvre un fichier de supermatrice et lit son en-tête.
+     *
+     * @throws SupermatException si le fichier est illisible (l'IOException
+     *         d'origine est dans getCause())
+     */
+    public static LecteurSupermat ouvrir(Path fichier) {
+        Objects.requireNonNull(fichier, "le fichier ne peut pas être null");
+
+        FileChannel canal = null;
+        try {
+            canal = FileChannel.open(fichier, StandardOpenOption.READ);
+            return new LecteurSupermat(canal, FormatSupermat.lireEnTete(canal));
+        } catch (IOException e) {
+            SupermatException erreur =
+                    new SupermatException("lecture de " + fichier + " impossible (" + e.getMessage() + ")", e);
+            try {
+                fermer(canal);
+            } catch (SupermatException f) {
+                erreur.addSuppressed(f);
+            }
+            throw erreur;
+        }
+    }
+
+    /**
+     * Nombre de lignes de la matrice du fichier.
+     */
+    public int getNombreLignes() {
+        return nl;
+    }
+
+    /**
+     * Nombre de colonnes de la matrice du fichier.
+     */
+    public int getNombreColonnes() {
+        return nc;
+    }
+
+    /**
+     * Nombre de lignes qui n'ont pas encore été lues.
+     */
+    public int getLignesRestantes() {
+        return nl - ligneCourante;
+    }
+
+    /**
+     * Lit les lignes suivantes du fichier dans les premières lignes de bloc,
+     * qui doit avoir le même nombre de colonnes que le fichier (ce peut être
+     * une vue, par exemple une bande d'une matrice plus grande).
+     * Retourne le nombre de lignes lues (0 à la fin du fichier).
+     *
+     * @throws SupermatException si la lecture échoue
+     */
+    public int lireBloc(Supermat bloc) {
+        Objects.requireNonNull(bloc, "la supermatrice ne peut pas être null");
+
+        if (bloc.getNombreColonnes() != nc) {
+            throw new DimensionsException("le bloc a " + bloc.getNombreColonnes() +
+                                          " colonnes au lieu de " + nc);
+        }
+
+        int lignes = Math.min(bloc.getNombreLignes(), getLignesRestantes());
+        // Lignes écrites directement dans le tableau du bloc si possible
+        boolean direct = !bloc.isTransposee() && !bloc.isProjetee();
+        double[] ligne = direct ? bloc.donnees() : new double[nc];
+        bloc.modifiee();
+
+        try {
+            for (int i = 0; i < lignes; i++) {
+                if (direct) {
+                    lireElements(ligne, bloc.debutLigne(i), nc);
+                } else {
+                    lireElements(ligne, 0, nc);
+                    bloc.setLigne(i, ligne);
+                }
+                ligneCourante++;
+            }
+        } catch (IOException e) {
+            throw new SupermatException("lecture impossible (" + e.getMessage() + ")", e);
+        }
+
+        return lignes;
+    }
+
+    /**
+     * Lit toutes les lignes restantes dans une nouvelle supermatrice.
+     *
+     * @throws DimensionsException si elles ne tiennent pas dans une matrice
+     *         du tas, ou s'il n'en reste aucune
+     */
+    public Supermat lireTout() {
+        int lignes = getLignesRestantes();
+        if (lignes == 0) {
+            throw new DimensionsException("toutes les lignes ont déjà été lues");
+        }
+
+        if ((long) lignes * nc > Integer.MAX_VALUE - 8) {
+            throw new DimensionsException("matrice trop grande pour le tas (" + lignes + "x" + nc +
+                                          "), utiliser Supermat.projeter() ou lireBloc()");
+        }
+
+        Supermat resultat = new Supermat(lignes, nc);
+        lireBloc(resultat);
+        return resultat;
+    }
+
+    /**
+     * Ferme le fichier.
+     */
+    @Override
+    public void close() {
+        fermer(canal);
+    }
+
+    /**
+     * Copie les n éléments suivants du fichier dans dst[pos..pos+n[,
+     * en rechargeant le tampon autant de fois que nécessaire.
+     */
+    private void lireElements(double[] dst, int pos, int n) throws IOException {
+        while (n > 0) {
+            if (!elements.hasRemaining()) {
+                tampon.clear();
+                tampon.limit((int) Math.min(tampon.capacity(), octetsRestants));
+                FormatSupermat.lireTout(canal, tampon);
+                octetsRestants -= tampon.limit();
+                tampon.flip();
+                elements = tampon.asDoubleBuffer();
+            }
+            int k = Math.min(n, elements.remaining());
+            elements.get(dst, pos, k);
+            pos += k;
+            n -= k;
+        }
+    }
+
+    private static void fermer(FileChannel canal) {
+        if (canal == null) {
+            return;
+        }
+        try {
+            canal.close();
+        } catch (IOException e) {
+            throw new SupermatException("fermeture du fichier impossible (" + e.getMessage() + ")", e);
+        }
+    }
+}
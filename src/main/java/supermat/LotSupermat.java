@@ -0,0 +1,267 @@
+package supermat;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Lot de taille matrices nl x nc de même forme, rangées dans un seul tableau
+ * « par éléments » (structure de tableaux) : l'élément (i, j) de la matrice k
+ * est en donnees[(i * nc + j) * taille + k].
+ *
+ * Cette disposition sert aux très nombreux petits produits (3x3, 4x4, 8x8...) :
+ * produit() multiplie les taille paires d'un coup, sans vérification, allocation
+ * ni indirection par matrice, et les vecteurs de NoyauLot traitent plusieurs
+ * matrices du lot par instruction.
+ *
+ * <pre>
+ * LotSupermat a = new LotSupermat(100000, 3, 3);
+ * LotSupermat b = new LotSupermat(100000, 3, 3);
+ * // ... remplissage par set(k, i, j, v), setMatrice(k, m) ou getDonnees() ...
+ * LotSupermat c = LotSupermat.produit(a, b);     // c.getMatrice(k) = a_k × b_k
+ * </pre>
+ */
+public final class LotSupermat {
+
+    final int taille;        // nombre de matrices
+    final int nl;
+    final int nc;
+    final double[] donnees;  // élément (i, j) de la matrice k en (i * nc + j) * taille + k
+
+    /**
+     * Alloue un lot de taille matrices nl x nc nulles.
+     */
+    public LotSupermat(int taille, int nl, int nc) {
+        verifierDimensions(taille, nl, nc);
+        if ((long) taille * nl * nc > Integer.MAX_VALUE - 8) {
+            throw new DimensionsException("lot trop grand (" + taille + ", " + nl + ", " + nc + ")");
+        }
+
+        this.taille = taille;
+        this.nl = nl;
+        this.nc = nc;
+        this.donnees = new double[taille * nl * nc];
+    }
+
+    private LotSupermat(double[] donnees, int taille, int nl, int nc) {
+        this.taille = taille;
+        this.nl = nl;
+        this.nc = nc;
+        this.donnees = donnees;
+    }
+
+    /**
+     * Crée un lot qui utilise directement le tableau fourni, sans copie,
+     * rangé comme décrit plus haut (taille x nl x nc premières cases).
+     */
+    public static LotSupermat envelopper(double[] donnees, int taille, int nl, int nc) {
+        Objects.requireNonNull(donnees, "le tableau ne peut pas être null");
+        verifierDimensions(taille, nl, nc);
+
+        if (donnees.length < (long) taille * nl * nc) {
+            throw new DimensionsException("tableau trop petit (" + donnees.length + " éléments pour " +
+                                          taille + " x " + nl + "x" + nc + ")");
+        }
+
+        return new LotSupermat(donnees, taille, nl, nc);
+    }
+
+    /**
+     * Nombre de matrices du lot.
+     */
+    public int getTaille() {
+        return taille;
+    }
+
+    /**
+     * Nombre de lignes de chaque matrice.
+     */
+    public int getNombreLignes() {
+        return nl;
+    }
+
+    /**
+     * Nombre de colonnes de chaque matrice.
+     */
+    public int getNombreColonnes() {
+        return nc;
+    }
+
+    /**
+     * Tableau des éléments, partagé avec le lot (pas de copie).
+     */
+    public double[] getDonnees() {
+        return donnees;
+    }
+
+    /**
+     * Élément (i, j) de la matrice k.
+     */
+    public double get(int k, int i, int j) {
+        if (Controles.INDICES) {
+            verifierIndices(k, i, j);
+        }
+        return donnees[(i * nc + j) * taille + k];
+    }
+
+    /**
+     * Modifie l'élément (i, j) de la matrice k.
+     */
+    public void set(int k, int i, int j, double valeur) {
+        if (Controles.INDICES) {
+            verifierIndices(k, i, j);
+        }
+        donnees[(i * nc + j) * taille + k] = valeur;
+    }
+
+    /**
+     * Copie la matrice k du lot dans une nouvelle supermatrice.
+     */
+    public Supermat getMatrice(int k) {
+        Objects.checkIndex(k, taille);
+
+        Supermat resultat = new Supermat(nl, nc);
+        double[] d = resultat.donnees();
+        for (int i = 0; i < nl; i++) {
+            int li = resultat.debutLigne(i);
+            for (int j = 0; j < nc; j++) {
+                d[li + j] = donnees[(i * nc + j) * taille + k];
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Copie une supermatrice nl x nc à la place k du lot.
+     */
+    public void setMatrice(int k, Supermat matrice) {
+        Objects.requireNonNull(matrice, "la matrice ne peut pas être null");
+
+        if (matrice.getNombreLignes() != nl || matrice.getNombreColonnes() != nc) {
+            throw new DimensionsException("la matrice est " + matrice.getNombreLignes() + "x" +
+                                          matrice.getNombreColonnes() + " au lieu de " + nl + "x" + nc);
+        }
+
+        Objects.checkIndex(k, taille);
+
+        // Lignes lues d'un bloc : pas de contrôle par élément
+        double[] ligne = new double[nc];
+        for (int i = 0; i < nl; i++) {
+            matrice.getLigne(i, ligne);
+            for (int j = 0; j < nc; j++) {
+                donnees[(i * nc + j) * taille + k] = ligne[j];
+            }
+        }
+    }
+
+    /**
+     * Produits des paires de matrices de deux lots : la matrice k du résultat
+     * est a_k × b_k.
+     */
+    public static LotSupermat produit(LotSupermat a, LotSupermat b) {
+        verifierProduit(a, b);
+
+        LotSupermat resultat = new LotSupermat(a.taille, a.nl, b.nc);
+        NoyauLot.multiplier(a, b, resultat, 0, a.taille);
+        return resultat;
+    }
+
+    /**
+     * Produits des paires écrits dans un lot existant, qui est écrasé ; il
+     * ne doit pas partager le tableau d'un opérande. Retourne destination.
+     */
+    public static LotSupermat produit(LotSupermat a, LotSupermat b, LotSupermat destination) {
+        verifierProduit(a, b);
+        verifierDestination(destination, a, b);
+
+        NoyauLot.multiplier(a, b, destination, 0, a.taille);
+        return destination;
+    }
+
+    /**
+     * Produits des paires répartis sur le pool fork-join commun.
+     */
+    public static LotSupermat produitParallele(LotSupermat a, LotSupermat b) {
+        return produitParallele(a, b, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Produits des paires répartis sur un pool fork-join donné, par plages de
+     * matrices. Les petits lots sont calculés sur le thread appelant.
+     */
+    public static LotSupermat produitParallele(LotSupermat a, LotSupermat b, ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "le pool de threads ne peut pas être null");
+        verifierProduit(a, b);
+
+        LotSupermat resultat = new LotSupermat(a.taille, a.nl, b.nc);
+        multiplierParallele(a, b, resultat, pool);
+        return resultat;
+    }
+
+    /**
+     * Produits parallèles écrits dans un lot existant (voir
+     * produit(LotSupermat, LotSupermat, LotSupermat)).
+     */
+    public static LotSupermat produitParallele(LotSupermat a, LotSupermat b, LotSupermat destination,
+                                               ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "le pool de threads ne peut pas être null");
+        verifierProduit(a, b);
+        verifierDestination(destination, a, b);
+
+        multiplierParallele(a, b, destination, pool);
+        return destination;
+    }
+
+    private static void multiplierParallele(LotSupermat a, LotSupermat b, LotSupermat resultat,
+                                            ForkJoinPool pool) {
+        TacheLot tache = new TacheLot(a, b, resultat, pool.getParallelism());
+        if (TacheLot.volume(a, b) <= TacheLot.SEUIL) {
+            tache.invoke();
+        } else {
+            pool.invoke(tache);
+        }
+    }
+
+    private void verifierIndices(int k, int i, int j) {
+        Objects.checkIndex(k, taille);
+        Objects.checkIndex(i, nl);
+        Objects.checkIndex(j, nc);
+    }
+
+    private static void verifierDimensions(int taille, int nl, int nc) {
+        if (taille <= 0 || nl <= 0 || nc <= 0) {
+            throw new DimensionsException("dimensions de lot invalides (" + taille + ", " + nl + ", " + nc + ")");
+        }
+    }
+
+    private static void verifierProduit(LotSupermat a, LotSupermat b) {
+        Objects.requireNonNull(a, "les lots ne peuvent pas être null");
+        Objects.requireNonNull(b, "les lots ne peuvent pas être null");
+
+        if (a.taille != b.taille) {
+            throw new DimensionsException("lots de tailles différentes (" + a.taille + " != " + b.taille + ")");
+        }
+
+        Controles.produit(a.nc, b.nl);
+    }
+
+    private static void verifierDestination(LotSupermat destination, LotSupermat a, LotSupermat b) {
+        Objects.requireNonNull(destination, "le lot destination ne peut pas être null");
+
+        if (destination.taille != a.taille || destination.nl != a.nl || destination.nc != b.nc) {
+            throw new DimensionsException("le lot destination est " + destination + " au lieu de " +
+                                          a.taille + " x " + a.nl + "x" + b.nc);
+        }
+
+        if (destination.donnees == a.donnees || destination.donnees == b.donnees) {
+            throw new IllegalArgumentException("le lot destination partage les données d'un opérande");
+        }
+    }
+
+    /**
+     * Retourne une représentation textuelle du lot.
+     */
+    @Override
+    public String toString() {
+        return String.format("LotSupermat(%d x %dx%d)", taille, nl, nc);
+    }
+}
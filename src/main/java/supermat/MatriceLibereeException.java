@@ -0,0 +1,18 @@
+package supermat;
+
+/**
+ * Utilisation d'une matrice après recupererSupermat() (ou après la fermeture
+ * du fichier projeté qu'elle partage).
+ */
+public class MatriceLibereeException extends SupermatException {
+
+    private static final long serialVersionUID = 1L;
+
+    public MatriceLibereeException() {
+        super("la supermatrice a été libérée");
+    }
+
+    public MatriceLibereeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package supermat;
+
+/**
+ * Résolution ou inversion d'un système singulier (pivot nul dans la
+ * décomposition LU).
+ */
+public class MatriceSinguliereException extends SupermatException {
+
+    private static final long serialVersionUID = 1L;
+
+    public MatriceSinguliereException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,175 @@
+package supermat;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Mesures des opérations de la bibliothèque, activées par
+ * -Dsupermat.mesures=true (désactivées par défaut).
+ *
+ * Pour chaque Operation sont comptés les appels, les opérations flottantes,
+ * les octets alloués pour les résultats, le temps total, les quantiles de
+ * latence et les formes des matrices (voir MesuresOperationMXBean). Les
+ * compteurs sont publiés par JMX (supermat:type=Mesures,operation=produit...,
+ * lisibles dans JConsole ou JMC) et chaque appel émet un événement JFR
+ * supermat.Operation lorsqu'un enregistrement JFR est en cours.
+ *
+ * Désactivées, les mesures ne coûtent rien : ACTIVES est une constante, et
+ * les points de mesure (if (Mesures.ACTIVES)) disparaissent à la compilation
+ * JIT. Activées, chaque appel coûte deux lectures d'horloge, quelques
+ * additions sans verrou et un événement JFR. Les opérations publiques
+ * appelées par une autre sont comptées elles aussi (les sousMatrice() de
+ * Strassen et de la décomposition LU) ; les produits internes de Strassen
+ * et de la décomposition LU appellent directement le noyau (NoyauProduit)
+ * et ne sont pas comptés comme PRODUIT, seul le produit de Strassen
+ * entier l'est (PRODUIT_STRASSEN).
+ *
+ * <pre>
+ * // java -Dsupermat.mesures=true -XX:StartFlightRecording ...
+ * MesuresOperationMXBean p = Mesures.statistiques(Mesures.Operation.PRODUIT);
+ * System.out.println(p.getAppels() + " produits, " + p.getGflops() + " GFLOP/s");
+ * </pre>
+ */
+public final class Mesures {
+
+    /** Opérations mesurées. */
+    public enum Operation {
+        PRODUIT("produit"),
+        PRODUIT_PARALLELE("produitParallele"),
+        PRODUIT_STRASSEN("produitStrassen"),
+        PRODUIT_VECTEUR("multiplierVecteur"),
+        PRODUIT_VECTEUR_TRANSPOSEE("multiplierVecteurTransposee"),
+        PRODUIT_EXTERIEUR("ajouterProduitExterieur"),
+        SOUS_MATRICE("sousMatrice"),
+        TRANSPOSE("transpose"),
+        DECOMPOSITION_LU("decomposer");
+
+        private final String nom;
+
+        Operation(String nom) {
+            this.nom = nom;
+        }
+
+        /** Nom de la méthode mesurée, utilisé dans le nom JMX. */
+        public String getNom() {
+            return nom;
+        }
+    }
+
+    /** Mesures actives (-Dsupermat.mesures=true). */
+    static final boolean ACTIVES = Boolean.getBoolean("supermat.mesures");
+
+    private static final StatistiquesOperation[] STATISTIQUES = creer();
+
+    private Mesures() {
+    }
+
+    private static StatistiquesOperation[] creer() {
+        Operation[] operations = Operation.values();
+        StatistiquesOperation[] s = new StatistiquesOperation[operations.length];
+        for (Operation op : operations) {
+            s[op.ordinal()] = new StatistiquesOperation(op.getNom());
+        }
+        if (ACTIVES) {
+            publier(s);
+        }
+        return s;
+    }
+
+    /**
+     * Enregistre les MBeans dans le serveur JMX de la plateforme. Un nom
+     * déjà pris (bibliothèque chargée deux fois) est laissé à son premier
+     * propriétaire : les mesures restent lisibles par statistiques().
+     */
+    private static void publier(StatistiquesOperation[] s) {
+        MBeanServer serveur = ManagementFactory.getPlatformMBeanServer();
+        for (StatistiquesOperation stat : s) {
+            try {
+                ObjectName nom = new ObjectName("supermat:type=Mesures,operation=" + stat.getOperation());
+                if (!serveur.isRegistered(nom)) {
+                    serveur.registerMBean(stat, nom);
+                }
+            } catch (JMException e) {
+                // Mesures non publiées par JMX, mais toujours enregistrées
+            }
+        }
+    }
+
+    /**
+     * Indique si les mesures sont actives.
+     */
+    public static boolean isActives() {
+        return ACTIVES;
+    }
+
+    /**
+     * Statistiques d'une opération (toujours nulles si les mesures sont
+     * désactivées).
+     */
+    public static MesuresOperationMXBean statistiques(Operation operation) {
+        Objects.requireNonNull(operation, "l'opération ne peut pas être null");
+        return STATISTIQUES[operation.ordinal()];
+    }
+
+    /**
+     * Remet à zéro les compteurs de toutes les opérations.
+     */
+    public static void reinitialiser() {
+        for (StatistiquesOperation s : STATISTIQUES) {
+            s.reinitialiser();
+        }
+    }
+
+    /**
+     * Début de la mesure d'un appel. Ne s'appelle que si ACTIVES :
+     * <pre>
+     * Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Operation.PRODUIT) : null;
+     * ...
+     * if (mesure != null) {
+     *     mesure.fin(nl, nc, p, 2L * nl * nc * p, 8L * nl * nc);
+     * }
+     * </pre>
+     */
+    static Mesure debut(Operation operation) {
+        return new Mesure(operation);
+    }
+
+    /** Appel en cours de mesure. */
+    static final class Mesure {
+
+        private final Operation operation;
+        private final EvenementOperation evenement;
+        private final long debut;
+
+        private Mesure(Operation operation) {
+            this.operation = operation;
+            this.evenement = new EvenementOperation();
+            this.evenement.begin();
+            this.debut = System.nanoTime();
+        }
+
+        /**
+         * Fin de l'appel, sur une matrice nl x nc (p : profondeur d'un
+         * produit, 0 sinon).
+         */
+        void fin(int nl, int nc, int p, long operationsFlottantes, long octetsAlloues) {
+            long ns = System.nanoTime() - debut;
+            STATISTIQUES[operation.ordinal()].enregistrer(ns, nl, nc, p, operationsFlottantes, octetsAlloues);
+
+            evenement.end();
+            if (evenement.shouldCommit()) {
+                evenement.operation = operation.getNom();
+                evenement.lignes = nl;
+                evenement.colonnes = nc;
+                evenement.profondeur = p;
+                evenement.operationsFlottantes = operationsFlottantes;
+                evenement.octetsAlloues = octetsAlloues;
+                evenement.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package supermat;
+
+import java.util.Map;
+
+/**
+ * Statistiques d'une opération de la bibliothèque, exposées par JMX sous le
+ * nom supermat:type=Mesures,operation=... (voir Mesures). Les latences sont
+ * des quantiles approchés à 1/16 près (histogramme à 8 classes par puissance
+ * de deux).
+ */
+public interface MesuresOperationMXBean {
+
+    /** Nom de l'opération (produit, transpose...). */
+    String getOperation();
+
+    /** Nombre d'appels mesurés. */
+    long getAppels();
+
+    /** Nombre total d'opérations flottantes (additions et multiplications). */
+    long getOperationsFlottantes();
+
+    /** Octets des tableaux alloués pour les résultats (0 pour une vue). */
+    long getOctetsAlloues();
+
+    /** Temps cumulé, en nanosecondes. */
+    long getTempsTotalNs();
+
+    /** Débit moyen en GFLOP/s (opérations flottantes par nanoseconde de calcul). */
+    double getGflops();
+
+    /** Latence médiane, en nanosecondes. */
+    long getLatenceP50Ns();
+
+    /** 90e centile des latences, en nanosecondes. */
+    long getLatenceP90Ns();
+
+    /** 99e centile des latences, en nanosecondes. */
+    long getLatenceP99Ns();
+
+    /** Plus grande latence observée, en nanosecondes. */
+    long getLatenceMaxNs();
+
+    /**
+     * Nombre d'appels par classe de formes (lignes x colonnes du résultat,
+     * x profondeur pour un produit), chaque dimension étant arrondie à la
+     * puissance de deux supérieure : "256x64x256" pour un produit 200x250
+     * par 250x64, "1024x512" pour la transposée d'une matrice 1000x500.
+     */
+    Map<String, Long> getFormes();
+
+    /** Remet les compteurs à zéro. */
+    void reinitialiser();
+}
@@ -0,0 +1,68 @@
+package supermat;
+
+/**
+ * Produit de lots de petites matrices (voir LotSupermat).
+ *
+ * Dans un lot, l'élément (i, j) des taille matrices occupe une plage
+ * contiguë de taille cases : les matrices du lot sont les « voies » des
+ * vecteurs, et un vecteur de L doubles calcule le même élément de L produits
+ * à la fois, quelle que soit la taille des matrices. Pour chaque ligne i de
+ * A, Noyaux.produitsLot() garde jusqu'à 8 éléments de la ligne dans des
+ * registres et produit toute la ligne i de C ; les noyaux vectoriels sont
+ * déroulés pour les profondeurs 1 à 4 et 8 (une seule tranche pour 2x2, 3x3,
+ * 4x4 et 8x8), les autres profondeurs sont découpées en tranches de ces tailles.
+ *
+ * Le lot est parcouru par blocs de matrices dont les éléments de B et une
+ * ligne de C tiennent dans le cache L2 : B est relu une fois par ligne de A
+ * sans repasser par la mémoire. Des blocs plus courts (cache L1) multiplient
+ * les changements de page sur les nl x nc plages du lot, qui coûtent plus
+ * cher que les relectures depuis L2 dès 8x8.
+ */
+final class NoyauLot {
+
+    /** Octets visés pour un bloc de B et une ligne de C. */
+    static final int OCTETS_BLOC = 128 * 1024;
+
+    private NoyauLot() {
+    }
+
+    /**
+     * Nombre de matrices par bloc pour des produits (m x p) × (p x q).
+     */
+    static int bloc(int p, int q) {
+        int octets = (p * q + q) * Double.BYTES;
+        return Math.max(16, (OCTETS_BLOC / octets) & ~7);
+    }
+
+    /**
+     * Profondeur traitée par un appel à Noyaux.produitsLot() quand il reste
+     * n colonnes de A à parcourir : 8, 4, ou moins en fin de ligne.
+     */
+    static int tranche(int n) {
+        return n >= 8 ? 8 : Math.min(n, 4);
+    }
+
+    /**
+     * C = A × B pour les matrices k0..k1-1 du lot (C est écrasé).
+     */
+    static void multiplier(LotSupermat a, LotSupermat b, LotSupermat c, int k0, int k1) {
+        int m = a.nl;
+        int p = a.nc;
+        int q = b.nc;
+        int pas = a.taille;
+        int bloc = bloc(p, q);
+        Noyaux noyaux = Noyaux.INSTANCE;
+
+        for (int k = k0; k < k1; k += bloc) {
+            int n = Math.min(bloc, k1 - k);
+            for (int i = 0; i < m; i++) {
+                for (int r = 0; r < p; ) {
+                    int t = tranche(p - r);
+                    noyaux.produitsLot(a.donnees, (i * p + r) * pas + k, b.donnees, r * q * pas + k,
+                                       c.donnees, i * q * pas + k, t, q, pas, r > 0, n);
+                    r += t;
+                }
+            }
+        }
+    }
+}
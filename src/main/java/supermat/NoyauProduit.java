@@ -0,0 +1,165 @@
+package supermat;
+
+/**
+ * Noyau de multiplication matricielle par blocs utilisé par Supermat.produit().
+ *
+ * Le produit C += A × B est découpé en panneaux de B (BLOC_K x BLOC_J) recopiés
+ * de manière contiguë pour rester dans le cache L2, puis parcourus dans l'ordre
+ * i-k-j par un micro-noyau qui met à jour 4 lignes de C à la fois : chaque ligne
+ * du panneau de B est ainsi relue depuis le cache L1 pour 4 lignes de A.
+ */
+final class NoyauProduit {
+
+    /** Profondeur d'un panneau de B (dimension commune k). */
+    static final int BLOC_K = 256;
+
+    /** Largeur d'un panneau de B (colonnes de C traitées ensemble). */
+    static final int BLOC_J = 256;
+
+    /** Hauteur d'un bloc de lignes de A parcouru pour un même panneau. */
+    static final int BLOC_I = 64;
+
+    private NoyauProduit() {
+    }
+
+    /**
+     * Calcule C[i0..i1[ [j0..j1[ += A[i0..i1[ [0..p[ × B[0..p[ [j0..j1[.
+     * Les lignes de C doivent être initialisées par l'appelant et C doit être
+     * une matrice du tas non transposée. A et B peuvent être transposées ou
+     * projetées depuis un fichier : leurs blocs sont alors recopiés dans
+     * l'ordre attendu par le micro-noyau.
+     */
+    static void multiplier(Supermat a, Supermat b, Supermat c,
+                           int i0, int i1, int j0, int j1) {
+        multiplier(a, b, c, 1.0, i0, i1, j0, j1);
+    }
+
+    /**
+     * Calcule C[i0..i1[ [j0..j1[ += alpha × A[i0..i1[ [0..p[ × B[0..p[ [j0..j1[.
+     * alpha est appliqué aux panneaux de B au moment de leur recopie, sans
+     * passage supplémentaire sur C.
+     */
+    static void multiplier(Supermat a, Supermat b, Supermat c, double alpha,
+                           int i0, int i1, int j0, int j1) {
+        int p = a.getNombreColonnes();
+        double[] da = a.donnees();
+        double[] dc = c.donnees();
+        boolean aTransposee = a.isTransposee();
+        boolean aRecopiee = aTransposee || a.isProjetee();
+        // Tampons de recopie loués à la réserve : pas d'allocation en régime établi
+        ReserveTampons reserve = ReserveTampons.INSTANCE;
+        double[] panneau = reserve.louer(Math.min(BLOC_K, p) * Math.min(BLOC_J, j1 - j0), false);
+        double[] blocA = aRecopiee ? reserve.louer(Math.min(BLOC_I, i1 - i0) * Math.min(BLOC_K, p), false) : null;
+        double[] colonne = b.isTransposee() ? new double[Math.min(BLOC_K, p)] : null;
+
+        for (int jj = j0; jj < j1; jj += BLOC_J) {
+            int nj = Math.min(BLOC_J, j1 - jj);
+            for (int kk = 0; kk < p; kk += BLOC_K) {
+                int nk = Math.min(BLOC_K, p - kk);
+
+                // Recopie contiguë du panneau B[kk..kk+nk[ [jj..jj+nj[
+                if (b.isTransposee()) {
+                    // Les colonnes de B sont contiguës dans le stockage
+                    for (int j = 0; j < nj; j++) {
+                        b.lireStockage(jj + j, kk, colonne, 0, nk);
+                        for (int k = 0; k < nk; k++) {
+                            panneau[k * nj + j] = colonne[k];
+                        }
+                    }
+                } else {
+                    for (int k = 0; k < nk; k++) {
+                        b.lireStockage(kk + k, jj, panneau, k * nj, nj);
+                    }
+                }
+                if (alpha != 1.0) {
+                    Noyaux.INSTANCE.echelonner(alpha, panneau, 0, nk * nj);
+                }
+
+                for (int ii = i0; ii < i1; ii += BLOC_I) {
+                    int fin = Math.min(ii + BLOC_I, i1);
+                    // pas : distance entre A[i][k] et A[i][k+1] dans le tableau lu
+                    int pas = 1;
+                    if (aTransposee) {
+                        // Les colonnes de A sont contiguës dans le stockage : le
+                        // bloc est recopié tel quel, colonne par colonne
+                        pas = fin - ii;
+                        for (int k = 0; k < nk; k++) {
+                            a.lireStockage(kk + k, ii, blocA, k * pas, pas);
+                        }
+                    } else if (aRecopiee) {
+                        for (int i = ii; i < fin; i++) {
+                            a.lireStockage(i, kk, blocA, (i - ii) * nk, nk);
+                        }
+                    }
+                    int i = ii;
+                    for (; i + 3 < fin; i += 4) {
+                        if (aTransposee) {
+                            int o = i - ii;
+                            microNoyau4(blocA, o, o + 1, o + 2, o + 3, pas,
+                                        dc, c.debutLigne(i) + jj, c.debutLigne(i + 1) + jj,
+                                        c.debutLigne(i + 2) + jj, c.debutLigne(i + 3) + jj,
+                                        panneau, nk, nj);
+                        } else if (aRecopiee) {
+                            int o = (i - ii) * nk;
+                            microNoyau4(blocA, o, o + nk, o + 2 * nk, o + 3 * nk, pas,
+                                        dc, c.debutLigne(i) + jj, c.debutLigne(i + 1) + jj,
+                                        c.debutLigne(i + 2) + jj, c.debutLigne(i + 3) + jj,
+                                        panneau, nk, nj);
+                        } else {
+                            microNoyau4(da, a.debutLigne(i) + kk, a.debutLigne(i + 1) + kk,
+                                        a.debutLigne(i + 2) + kk, a.debutLigne(i + 3) + kk, pas,
+                                        dc, c.debutLigne(i) + jj, c.debutLigne(i + 1) + jj,
+                                        c.debutLigne(i + 2) + jj, c.debutLigne(i + 3) + jj,
+                                        panneau, nk, nj);
+                        }
+                    }
+                    for (; i < fin; i++) {
+                        if (aTransposee) {
+                            microNoyau1(blocA, i - ii, pas, dc, c.debutLigne(i) + jj,
+                                        panneau, nk, nj);
+                        } else if (aRecopiee) {
+                            microNoyau1(blocA, (i - ii) * nk, pas, dc, c.debutLigne(i) + jj,
+                                        panneau, nk, nj);
+                        } else {
+                            microNoyau1(da, a.debutLigne(i) + kk, pas, dc, c.debutLigne(i) + jj,
+                                        panneau, nk, nj);
+                        }
+                    }
+                }
+            }
+        }
+
+        reserve.rendre(panneau);
+        if (blocA != null) {
+            reserve.rendre(blocA);
+        }
+    }
+
+    /**
+     * Met à jour 4 lignes de C avec un panneau de B : les 4 coefficients de A
+     * restent en registre et chaque ligne du panneau est chargée une seule fois.
+     * Les oX (resp. cX) sont les positions des lignes de A (resp. C) à l'origine du bloc,
+     * et pas la distance entre deux coefficients successifs d'une ligne de A.
+     */
+    private static void microNoyau4(double[] a, int o0, int o1, int o2, int o3, int pas,
+                                    double[] c, int c0, int c1, int c2, int c3,
+                                    double[] panneau, int nk, int nj) {
+        Noyaux noyaux = Noyaux.INSTANCE;
+        for (int k = 0; k < nk; k++) {
+            int d = k * pas;
+            noyaux.axpy4(a[o0 + d], a[o1 + d], a[o2 + d], a[o3 + d], panneau, k * nj,
+                         c, c0, c1, c2, c3, nj);
+        }
+    }
+
+    /**
+     * Met à jour une ligne isolée de C (lignes restantes d'un bloc).
+     */
+    private static void microNoyau1(double[] a, int o0, int pas, double[] c, int c0,
+                                    double[] panneau, int nk, int nj) {
+        Noyaux noyaux = Noyaux.INSTANCE;
+        for (int k = 0; k < nk; k++) {
+            noyaux.axpy(a[o0 + k * pas], panneau, k * nj, c, c0, nj);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package supermat;
+
+import java.util.Arrays;
+
+/**
+ * Noyau de multiplication par blocs des SupermatFloat, organisé comme
+ * NoyauProduit : panneaux de B recopiés de manière contiguë, ordre i-k-j et
+ * micro-noyau sur 4 lignes de C.
+ *
+ * En précision mixte, les sommes d'une bande de colonnes de C sont gardées
+ * dans un tableau de double loué à la réserve pendant tout le parcours de la
+ * dimension commune, puis arrondies une seule fois en float : l'erreur ne
+ * croît plus avec la profondeur du produit, pour le même trafic mémoire sur A
+ * et B qu'en simple précision.
+ */
+final class NoyauProduitFloat {
+
+    /** Profondeur d'un panneau de B (dimension commune k). */
+    static final int BLOC_K = 256;
+
+    /** Largeur d'un panneau de B (colonnes de C traitées ensemble). */
+    static final int BLOC_J = 256;
+
+    /** Hauteur d'un bloc de lignes de A parcouru pour un même panneau. */
+    static final int BLOC_I = 64;
+
+    private NoyauProduitFloat() {
+    }
+
+    /**
+     * Calcule C[i0..i1[ [j0..j1[ += A[i0..i1[ [0..p[ × B[0..p[ [j0..j1[, les
+     * sommes étant faites en double si mixte vaut true. C doit être non
+     * transposée ; A et B peuvent être des vues transposées, dont les blocs
+     * sont alors recopiés ligne par ligne.
+     */
+    static void multiplier(SupermatFloat a, SupermatFloat b, SupermatFloat c, boolean mixte,
+                           int i0, int i1, int j0, int j1) {
+        int p = a.getNombreColonnes();
+        float[] da = a.donnees;
+        float[] dc = c.donnees;
+        boolean aTransposee = a.isTransposee();
+        Noyaux noyaux = Noyaux.INSTANCE;
+        float[] panneau = new float[Math.min(BLOC_K, p) * Math.min(BLOC_J, j1 - j0)];
+        float[] blocA = aTransposee ? new float[Math.min(BLOC_I, i1 - i0) * Math.min(BLOC_K, p)] : null;
+        double[] sommes = mixte ? ReserveTampons.INSTANCE.louer((i1 - i0) * Math.min(BLOC_J, j1 - j0), false)
+                                : null;
+
+        for (int jj = j0; jj < j1; jj += BLOC_J) {
+            int nj = Math.min(BLOC_J, j1 - jj);
+            if (mixte) {
+                Arrays.fill(sommes, 0, (i1 - i0) * nj, 0.0);
+            }
+
+            for (int kk = 0; kk < p; kk += BLOC_K) {
+                int nk = Math.min(BLOC_K, p - kk);
+                recopierPanneau(b, kk, nk, jj, nj, panneau);
+
+                for (int ii = i0; ii < i1; ii += BLOC_I) {
+                    int fin = Math.min(ii + BLOC_I, i1);
+                    // Ligne i du bloc de A en src[o + (i - ii) * pas .. + nk[
+                    float[] src = da;
+                    int o = 0;
+                    int pas = nk;
+                    if (aTransposee) {
+                        // Les colonnes de A sont contiguës : recopie en lignes de nk éléments
+                        src = blocA;
+                        for (int k = 0; k < nk; k++) {
+                            int debut = a.debutStockage(kk + k);
+                            for (int i = ii; i < fin; i++) {
+                                blocA[(i - ii) * nk + k] = da[debut + i];
+                            }
+                        }
+                    } else {
+                        o = a.debutStockage(ii) + kk;
+                        pas = a.ld;
+                    }
+
+                    int i = ii;
+                    for (; i + 3 < fin; i += 4) {
+                        int oi = o + (i - ii) * pas;
+                        if (mixte) {
+                            int s = (i - i0) * nj;
+                            microNoyau4(src, oi, oi + pas, oi + 2 * pas, oi + 3 * pas,
+                                        sommes, s, s + nj, s + 2 * nj, s + 3 * nj, panneau, nk, nj);
+                        } else {
+                            microNoyau4(src, oi, oi + pas, oi + 2 * pas, oi + 3 * pas,
+                                        dc, c.debutStockage(i) + jj, c.debutStockage(i + 1) + jj,
+                                        c.debutStockage(i + 2) + jj, c.debutStockage(i + 3) + jj,
+                                        panneau, nk, nj);
+                        }
+                    }
+                    for (; i < fin; i++) {
+                        int oi = o + (i - ii) * pas;
+                        for (int k = 0; k < nk; k++) {
+                            if (mixte) {
+                                noyaux.axpy(src[oi + k], panneau, k * nj, sommes, (i - i0) * nj, nj);
+                            } else {
+                                noyaux.axpy(src[oi + k], panneau, k * nj, dc, c.debutStockage(i) + jj, nj);
+                            }
+                        }
+                    }
+                }
+            }
+
+            if (mixte) {
+                for (int i = i0; i < i1; i++) {
+                    int ligne = c.debutStockage(i) + jj;
+                    int s = (i - i0) * nj;
+                    for (int j = 0; j < nj; j++) {
+                        dc[ligne + j] = (float) (dc[ligne + j] + sommes[s + j]);
+                    }
+                }
+            }
+        }
+
+        if (mixte) {
+            ReserveTampons.INSTANCE.rendre(sommes);
+        }
+    }
+
+    /**
+     * Recopie contiguë du panneau B[kk..kk+nk[ [jj..jj+nj[ (nk lignes de nj éléments).
+     */
+    private static void recopierPanneau(SupermatFloat b, int kk, int nk, int jj, int nj, float[] panneau) {
+        float[] db = b.donnees;
+        if (b.isTransposee()) {
+            // Les colonnes de B sont contiguës dans le stockage
+            for (int j = 0; j < nj; j++) {
+                int debut = b.debutStockage(jj + j) + kk;
+                for (int k = 0; k < nk; k++) {
+                    panneau[k * nj + j] = db[debut + k];
+                }
+            }
+        } else {
+            for (int k = 0; k < nk; k++) {
+                System.arraycopy(db, b.debutStockage(kk + k) + jj, panneau, k * nj, nj);
+            }
+        }
+    }
+
+    /**
+     * Met à jour 4 lignes de C (float) avec un panneau de B ; oX sont les
+     * positions des lignes de A, cX celles des lignes de C.
+     */
+    private static void microNoyau4(float[] a, int o0, int o1, int o2, int o3,
+                                    float[] c, int c0, int c1, int c2, int c3,
+                                    float[] panneau, int nk, int nj) {
+        Noyaux noyaux = Noyaux.INSTANCE;
+        for (int k = 0; k < nk; k++) {
+            noyaux.axpy4(a[o0 + k], a[o1 + k], a[o2 + k], a[o3 + k], panneau, k * nj,
+                         c, c0, c1, c2, c3, nj);
+        }
+    }
+
+    /**
+     * Met à jour 4 lignes de sommes en double avec un panneau de B.
+     */
+    private static void microNoyau4(float[] a, int o0, int o1, int o2, int o3,
+                                    double[] c, int c0, int c1, int c2, int c3,
+                                    float[] panneau, int nk, int nj) {
+        Noyaux noyaux = Noyaux.INSTANCE;
+        for (int k = 0; k < nk; k++) {
+            noyaux.axpy4(a[o0 + k], a[o1 + k], a[o2 + k], a[o3 + k], panneau, k * nj,
+                         c, c0, c1, c2, c3, nj);
+        }
+    }
+}
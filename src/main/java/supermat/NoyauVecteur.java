@@ -0,0 +1,178 @@
+package supermat;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Produits matrice × vecteur et mises à jour de rang 1 (Supermat.multiplierVecteur(),
+ * multiplierVecteurTransposee(), ajouterProduitExterieur()).
+ *
+ * Les noyaux travaillent sur les lignes du stockage S : la matrice elle-même,
+ * ou sa transposée pour une vue transposee(). Ainsi A x se calcule comme
+ * S x (lignes()) si A n'est pas transposée et comme Sᵗ x (colonnes()) sinon,
+ * sans jamais lire le stockage en travers.
+ *
+ * lignes() traite 4 lignes à la fois (Noyaux.produitsScalaires4 : x lu une
+ * fois pour 4 produits scalaires) ; colonnes() ajoute 4 lignes à la fois au
+ * résultat (Noyaux.cumuler4 : y lu et écrit une fois pour 4 lignes). Les
+ * lignes d'une matrice projetée sont d'abord recopiées dans un tampon.
+ *
+ * En parallèle, chaque tâche calcule une plage distincte du résultat (lignes
+ * de y pour lignes(), colonnes de y pour colonnes(), lignes de S pour
+ * rangUn()) : aucune écriture n'est partagée et le résultat ne dépend pas du
+ * nombre de threads.
+ */
+final class NoyauVecteur {
+
+    /** Nombre d'éléments de la matrice en dessous duquel on ne parallélise pas. */
+    static final long SEUIL = 1L << 16;
+
+    private NoyauVecteur() {
+    }
+
+    /** Nombre de lignes du stockage. */
+    static int lignesStockage(Supermat a) {
+        return a.isTransposee() ? a.getNombreColonnes() : a.getNombreLignes();
+    }
+
+    /** Longueur d'une ligne du stockage. */
+    static int longueurStockage(Supermat a) {
+        return a.isTransposee() ? a.getNombreLignes() : a.getNombreColonnes();
+    }
+
+    /**
+     * y[r] = alpha * (S x)[r] + beta * y[r] pour r0 <= r < r1. Si beta vaut
+     * 0, y n'est pas lu.
+     */
+    static void lignes(Supermat a, double alpha, double[] x, double beta, double[] y, int r0, int r1) {
+        Noyaux noyaux = Noyaux.INSTANCE;
+        int n = longueurStockage(a);
+        double[] tampon = a.isProjetee() ? new double[4 * n] : null;
+        double[] d = tampon != null ? tampon : a.donnees();
+        double[] s = new double[4];
+
+        int r = r0;
+        for (; r + 3 < r1; r += 4) {
+            noyaux.produitsScalaires4(d, position(a, r, 0, n, tampon, 0), position(a, r + 1, 0, n, tampon, 1),
+                                      position(a, r + 2, 0, n, tampon, 2), position(a, r + 3, 0, n, tampon, 3),
+                                      x, 0, s, 0, n);
+            for (int k = 0; k < 4; k++) {
+                y[r + k] = beta == 0.0 ? alpha * s[k] : alpha * s[k] + beta * y[r + k];
+            }
+        }
+        for (; r < r1; r++) {
+            double p = noyaux.produitScalaire(d, position(a, r, 0, n, tampon, 0), x, 0, n);
+            y[r] = beta == 0.0 ? alpha * p : alpha * p + beta * y[r];
+        }
+    }
+
+    /**
+     * y[c] = alpha * (Sᵗ x)[c] + beta * y[c] pour c0 <= c < c1. Si beta vaut
+     * 0, y n'est pas lu.
+     */
+    static void colonnes(Supermat a, double alpha, double[] x, double beta, double[] y, int c0, int c1) {
+        Noyaux noyaux = Noyaux.INSTANCE;
+        int lignes = lignesStockage(a);
+        int n = c1 - c0;
+        double[] tampon = a.isProjetee() ? new double[4 * n] : null;
+        double[] d = tampon != null ? tampon : a.donnees();
+
+        if (beta == 0.0) {
+            noyaux.remplir(y, c0, n, 0.0);
+        } else if (beta != 1.0) {
+            noyaux.echelonner(beta, y, c0, n);
+        }
+
+        int r = 0;
+        for (; r + 3 < lignes; r += 4) {
+            noyaux.cumuler4(alpha * x[r], alpha * x[r + 1], alpha * x[r + 2], alpha * x[r + 3],
+                            d, position(a, r, c0, n, tampon, 0), position(a, r + 1, c0, n, tampon, 1),
+                            position(a, r + 2, c0, n, tampon, 2), position(a, r + 3, c0, n, tampon, 3),
+                            y, c0, n);
+        }
+        for (; r < lignes; r++) {
+            noyaux.axpy(alpha * x[r], d, position(a, r, c0, n, tampon, 0), y, c0, n);
+        }
+    }
+
+    /**
+     * S[r, :] += alpha * u[r] * v pour r0 <= r < r1 (mise à jour de rang 1).
+     */
+    static void rangUn(Supermat a, double alpha, double[] u, double[] v, int r0, int r1) {
+        Noyaux noyaux = Noyaux.INSTANCE;
+        int n = longueurStockage(a);
+
+        if (a.isProjetee()) {
+            double[] ligne = new double[n];
+            for (int r = r0; r < r1; r++) {
+                a.lireStockage(r, 0, ligne, 0, n);
+                noyaux.axpy(alpha * u[r], v, 0, ligne, 0, n);
+                a.ecrireStockage(r, 0, ligne, 0, n);
+            }
+            return;
+        }
+
+        double[] d = a.donnees();
+        for (int r = r0; r < r1; r++) {
+            noyaux.axpy(alpha * u[r], v, 0, d, a.debutStockage(r), n);
+        }
+    }
+
+    /**
+     * Position dans le tableau à lire des éléments debut..debut+n de la ligne
+     * r du stockage : dans donnees(), ou recopiés à la place k du tampon pour
+     * une matrice projetée.
+     */
+    private static int position(Supermat a, int r, int debut, int n, double[] tampon, int k) {
+        if (tampon == null) {
+            return a.debutStockage(r) + debut;
+        }
+        a.lireStockage(r, debut, tampon, k * n, n);
+        return k * n;
+    }
+
+    /** Calcul d'une plage [debut, fin[ de lignes ou de colonnes. */
+    interface Plage {
+        void calculer(int debut, int fin);
+    }
+
+    /**
+     * Calcule plage sur [0, n[ : sur le thread appelant sans pool ou si la
+     * matrice compte moins de SEUIL éléments, sinon découpée en environ
+     * quatre morceaux par thread du pool.
+     */
+    static void executer(ForkJoinPool pool, int n, long elements, Plage plage) {
+        if (pool == null || elements <= SEUIL || n <= 4) {
+            plage.calculer(0, n);
+            return;
+        }
+        int grain = Math.max(4, (n / (4 * Math.max(1, pool.getParallelism())) + 3) & ~3);
+        pool.invoke(new Tache(plage, 0, n, grain));
+    }
+
+    /** Découpe récursive d'une plage, en morceaux multiples de 4. */
+    private static final class Tache extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Plage plage;
+        private final int debut, fin, grain;
+
+        Tache(Plage plage, int debut, int fin, int grain) {
+            this.plage = plage;
+            this.debut = debut;
+            this.fin = fin;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut <= grain) {
+                plage.calculer(debut, fin);
+                return;
+            }
+            int milieu = debut + (((fin - debut) / 2 + 3) & ~3);
+            invokeAll(new Tache(plage, debut, milieu, grain), new Tache(plage, milieu, fin, grain));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package supermat;
+
+/**
+ * Jeu de noyaux de calcul sur des portions de tableaux double[].
+ *
+ * Deux implémentations : NoyauxScalaires (boucles simples, toujours disponible)
+ * et NoyauxVectoriels (API Vector de jdk.incubator.vector, FMA). La seconde est
+ * choisie au démarrage si le module est présent (--add-modules jdk.incubator.vector)
+ * et si la propriété supermat.vectoriel ne vaut pas false.
+ */
+interface Noyaux {
+
+    /** Noyaux utilisés par la bibliothèque. */
+    Noyaux INSTANCE = charger();
+
+    /** y[oy..oy+n[ += alpha * x[ox..ox+n[ */
+    void axpy(double alpha, double[] x, int ox, double[] y, int oy, int n);
+
+    /**
+     * Met à jour 4 portions de c avec la même portion de b :
+     * c[cX..cX+n[ += aX * b[ob..ob+n[ pour X = 0..3.
+     */
+    void axpy4(double a0, double a1, double a2, double a3, double[] b, int ob,
+               double[] c, int c0, int c1, int c2, int c3, int n);
+
+    /** z[oz..oz+n[ = alpha * x[ox..ox+n[ + beta * y[oy..oy+n[ */
+    void combiner(double alpha, double[] x, int ox, double beta, double[] y, int oy,
+                  double[] z, int oz, int n);
+
+    /** x[ox..ox+n[ *= alpha */
+    void echelonner(double alpha, double[] x, int ox, int n);
+
+    /** Somme des x[ox+k] * y[oy+k] pour k = 0..n-1 */
+    double produitScalaire(double[] x, int ox, double[] y, int oy, int n);
+
+    /** y[oy..oy+n[ = valeur */
+    void remplir(double[] y, int oy, int n, double valeur);
+
+    /**
+     * Produits scalaires de 4 portions de a par la même portion de x (voir
+     * NoyauVecteur) : r[or + k] = somme des a[aK + j] * x[ox + j] pour
+     * K = 0..3 et j = 0..n-1. x n'est lu qu'une fois pour les 4 produits.
+     */
+    void produitsScalaires4(double[] a, int a0, int a1, int a2, int a3, double[] x, int ox,
+                            double[] r, int or, int n);
+
+    /**
+     * y[oy..oy+n[ += x0 * a[a0..a0+n[ + x1 * a[a1..] + x2 * a[a2..] + x3 * a[a3..] :
+     * y n'est lu et écrit qu'une fois pour 4 lignes de a.
+     */
+    void cumuler4(double x0, double x1, double x2, double x3, double[] a, int a0, int a1, int a2, int a3,
+                  double[] y, int oy, int n);
+
+    /**
+     * Ligne de produits d'un lot de matrices (voir NoyauLot) : pour j < q et
+     * k < n, c[oc + j*pas + k] reçoit la somme pour r < p (p <= 4 ou p = 8) des
+     * a[oa + r*pas + k] * b[ob + (r*q + j)*pas + k], ajoutée à sa valeur
+     * précédente si cumuler vaut true.
+     */
+    void produitsLot(double[] a, int oa, double[] b, int ob, double[] c, int oc,
+                     int p, int q, int pas, boolean cumuler, int n);
+
+    /** y[oy..oy+n[ += alpha * x[ox..ox+n[ en simple précision */
+    void axpy(float alpha, float[] x, int ox, float[] y, int oy, int n);
+
+    /** axpy4() en simple précision (voir NoyauProduitFloat) */
+    void axpy4(float a0, float a1, float a2, float a3, float[] b, int ob,
+               float[] c, int c0, int c1, int c2, int c3, int n);
+
+    /**
+     * Précision mixte : y[oy..oy+n[ += alpha * x[ox..ox+n[, où les x sont des
+     * float convertis en double et la somme est gardée en double.
+     */
+    void axpy(double alpha, float[] x, int ox, double[] y, int oy, int n);
+
+    /** axpy4() en précision mixte : b en float, c en double */
+    void axpy4(double a0, double a1, double a2, double a3, float[] b, int ob,
+               double[] c, int c0, int c1, int c2, int c3, int n);
+
+    /** Nom de l'implémentation (affiché par les bancs d'essai). */
+    String nom();
+
+    private static Noyaux charger() {
+        if (!"false".equals(System.getProperty("supermat.vectoriel"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Chargement par réflexion : la classe ne doit pas être résolue sans le module
+                return (Noyaux) Class.forName("supermat.NoyauxVectoriels")
+                                     .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Repli sur les noyaux scalaires
+            }
+        }
+        return new NoyauxScalaires();
+    }
+}
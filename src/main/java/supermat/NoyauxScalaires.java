@@ -0,0 +1,151 @@
+package supermat;
+
+import java.util.Arrays;
+
+/**
+ * Noyaux scalaires : boucles simples que le JIT peut vectoriser lui-même.
+ */
+final class NoyauxScalaires implements Noyaux {
+
+    @Override
+    public void axpy(double alpha, double[] x, int ox, double[] y, int oy, int n) {
+        for (int k = 0; k < n; k++) {
+            y[oy + k] += alpha * x[ox + k];
+        }
+    }
+
+    @Override
+    public void axpy4(double a0, double a1, double a2, double a3, double[] b, int ob,
+                      double[] c, int c0, int c1, int c2, int c3, int n) {
+        for (int j = 0; j < n; j++) {
+            double bj = b[ob + j];
+            c[c0 + j] += a0 * bj;
+            c[c1 + j] += a1 * bj;
+            c[c2 + j] += a2 * bj;
+            c[c3 + j] += a3 * bj;
+        }
+    }
+
+    @Override
+    public void combiner(double alpha, double[] x, int ox, double beta, double[] y, int oy,
+                         double[] z, int oz, int n) {
+        for (int k = 0; k < n; k++) {
+            z[oz + k] = alpha * x[ox + k] + beta * y[oy + k];
+        }
+    }
+
+    @Override
+    public void echelonner(double alpha, double[] x, int ox, int n) {
+        for (int k = 0; k < n; k++) {
+            x[ox + k] *= alpha;
+        }
+    }
+
+    @Override
+    public double produitScalaire(double[] x, int ox, double[] y, int oy, int n) {
+        // Quatre accumulateurs pour casser la dépendance entre additions
+        double s0 = 0.0, s1 = 0.0, s2 = 0.0, s3 = 0.0;
+        int k = 0;
+        for (; k + 3 < n; k += 4) {
+            s0 += x[ox + k] * y[oy + k];
+            s1 += x[ox + k + 1] * y[oy + k + 1];
+            s2 += x[ox + k + 2] * y[oy + k + 2];
+            s3 += x[ox + k + 3] * y[oy + k + 3];
+        }
+        for (; k < n; k++) {
+            s0 += x[ox + k] * y[oy + k];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public void remplir(double[] y, int oy, int n, double valeur) {
+        Arrays.fill(y, oy, oy + n, valeur);
+    }
+
+    @Override
+    public void produitsScalaires4(double[] a, int a0, int a1, int a2, int a3, double[] x, int ox,
+                                   double[] r, int or, int n) {
+        double s0 = 0.0, s1 = 0.0, s2 = 0.0, s3 = 0.0;
+        for (int j = 0; j < n; j++) {
+            double xj = x[ox + j];
+            s0 += a[a0 + j] * xj;
+            s1 += a[a1 + j] * xj;
+            s2 += a[a2 + j] * xj;
+            s3 += a[a3 + j] * xj;
+        }
+        r[or] = s0;
+        r[or + 1] = s1;
+        r[or + 2] = s2;
+        r[or + 3] = s3;
+    }
+
+    @Override
+    public void cumuler4(double x0, double x1, double x2, double x3, double[] a, int a0, int a1, int a2, int a3,
+                         double[] y, int oy, int n) {
+        for (int j = 0; j < n; j++) {
+            y[oy + j] += x0 * a[a0 + j] + x1 * a[a1 + j] + x2 * a[a2 + j] + x3 * a[a3 + j];
+        }
+    }
+
+    @Override
+    public void produitsLot(double[] a, int oa, double[] b, int ob, double[] c, int oc,
+                            int p, int q, int pas, boolean cumuler, int n) {
+        for (int j = 0; j < q; j++) {
+            int oj = oc + j * pas;
+            if (!cumuler) {
+                Arrays.fill(c, oj, oj + n, 0.0);
+            }
+            for (int r = 0; r < p; r++) {
+                int ar = oa + r * pas;
+                int br = ob + (r * q + j) * pas;
+                for (int k = 0; k < n; k++) {
+                    c[oj + k] += a[ar + k] * b[br + k];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void axpy(float alpha, float[] x, int ox, float[] y, int oy, int n) {
+        for (int k = 0; k < n; k++) {
+            y[oy + k] += alpha * x[ox + k];
+        }
+    }
+
+    @Override
+    public void axpy4(float a0, float a1, float a2, float a3, float[] b, int ob,
+                      float[] c, int c0, int c1, int c2, int c3, int n) {
+        for (int j = 0; j < n; j++) {
+            float bj = b[ob + j];
+            c[c0 + j] += a0 * bj;
+            c[c1 + j] += a1 * bj;
+            c[c2 + j] += a2 * bj;
+            c[c3 + j] += a3 * bj;
+        }
+    }
+
+    @Override
+    public void axpy(double alpha, float[] x, int ox, double[] y, int oy, int n) {
+        for (int k = 0; k < n; k++) {
+            y[oy + k] += alpha * x[ox + k];
+        }
+    }
+
+    @Override
+    public void axpy4(double a0, double a1, double a2, double a3, float[] b, int ob,
+                      double[] c, int c0, int c1, int c2, int c3, int n) {
+        for (int j = 0; j < n; j++) {
+            double bj = b[ob + j];
+            c[c0 + j] += a0 * bj;
+            c[c1 + j] += a1 * bj;
+            c[c2 + j] += a2 * bj;
+            c[c3 + j] += a3 * bj;
+        }
+    }
+
+    @Override
+    public String nom() {
+        return "scalaire";
+    }
+}
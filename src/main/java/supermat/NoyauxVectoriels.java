@@ -0,0 +1,408 @@
+package supermat;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Noyaux vectoriels (API Vector, module jdk.incubator.vector).
+ * La largeur est celle préférée par la machine (4 doubles en AVX2, 8 en AVX-512) ;
+ * les éléments restants sont traités par une boucle scalaire. Les noyaux
+ * float traitent deux fois plus d'éléments par vecteur ; ceux en précision
+ * mixte chargent L float (un demi-vecteur) et les convertissent en L double.
+ * Ne pas référencer directement : chargée par réflexion dans Noyaux.
+ */
+final class NoyauxVectoriels implements Noyaux {
+
+    private static final VectorSpecies<Double> ESPECE = DoubleVector.SPECIES_PREFERRED;
+    private static final int L = ESPECE.length();
+
+    private static final VectorSpecies<Float> ESPECE_FLOAT = FloatVector.SPECIES_PREFERRED;
+    private static final int LF = ESPECE_FLOAT.length();
+
+    /** L float : convertis, ils remplissent exactement un vecteur de double. */
+    private static final VectorSpecies<Float> ESPECE_DEMI =
+            VectorSpecies.of(float.class, VectorShape.forBitSize(ESPECE.vectorBitSize() / 2));
+
+    @Override
+    public void axpy(double alpha, double[] x, int ox, double[] y, int oy, int n) {
+        DoubleVector va = DoubleVector.broadcast(ESPECE, alpha);
+        int k = 0;
+        for (int fin = ESPECE.loopBound(n); k < fin; k += L) {
+            DoubleVector vx = DoubleVector.fromArray(ESPECE, x, ox + k);
+            DoubleVector vy = DoubleVector.fromArray(ESPECE, y, oy + k);
+            vx.fma(va, vy).intoArray(y, oy + k);
+        }
+        for (; k < n; k++) {
+            y[oy + k] += alpha * x[ox + k];
+        }
+    }
+
+    @Override
+    public void axpy4(double a0, double a1, double a2, double a3, double[] b, int ob,
+                      double[] c, int c0, int c1, int c2, int c3, int n) {
+        DoubleVector v0 = DoubleVector.broadcast(ESPECE, a0);
+        DoubleVector v1 = DoubleVector.broadcast(ESPECE, a1);
+        DoubleVector v2 = DoubleVector.broadcast(ESPECE, a2);
+        DoubleVector v3 = DoubleVector.broadcast(ESPECE, a3);
+        int j = 0;
+        for (int fin = ESPECE.loopBound(n); j < fin; j += L) {
+            DoubleVector vb = DoubleVector.fromArray(ESPECE, b, ob + j);
+            vb.fma(v0, DoubleVector.fromArray(ESPECE, c, c0 + j)).intoArray(c, c0 + j);
+            vb.fma(v1, DoubleVector.fromArray(ESPECE, c, c1 + j)).intoArray(c, c1 + j);
+            vb.fma(v2, DoubleVector.fromArray(ESPECE, c, c2 + j)).intoArray(c, c2 + j);
+            vb.fma(v3, DoubleVector.fromArray(ESPECE, c, c3 + j)).intoArray(c, c3 + j);
+        }
+        for (; j < n; j++) {
+            double bj = b[ob + j];
+            c[c0 + j] += a0 * bj;
+            c[c1 + j] += a1 * bj;
+            c[c2 + j] += a2 * bj;
+            c[c3 + j] += a3 * bj;
+        }
+    }
+
+    @Override
+    public void combiner(double alpha, double[] x, int ox, double beta, double[] y, int oy,
+                         double[] z, int oz, int n) {
+        DoubleVector va = DoubleVector.broadcast(ESPECE, alpha);
+        DoubleVector vb = DoubleVector.broadcast(ESPECE, beta);
+        int k = 0;
+        for (int fin = ESPECE.loopBound(n); k < fin; k += L) {
+            DoubleVector vx = DoubleVector.fromArray(ESPECE, x, ox + k);
+            DoubleVector vy = DoubleVector.fromArray(ESPECE, y, oy + k);
+            vx.fma(va, vy.mul(vb)).intoArray(z, oz + k);
+        }
+        for (; k < n; k++) {
+            z[oz + k] = alpha * x[ox + k] + beta * y[oy + k];
+        }
+    }
+
+    @Override
+    public void echelonner(double alpha, double[] x, int ox, int n) {
+        int k = 0;
+        for (int fin = ESPECE.loopBound(n); k < fin; k += L) {
+            DoubleVector.fromArray(ESPECE, x, ox + k).mul(alpha).intoArray(x, ox + k);
+        }
+        for (; k < n; k++) {
+            x[ox + k] *= alpha;
+        }
+    }
+
+    @Override
+    public double produitScalaire(double[] x, int ox, double[] y, int oy, int n) {
+        DoubleVector somme = DoubleVector.zero(ESPECE);
+        int k = 0;
+        for (int fin = ESPECE.loopBound(n); k < fin; k += L) {
+            DoubleVector vx = DoubleVector.fromArray(ESPECE, x, ox + k);
+            DoubleVector vy = DoubleVector.fromArray(ESPECE, y, oy + k);
+            somme = vx.fma(vy, somme);
+        }
+        double resultat = somme.reduceLanes(VectorOperators.ADD);
+        for (; k < n; k++) {
+            resultat += x[ox + k] * y[oy + k];
+        }
+        return resultat;
+    }
+
+    @Override
+    public void remplir(double[] y, int oy, int n, double valeur) {
+        DoubleVector vv = DoubleVector.broadcast(ESPECE, valeur);
+        int k = 0;
+        for (int fin = ESPECE.loopBound(n); k < fin; k += L) {
+            vv.intoArray(y, oy + k);
+        }
+        for (; k < n; k++) {
+            y[oy + k] = valeur;
+        }
+    }
+
+    @Override
+    public void produitsScalaires4(double[] a, int a0, int a1, int a2, int a3, double[] x, int ox,
+                                   double[] r, int or, int n) {
+        DoubleVector v0 = DoubleVector.zero(ESPECE);
+        DoubleVector v1 = DoubleVector.zero(ESPECE);
+        DoubleVector v2 = DoubleVector.zero(ESPECE);
+        DoubleVector v3 = DoubleVector.zero(ESPECE);
+        int j = 0;
+        for (int fin = ESPECE.loopBound(n); j < fin; j += L) {
+            DoubleVector vx = DoubleVector.fromArray(ESPECE, x, ox + j);
+            v0 = DoubleVector.fromArray(ESPECE, a, a0 + j).fma(vx, v0);
+            v1 = DoubleVector.fromArray(ESPECE, a, a1 + j).fma(vx, v1);
+            v2 = DoubleVector.fromArray(ESPECE, a, a2 + j).fma(vx, v2);
+            v3 = DoubleVector.fromArray(ESPECE, a, a3 + j).fma(vx, v3);
+        }
+        double s0 = v0.reduceLanes(VectorOperators.ADD);
+        double s1 = v1.reduceLanes(VectorOperators.ADD);
+        double s2 = v2.reduceLanes(VectorOperators.ADD);
+        double s3 = v3.reduceLanes(VectorOperators.ADD);
+        for (; j < n; j++) {
+            double xj = x[ox + j];
+            s0 += a[a0 + j] * xj;
+            s1 += a[a1 + j] * xj;
+            s2 += a[a2 + j] * xj;
+            s3 += a[a3 + j] * xj;
+        }
+        r[or] = s0;
+        r[or + 1] = s1;
+        r[or + 2] = s2;
+        r[or + 3] = s3;
+    }
+
+    @Override
+    public void cumuler4(double x0, double x1, double x2, double x3, double[] a, int a0, int a1, int a2, int a3,
+                         double[] y, int oy, int n) {
+        DoubleVector v0 = DoubleVector.broadcast(ESPECE, x0);
+        DoubleVector v1 = DoubleVector.broadcast(ESPECE, x1);
+        DoubleVector v2 = DoubleVector.broadcast(ESPECE, x2);
+        DoubleVector v3 = DoubleVector.broadcast(ESPECE, x3);
+        int j = 0;
+        for (int fin = ESPECE.loopBound(n); j < fin; j += L) {
+            DoubleVector vy = DoubleVector.fromArray(ESPECE, y, oy + j);
+            vy = DoubleVector.fromArray(ESPECE, a, a0 + j).fma(v0, vy);
+            vy = DoubleVector.fromArray(ESPECE, a, a1 + j).fma(v1, vy);
+            vy = DoubleVector.fromArray(ESPECE, a, a2 + j).fma(v2, vy);
+            vy = DoubleVector.fromArray(ESPECE, a, a3 + j).fma(v3, vy);
+            vy.intoArray(y, oy + j);
+        }
+        for (; j < n; j++) {
+            y[oy + j] += x0 * a[a0 + j] + x1 * a[a1 + j] + x2 * a[a2 + j] + x3 * a[a3 + j];
+        }
+    }
+
+    @Override
+    public void produitsLot(double[] a, int oa, double[] b, int ob, double[] c, int oc,
+                            int p, int q, int pas, boolean cumuler, int n) {
+        // Une version déroulée par profondeur : la ligne de A reste dans les registres
+        int k;
+        switch (p) {
+            case 1:
+                k = produitsLot1(a, oa, b, ob, c, oc, q, pas, cumuler, n);
+                break;
+            case 2:
+                k = produitsLot2(a, oa, b, ob, c, oc, q, pas, cumuler, n);
+                break;
+            case 3:
+                k = produitsLot3(a, oa, b, ob, c, oc, q, pas, cumuler, n);
+                break;
+            case 4:
+                k = produitsLot4(a, oa, b, ob, c, oc, q, pas, cumuler, n);
+                break;
+            case 8:
+                k = produitsLot8(a, oa, b, ob, c, oc, q, pas, cumuler, n);
+                break;
+            default:
+                k = 0;
+                break;
+        }
+        for (; k < n; k++) {
+            for (int j = 0; j < q; j++) {
+                int oj = oc + j * pas + k;
+                double s = cumuler ? c[oj] : 0.0;
+                for (int r = 0; r < p; r++) {
+                    s += a[oa + r * pas + k] * b[ob + (r * q + j) * pas + k];
+                }
+                c[oj] = s;
+            }
+        }
+    }
+
+    private static DoubleVector depart(double[] c, int oj, boolean cumuler) {
+        return cumuler ? DoubleVector.fromArray(ESPECE, c, oj) : DoubleVector.zero(ESPECE);
+    }
+
+    private static int produitsLot1(double[] a, int oa, double[] b, int ob, double[] c, int oc,
+                                    int q, int pas, boolean cumuler, int n) {
+        int k = 0;
+        for (int fin = ESPECE.loopBound(n); k < fin; k += L) {
+            DoubleVector a0 = DoubleVector.fromArray(ESPECE, a, oa + k);
+            for (int j = 0; j < q; j++) {
+                int oj = oc + j * pas + k;
+                int bj = ob + j * pas + k;
+                a0.fma(DoubleVector.fromArray(ESPECE, b, bj), depart(c, oj, cumuler)).intoArray(c, oj);
+            }
+        }
+        return k;
+    }
+
+    private static int produitsLot2(double[] a, int oa, double[] b, int ob, double[] c, int oc,
+                                    int q, int pas, boolean cumuler, int n) {
+        int ligneB = q * pas;
+        int k = 0;
+        for (int fin = ESPECE.loopBound(n); k < fin; k += L) {
+            DoubleVector a0 = DoubleVector.fromArray(ESPECE, a, oa + k);
+            DoubleVector a1 = DoubleVector.fromArray(ESPECE, a, oa + pas + k);
+            for (int j = 0; j < q; j++) {
+                int oj = oc + j * pas + k;
+                int bj = ob + j * pas + k;
+                DoubleVector s = a0.fma(DoubleVector.fromArray(ESPECE, b, bj), depart(c, oj, cumuler));
+                s = a1.fma(DoubleVector.fromArray(ESPECE, b, bj + ligneB), s);
+                s.intoArray(c, oj);
+            }
+        }
+        return k;
+    }
+
+    private static int produitsLot3(double[] a, int oa, double[] b, int ob, double[] c, int oc,
+                                    int q, int pas, boolean cumuler, int n) {
+        int ligneB = q * pas;
+        int k = 0;
+        for (int fin = ESPECE.loopBound(n); k < fin; k += L) {
+            DoubleVector a0 = DoubleVector.fromArray(ESPECE, a, oa + k);
+            DoubleVector a1 = DoubleVector.fromArray(ESPECE, a, oa + pas + k);
+            DoubleVector a2 = DoubleVector.fromArray(ESPECE, a, oa + 2 * pas + k);
+            for (int j = 0; j < q; j++) {
+                int oj = oc + j * pas + k;
+                int bj = ob + j * pas + k;
+                DoubleVector s = a0.fma(DoubleVector.fromArray(ESPECE, b, bj), depart(c, oj, cumuler));
+                s = a1.fma(DoubleVector.fromArray(ESPECE, b, bj + ligneB), s);
+                s = a2.fma(DoubleVector.fromArray(ESPECE, b, bj + 2 * ligneB), s);
+                s.intoArray(c, oj);
+            }
+        }
+        return k;
+    }
+
+    private static int produitsLot4(double[] a, int oa, double[] b, int ob, double[] c, int oc,
+                                    int q, int pas, boolean cumuler, int n) {
+        int ligneB = q * pas;
+        int k = 0;
+        for (int fin = ESPECE.loopBound(n); k < fin; k += L) {
+            DoubleVector a0 = DoubleVector.fromArray(ESPECE, a, oa + k);
+            DoubleVector a1 = DoubleVector.fromArray(ESPECE, a, oa + pas + k);
+            DoubleVector a2 = DoubleVector.fromArray(ESPECE, a, oa + 2 * pas + k);
+            DoubleVector a3 = DoubleVector.fromArray(ESPECE, a, oa + 3 * pas + k);
+            for (int j = 0; j < q; j++) {
+                int oj = oc + j * pas + k;
+                int bj = ob + j * pas + k;
+                DoubleVector s = a0.fma(DoubleVector.fromArray(ESPECE, b, bj), depart(c, oj, cumuler));
+                s = a1.fma(DoubleVector.fromArray(ESPECE, b, bj + ligneB), s);
+                s = a2.fma(DoubleVector.fromArray(ESPECE, b, bj + 2 * ligneB), s);
+                s = a3.fma(DoubleVector.fromArray(ESPECE, b, bj + 3 * ligneB), s);
+                s.intoArray(c, oj);
+            }
+        }
+        return k;
+    }
+
+    private static int produitsLot8(double[] a, int oa, double[] b, int ob, double[] c, int oc,
+                                    int q, int pas, boolean cumuler, int n) {
+        int ligneB = q * pas;
+        int k = 0;
+        for (int fin = ESPECE.loopBound(n); k < fin; k += L) {
+            DoubleVector a0 = DoubleVector.fromArray(ESPECE, a, oa + k);
+            DoubleVector a1 = DoubleVector.fromArray(ESPECE, a, oa + pas + k);
+            DoubleVector a2 = DoubleVector.fromArray(ESPECE, a, oa + 2 * pas + k);
+            DoubleVector a3 = DoubleVector.fromArray(ESPECE, a, oa + 3 * pas + k);
+            DoubleVector a4 = DoubleVector.fromArray(ESPECE, a, oa + 4 * pas + k);
+            DoubleVector a5 = DoubleVector.fromArray(ESPECE, a, oa + 5 * pas + k);
+            DoubleVector a6 = DoubleVector.fromArray(ESPECE, a, oa + 6 * pas + k);
+            DoubleVector a7 = DoubleVector.fromArray(ESPECE, a, oa + 7 * pas + k);
+            for (int j = 0; j < q; j++) {
+                int oj = oc + j * pas + k;
+                int bj = ob + j * pas + k;
+                DoubleVector s = a0.fma(DoubleVector.fromArray(ESPECE, b, bj), depart(c, oj, cumuler));
+                s = a1.fma(DoubleVector.fromArray(ESPECE, b, bj + ligneB), s);
+                s = a2.fma(DoubleVector.fromArray(ESPECE, b, bj + 2 * ligneB), s);
+                s = a3.fma(DoubleVector.fromArray(ESPECE, b, bj + 3 * ligneB), s);
+                s = a4.fma(DoubleVector.fromArray(ESPECE, b, bj + 4 * ligneB), s);
+                s = a5.fma(DoubleVector.fromArray(ESPECE, b, bj + 5 * ligneB), s);
+                s = a6.fma(DoubleVector.fromArray(ESPECE, b, bj + 6 * ligneB), s);
+                s = a7.fma(DoubleVector.fromArray(ESPECE, b, bj + 7 * ligneB), s);
+                s.intoArray(c, oj);
+            }
+        }
+        return k;
+    }
+
+    @Override
+    public void axpy(float alpha, float[] x, int ox, float[] y, int oy, int n) {
+        FloatVector va = FloatVector.broadcast(ESPECE_FLOAT, alpha);
+        int k = 0;
+        for (int fin = ESPECE_FLOAT.loopBound(n); k < fin; k += LF) {
+            FloatVector vx = FloatVector.fromArray(ESPECE_FLOAT, x, ox + k);
+            FloatVector vy = FloatVector.fromArray(ESPECE_FLOAT, y, oy + k);
+            vx.fma(va, vy).intoArray(y, oy + k);
+        }
+        for (; k < n; k++) {
+            y[oy + k] += alpha * x[ox + k];
+        }
+    }
+
+    @Override
+    public void axpy4(float a0, float a1, float a2, float a3, float[] b, int ob,
+                      float[] c, int c0, int c1, int c2, int c3, int n) {
+        FloatVector v0 = FloatVector.broadcast(ESPECE_FLOAT, a0);
+        FloatVector v1 = FloatVector.broadcast(ESPECE_FLOAT, a1);
+        FloatVector v2 = FloatVector.broadcast(ESPECE_FLOAT, a2);
+        FloatVector v3 = FloatVector.broadcast(ESPECE_FLOAT, a3);
+        int j = 0;
+        for (int fin = ESPECE_FLOAT.loopBound(n); j < fin; j += LF) {
+            FloatVector vb = FloatVector.fromArray(ESPECE_FLOAT, b, ob + j);
+            vb.fma(v0, FloatVector.fromArray(ESPECE_FLOAT, c, c0 + j)).intoArray(c, c0 + j);
+            vb.fma(v1, FloatVector.fromArray(ESPECE_FLOAT, c, c1 + j)).intoArray(c, c1 + j);
+            vb.fma(v2, FloatVector.fromArray(ESPECE_FLOAT, c, c2 + j)).intoArray(c, c2 + j);
+            vb.fma(v3, FloatVector.fromArray(ESPECE_FLOAT, c, c3 + j)).intoArray(c, c3 + j);
+        }
+        for (; j < n; j++) {
+            float bj = b[ob + j];
+            c[c0 + j] += a0 * bj;
+            c[c1 + j] += a1 * bj;
+            c[c2 + j] += a2 * bj;
+            c[c3 + j] += a3 * bj;
+        }
+    }
+
+    @Override
+    public void axpy(double alpha, float[] x, int ox, double[] y, int oy, int n) {
+        DoubleVector va = DoubleVector.broadcast(ESPECE, alpha);
+        int k = 0;
+        for (int fin = ESPECE.loopBound(n); k < fin; k += L) {
+            DoubleVector vx = versDouble(x, ox + k);
+            DoubleVector vy = DoubleVector.fromArray(ESPECE, y, oy + k);
+            vx.fma(va, vy).intoArray(y, oy + k);
+        }
+        for (; k < n; k++) {
+            y[oy + k] += alpha * x[ox + k];
+        }
+    }
+
+    @Override
+    public void axpy4(double a0, double a1, double a2, double a3, float[] b, int ob,
+                      double[] c, int c0, int c1, int c2, int c3, int n) {
+        DoubleVector v0 = DoubleVector.broadcast(ESPECE, a0);
+        DoubleVector v1 = DoubleVector.broadcast(ESPECE, a1);
+        DoubleVector v2 = DoubleVector.broadcast(ESPECE, a2);
+        DoubleVector v3 = DoubleVector.broadcast(ESPECE, a3);
+        int j = 0;
+        for (int fin = ESPECE.loopBound(n); j < fin; j += L) {
+            DoubleVector vb = versDouble(b, ob + j);
+            vb.fma(v0, DoubleVector.fromArray(ESPECE, c, c0 + j)).intoArray(c, c0 + j);
+            vb.fma(v1, DoubleVector.fromArray(ESPECE, c, c1 + j)).intoArray(c, c1 + j);
+            vb.fma(v2, DoubleVector.fromArray(ESPECE, c, c2 + j)).intoArray(c, c2 + j);
+            vb.fma(v3, DoubleVector.fromArray(ESPECE, c, c3 + j)).intoArray(c, c3 + j);
+        }
+        for (; j < n; j++) {
+            double bj = b[ob + j];
+            c[c0 + j] += a0 * bj;
+            c[c1 + j] += a1 * bj;
+            c[c2 + j] += a2 * bj;
+            c[c3 + j] += a3 * bj;
+        }
+    }
+
+    /**
+     * Charge L float à partir de x[o] et les convertit en un vecteur de double.
+     */
+    private static DoubleVector versDouble(float[] x, int o) {
+        return (DoubleVector) FloatVector.fromArray(ESPECE_DEMI, x, o)
+                                         .convertShape(VectorOperators.F2D, ESPECE, 0);
+    }
+
+    @Override
+    public String nom() {
+        return "vectoriel (" + L + " x double, " + LF + " x float)";
+    }
+}
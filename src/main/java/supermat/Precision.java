@@ -0,0 +1,30 @@
+package supermat;
+
+/**
+ * Précision des éléments d'une matrice ou des sommes d'un produit.
+ *
+ * Supermat stocke des double, SupermatFloat des float ; pour un produit de
+ * SupermatFloat, la précision choisit l'accumulation (voir
+ * SupermatFloat.produit(SupermatFloat, SupermatFloat, Precision)).
+ */
+public enum Precision {
+
+    /** float : 4 octets par élément, deux fois plus d'éléments par vecteur. */
+    SIMPLE(Float.BYTES),
+
+    /** double : 8 octets par élément. */
+    DOUBLE(Double.BYTES);
+
+    private final int octets;
+
+    Precision(int octets) {
+        this.octets = octets;
+    }
+
+    /**
+     * Nombre d'octets d'un élément.
+     */
+    public int getOctets() {
+        return octets;
+    }
+}
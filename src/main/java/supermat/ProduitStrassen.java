@@ -0,0 +1,151 @@
+package supermat;
+
+/**
+ * Produit de Strassen-Winograd utilisé par Supermat.produitStrassen().
+ *
+ * A, B et C sont coupées en quadrants (des vues sousMatrice(), sans copie) et
+ * le produit est obtenu avec 7 produits de quadrants au lieu de 8, plus 15
+ * additions : O(n^2.81) au lieu de O(n^3). La récursion s'arrête dès qu'une
+ * dimension passe sous le seuil ; NoyauProduit prend alors le relais. Une
+ * dimension impaire est ramenée à la dimension paire inférieure, et la ligne
+ * ou colonne restante (« pelure ») est calculée à part par NoyauProduit.
+ *
+ * Les produits intermédiaires sont rangés dans les quadrants de C et dans
+ * quatre matrices temporaires par niveau (S et T pour les sommes de
+ * quadrants de A et de B, P et Q pour les produits), selon l'ordre de
+ * Winograd :
+ * <pre>
+ * M1 = A11 B11           M5 = (A21 + A22)(B12 - B11)
+ * M2 = A12 B21           M6 = (A21 + A22 - A11)(B22 - B12 + B11)
+ * M3 = (A12 - A21 - A22 + A11) B22
+ * M4 = A22 (B22 - B12 + B11 - B21)
+ * M7 = (A11 - A21)(B22 - B12)
+ * C11 = M1 + M2          C12 = M1 + M6 + M5 + M3
+ * C21 = M1 + M6 + M7 - M4    C22 = M1 + M6 + M7 + M5
+ * </pre>
+ */
+final class ProduitStrassen {
+
+    /** Seuil par défaut : en dessous, le produit par blocs est plus rapide. */
+    static final int SEUIL_DEFAUT = 256;
+
+    private ProduitStrassen() {
+    }
+
+    /**
+     * Calcule C = A × B (C est écrasée). A et B doivent être des matrices du
+     * tas non transposées (leurs lignes peuvent être permutées), C aussi.
+     */
+    static void multiplier(Supermat a, Supermat b, Supermat c, int seuil) {
+        int m = a.getNombreLignes();
+        int k = a.getNombreColonnes();
+        int n = b.getNombreColonnes();
+
+        if (m <= seuil || k <= seuil || n <= seuil) {
+            c.remplir(0.0);
+            NoyauProduit.multiplier(a, b, c, 0, m, 0, n);
+            return;
+        }
+
+        // Parties paires traitées par Strassen, pelures calculées ensuite
+        int m2 = m & ~1;
+        int k2 = k & ~1;
+        int n2 = n & ~1;
+        Supermat ap = a.sousMatrice(0, m2 - 1, 0, k2 - 1);
+        Supermat bp = b.sousMatrice(0, k2 - 1, 0, n2 - 1);
+        Supermat cp = c.sousMatrice(0, m2 - 1, 0, n2 - 1);
+
+        winograd(ap, bp, cp, seuil);
+
+        if (k2 < k) {
+            // Dernière colonne de A × dernière ligne de B (mise à jour de rang 1)
+            NoyauProduit.multiplier(a.sousMatrice(0, m2 - 1, k - 1, k - 1),
+                                    b.sousMatrice(k - 1, k - 1, 0, n2 - 1), cp, 0, m2, 0, n2);
+        }
+        if (n2 < n) {
+            Supermat derniereColonne = c.sousMatrice(0, m - 1, n - 1, n - 1);
+            derniereColonne.remplir(0.0);
+            NoyauProduit.multiplier(a, b.sousMatrice(0, k - 1, n - 1, n - 1), derniereColonne, 0, m, 0, 1);
+        }
+        if (m2 < m) {
+            Supermat derniereLigne = c.sousMatrice(m - 1, m - 1, 0, n2 - 1);
+            derniereLigne.remplir(0.0);
+            NoyauProduit.multiplier(a.sousMatrice(m - 1, m - 1, 0, k - 1), b.sousMatrice(0, k - 1, 0, n2 - 1),
+                                    derniereLigne, 0, 1, 0, n2);
+        }
+    }
+
+    /**
+     * Un niveau de Strassen-Winograd sur des dimensions paires.
+     */
+    private static void winograd(Supermat a, Supermat b, Supermat c, int seuil) {
+        int m = a.getNombreLignes() / 2;
+        int k = a.getNombreColonnes() / 2;
+        int n = b.getNombreColonnes() / 2;
+
+        Supermat a11 = a.sousMatrice(0, m - 1, 0, k - 1);
+        Supermat a12 = a.sousMatrice(0, m - 1, k, 2 * k - 1);
+        Supermat a21 = a.sousMatrice(m, 2 * m - 1, 0, k - 1);
+        Supermat a22 = a.sousMatrice(m, 2 * m - 1, k, 2 * k - 1);
+        Supermat b11 = b.sousMatrice(0, k - 1, 0, n - 1);
+        Supermat b12 = b.sousMatrice(0, k - 1, n, 2 * n - 1);
+        Supermat b21 = b.sousMatrice(k, 2 * k - 1, 0, n - 1);
+        Supermat b22 = b.sousMatrice(k, 2 * k - 1, n, 2 * n - 1);
+        Supermat c11 = c.sousMatrice(0, m - 1, 0, n - 1);
+        Supermat c12 = c.sousMatrice(0, m - 1, n, 2 * n - 1);
+        Supermat c21 = c.sousMatrice(m, 2 * m - 1, 0, n - 1);
+        Supermat c22 = c.sousMatrice(m, 2 * m - 1, n, 2 * n - 1);
+
+        Supermat s = new Supermat(m, k);
+        Supermat t = new Supermat(k, n);
+        Supermat p = new Supermat(m, n);
+        Supermat q = new Supermat(m, n);
+
+        multiplier(a11, b11, p, seuil);             // P = M1
+        multiplier(a12, b21, q, seuil);             // Q = M2
+        combiner(p, 1.0, q, c11);                   // C11 = M1 + M2
+
+        combiner(a11, -1.0, a21, s);                // S3 = A11 - A21
+        combiner(b22, -1.0, b12, t);                // T3 = B22 - B12
+        multiplier(s, t, q, seuil);                 // Q = M7
+
+        combiner(a21, 1.0, a22, s);                 // S1 = A21 + A22
+        combiner(b12, -1.0, b11, t);                // T1 = B12 - B11
+        multiplier(s, t, c22, seuil);               // C22 = M5
+
+        combiner(s, -1.0, a11, s);                  // S2 = S1 - A11
+        combiner(b22, -1.0, t, t);                  // T2 = B22 - T1
+        multiplier(s, t, c12, seuil);               // C12 = M6
+
+        combiner(p, 1.0, c12, p);                   // P = U2 = M1 + M6
+        combiner(p, 1.0, q, q);                     // Q = U3 = U2 + M7
+        combiner(p, 1.0, c22, p);                   // P = U4 = U2 + M5
+        combiner(q, 1.0, c22, c22);                 // C22 = U7 = U3 + M5
+
+        combiner(a12, -1.0, s, s);                  // S4 = A12 - S2
+        multiplier(s, b22, c12, seuil);             // C12 = M3
+        combiner(p, 1.0, c12, c12);                 // C12 = U5 = U4 + M3
+
+        combiner(t, -1.0, b21, t);                  // T4 = T2 - B21
+        multiplier(a22, t, p, seuil);               // P = M4
+        combiner(q, -1.0, p, c21);                  // C21 = U6 = U3 - M4
+
+        // Temporaires rendus à la réserve pour le niveau suivant ou les appels suivants
+        s.liberer();
+        t.liberer();
+        p.liberer();
+        q.liberer();
+    }
+
+    /**
+     * z = x + beta * y, ligne par ligne ; z peut être x ou y.
+     */
+    private static void combiner(Supermat x, double beta, Supermat y, Supermat z) {
+        Noyaux noyaux = Noyaux.INSTANCE;
+        int nc = z.getNombreColonnes();
+        for (int i = 0; i < z.getNombreLignes(); i++) {
+            noyaux.combiner(1.0, x.donnees(), x.debutLigne(i), beta, y.donnees(), y.debutLigne(i),
+                            z.donnees(), z.debutLigne(i), nc);
+        }
+    }
+}
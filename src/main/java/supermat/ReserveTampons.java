@@ -0,0 +1,162 @@
+package supermat;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Réserve des tableaux de données des supermatrices.
+ *
+ * new Supermat(nl, nc) loue son tableau ici et recupererSupermat() le rend :
+ * un programme qui alloue et libère sans cesse des matrices de mêmes tailles
+ * (produits en boucle, temporaires de Strassen) réutilise alors les mêmes
+ * tableaux au lieu de solliciter le ramasse-miettes.
+ *
+ * Les tailles sont regroupées en classes, CLASSES_PAR_OCTAVE par puissance de
+ * deux (une matrice occupe au plus 12,5 % de place en trop). Chaque thread
+ * garde quelques tableaux de taille moyenne sans synchronisation ; les autres
+ * vont dans une réserve partagée par classe, bornée à supermat.reserve.mo
+ * mégaoctets (256 par défaut, 0 désactive la réserve). Les tableaux de moins
+ * de TAILLE_MIN éléments, peu coûteux à allouer, ne sont pas réservés.
+ */
+final class ReserveTampons {
+
+    static final int TAILLE_MIN = 1024;
+    static final int CLASSES_PAR_OCTAVE = 8;
+
+    /** Au-delà (2 Go), les tableaux sont alloués à la taille exacte et jamais gardés. */
+    static final int TAILLE_MAX = 1 << 28;
+
+    /** Taille maximale des tableaux gardés par un thread, et octets gardés par thread. */
+    static final int TAILLE_MAX_LOCALE = 1 << 17;
+    static final long OCTETS_LOCAUX = 4L << 20;
+
+    private static final int NOMBRE_CLASSES = indice(TAILLE_MAX) + 1;
+
+    static final ReserveTampons INSTANCE = new ReserveTampons(
+            Long.getLong("supermat.reserve.mo", 256L) << 20);
+
+    private final long capacite;
+    private final AtomicLong octetsPartages = new AtomicLong();
+    private final ConcurrentLinkedDeque<double[]>[] partagee;
+    private final ThreadLocal<Locale> locales = ThreadLocal.withInitial(Locale::new);
+
+    /** Tableaux gardés par un thread : une pile par classe. */
+    private static final class Locale {
+        final double[][][] piles = new double[NOMBRE_CLASSES][][];
+        final int[] tailles = new int[NOMBRE_CLASSES];
+        long octets;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ReserveTampons(long capacite) {
+        this.capacite = capacite;
+        this.partagee = new ConcurrentLinkedDeque[NOMBRE_CLASSES];
+        for (int c = 0; c < NOMBRE_CLASSES; c++) {
+            partagee[c] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    /**
+     * Un tableau d'au moins n éléments, dont les n premiers sont nuls.
+     */
+    double[] louer(int n) {
+        return louer(n, true);
+    }
+
+    /**
+     * Un tableau d'au moins n éléments ; s'il est réutilisé, son contenu
+     * n'est remis à zéro que si effacer vaut true.
+     */
+    double[] louer(int n, boolean effacer) {
+        if (capacite <= 0 || n < TAILLE_MIN || n > TAILLE_MAX) {
+            return new double[n];
+        }
+
+        int classe = indice(n);
+        double[] t = null;
+        Locale locale = locales.get();
+        if (locale.tailles[classe] > 0) {
+            t = locale.piles[classe][--locale.tailles[classe]];
+            locale.piles[classe][locale.tailles[classe]] = null;
+            locale.octets -= (long) t.length * Double.BYTES;
+        } else {
+            t = partagee[classe].pollFirst();
+            if (t != null) {
+                octetsPartages.addAndGet(-(long) t.length * Double.BYTES);
+            }
+        }
+
+        if (t == null) {
+            return new double[taille(classe)];
+        }
+        if (effacer) {
+            Arrays.fill(t, 0, n, 0.0);
+        }
+        return t;
+    }
+
+    /**
+     * Rend un tableau obtenu par louer() ; il ne doit plus être utilisé.
+     */
+    void rendre(double[] t) {
+        if (capacite <= 0 || t.length < TAILLE_MIN || t.length > TAILLE_MAX) {
+            return;
+        }
+
+        int classe = indice(t.length);
+        if (taille(classe) != t.length) {
+            // Tableau alloué à la taille exacte (réserve désactivée entre-temps)
+            return;
+        }
+
+        long octets = (long) t.length * Double.BYTES;
+        Locale locale = locales.get();
+        if (t.length <= TAILLE_MAX_LOCALE && locale.octets + octets <= OCTETS_LOCAUX) {
+            double[][] pile = locale.piles[classe];
+            if (pile == null) {
+                pile = locale.piles[classe] = new double[2][];
+            } else if (locale.tailles[classe] == pile.length) {
+                pile = locale.piles[classe] = Arrays.copyOf(pile, 2 * pile.length);
+            }
+            pile[locale.tailles[classe]++] = t;
+            locale.octets += octets;
+            return;
+        }
+
+        if (octetsPartages.addAndGet(octets) > capacite) {
+            // Réserve pleine : le tableau est laissé au ramasse-miettes
+            octetsPartages.addAndGet(-octets);
+            return;
+        }
+        partagee[classe].offerFirst(t);
+    }
+
+    /**
+     * Octets actuellement gardés dans la réserve partagée.
+     */
+    long octetsPartages() {
+        return octetsPartages.get();
+    }
+
+    /**
+     * Classe de la plus petite taille réservée qui contient n éléments
+     * (TAILLE_MIN <= n <= TAILLE_MAX). Les tailles d'une classe sont de la
+     * forme m × 2^e avec 9 <= m <= 16.
+     */
+    static int indice(int n) {
+        int b = 31 - Integer.numberOfLeadingZeros(n - 1);   // 2^b <= n-1 < 2^(b+1)
+        int e = b - 3;
+        int m = ((n - 1) >> e) + 1;
+        return (e - 6) * CLASSES_PAR_OCTAVE + (m - 9);
+    }
+
+    /**
+     * Nombre d'éléments des tableaux d'une classe.
+     */
+    static int taille(int classe) {
+        int e = classe / CLASSES_PAR_OCTAVE + 6;
+        int m = classe % CLASSES_PAR_OCTAVE + 9;
+        return m << e;
+    }
+}
@@ -0,0 +1,182 @@
+package supermat;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs d'une opération (voir Mesures) : sommes par LongAdder, sans
+ * verrou ni contention entre threads.
+ *
+ * Les latences sont rangées dans un histogramme logarithmique : les valeurs
+ * de 0 à 7 ns ont chacune leur classe, puis chaque puissance de deux est
+ * coupée en 8 classes (erreur relative au plus 1/16 en prenant le milieu de
+ * la classe). Les formes sont comptées par classe de puissances de deux.
+ */
+final class StatistiquesOperation implements MesuresOperationMXBean {
+
+    /** Sous-classes par puissance de deux (2^BITS). */
+    private static final int BITS = 3;
+    private static final int SOUS_CLASSES = 1 << BITS;
+
+    private final String operation;
+    private final LongAdder appels = new LongAdder();
+    private final LongAdder flops = new LongAdder();
+    private final LongAdder octets = new LongAdder();
+    private final LongAdder temps = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+    private final AtomicLongArray latences = new AtomicLongArray(64 * SOUS_CLASSES);
+    private final ConcurrentHashMap<Integer, LongAdder> formes = new ConcurrentHashMap<>();
+
+    StatistiquesOperation(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Enregistre un appel de durée ns sur une matrice nl x nc (profondeur p
+     * pour un produit, 0 sinon).
+     */
+    void enregistrer(long ns, int nl, int nc, int p, long operationsFlottantes, long octetsAlloues) {
+        appels.increment();
+        flops.add(operationsFlottantes);
+        octets.add(octetsAlloues);
+        temps.add(ns);
+        max.accumulate(ns);
+        latences.incrementAndGet(classe(ns));
+        int forme = (puissance(nl) << 12) | (puissance(nc) << 6) | (p > 0 ? puissance(p) + 1 : 0);
+        formes.computeIfAbsent(forme, f -> new LongAdder()).increment();
+    }
+
+    /** Classe de latence de ns. */
+    static int classe(long ns) {
+        if (ns < SOUS_CLASSES) {
+            return (int) Math.max(0, ns);
+        }
+        int e = 63 - Long.numberOfLeadingZeros(ns);
+        int m = (int) (ns >>> (e - BITS)) & (SOUS_CLASSES - 1);
+        return (e - BITS + 1) * SOUS_CLASSES + m;
+    }
+
+    /** Plus petite latence de la classe c. */
+    static long borne(int c) {
+        if (c < SOUS_CLASSES) {
+            return c;
+        }
+        int e = c / SOUS_CLASSES + BITS - 1;
+        long m = c % SOUS_CLASSES;
+        return (SOUS_CLASSES + m) << (e - BITS);
+    }
+
+    /** Exposant de la puissance de deux supérieure ou égale à n (n >= 1). */
+    private static int puissance(int n) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(1, n) - 1);
+    }
+
+    /** Quantile q (0 < q <= 1) des latences : milieu de sa classe. */
+    private long quantile(double q) {
+        long total = 0;
+        long[] comptes = new long[latences.length()];
+        for (int c = 0; c < comptes.length; c++) {
+            comptes[c] = latences.get(c);
+            total += comptes[c];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rang = (long) Math.ceil(q * total);
+        long cumul = 0;
+        for (int c = 0; c < comptes.length; c++) {
+            cumul += comptes[c];
+            if (cumul >= rang) {
+                return c < SOUS_CLASSES ? c : (borne(c) + borne(c + 1) - 1) / 2;
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public String getOperation() {
+        return operation;
+    }
+
+    @Override
+    public long getAppels() {
+        return appels.sum();
+    }
+
+    @Override
+    public long getOperationsFlottantes() {
+        return flops.sum();
+    }
+
+    @Override
+    public long getOctetsAlloues() {
+        return octets.sum();
+    }
+
+    @Override
+    public long getTempsTotalNs() {
+        return temps.sum();
+    }
+
+    @Override
+    public double getGflops() {
+        long ns = temps.sum();
+        return ns == 0 ? 0.0 : (double) flops.sum() / ns;
+    }
+
+    @Override
+    public long getLatenceP50Ns() {
+        return quantile(0.50);
+    }
+
+    @Override
+    public long getLatenceP90Ns() {
+        return quantile(0.90);
+    }
+
+    @Override
+    public long getLatenceP99Ns() {
+        return quantile(0.99);
+    }
+
+    @Override
+    public long getLatenceMaxNs() {
+        return max.get();
+    }
+
+    @Override
+    public Map<String, Long> getFormes() {
+        Map<String, Long> resultat = new TreeMap<>();
+        formes.forEach((f, n) -> {
+            String cle = (1L << (f >>> 12)) + "x" + (1L << ((f >>> 6) & 63));
+            if ((f & 63) != 0) {
+                cle += "x" + (1L << ((f & 63) - 1));
+            }
+            resultat.merge(cle, n.sum(), Long::sum);
+        });
+        return resultat;
+    }
+
+    @Override
+    public void reinitialiser() {
+        appels.reset();
+        flops.reset();
+        octets.reset();
+        temps.reset();
+        max.reset();
+        for (int c = 0; c < latences.length(); c++) {
+            latences.set(c, 0);
+        }
+        formes.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s : %d appels, %.2f GFLOP/s, p50 %d ns, p99 %d ns",
+                             operation, appels.sum(), getGflops(), getLatenceP50Ns(), getLatenceP99Ns());
+    }
+}
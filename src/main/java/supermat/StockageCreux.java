@@ -0,0 +1,369 @@
+package supermat;
+
+import java.util.Arrays;
+
+/**
+ * Stockage compressé d'une matrice creuse, commun à SupermatCSR et SupermatCSC.
+ *
+ * Les éléments non nuls sont rangés par « lignes majeures » : les lignes pour
+ * le format CSR, les colonnes pour le format CSC. Les éléments de la majeure
+ * r occupent les positions pointeurs[r]..pointeurs[r+1]-1 de indices (indice
+ * mineur, croissant) et de valeurs. Les mêmes tableaux décrivent donc une
+ * matrice en CSR et sa transposée en CSC.
+ */
+final class StockageCreux {
+
+    final int nMajeurs;
+    final int nMineurs;
+    final int[] pointeurs;
+    final int[] indices;
+    final double[] valeurs;
+
+    StockageCreux(int nMajeurs, int nMineurs, int[] pointeurs, int[] indices, double[] valeurs) {
+        this.nMajeurs = nMajeurs;
+        this.nMineurs = nMineurs;
+        this.pointeurs = pointeurs;
+        this.indices = indices;
+        this.valeurs = valeurs;
+    }
+
+    int nnz() {
+        return pointeurs[nMajeurs];
+    }
+
+    /**
+     * Compresse une matrice dense : par lignes si parLignes, sinon par colonnes.
+     * Seuls les éléments différents de 0.0 sont conservés.
+     */
+    static StockageCreux depuisDense(Supermat m, boolean parLignes) {
+        int nl = m.getNombreLignes();
+        int nc = m.getNombreColonnes();
+        int[] pointeurs = new int[nl + 1];
+        double[] ligne = new double[nc];
+
+        // Premier passage : nombre de non-nuls par ligne
+        for (int i = 0; i < nl; i++) {
+            m.getLigne(i, ligne);
+            int n = 0;
+            for (double v : ligne) {
+                if (v != 0.0) {
+                    n++;
+                }
+            }
+            pointeurs[i + 1] = pointeurs[i] + n;
+        }
+
+        int[] indices = new int[pointeurs[nl]];
+        double[] valeurs = new double[pointeurs[nl]];
+        for (int i = 0; i < nl; i++) {
+            m.getLigne(i, ligne);
+            int p = pointeurs[i];
+            for (int j = 0; j < nc; j++) {
+                if (ligne[j] != 0.0) {
+                    indices[p] = j;
+                    valeurs[p++] = ligne[j];
+                }
+            }
+        }
+
+        StockageCreux lignes = new StockageCreux(nl, nc, pointeurs, indices, valeurs);
+        return parLignes ? lignes : lignes.transposer();
+    }
+
+    /**
+     * Construit le stockage à partir de triplets (majeur, mineur, valeur)
+     * dans un ordre quelconque ; les doublons sont additionnés.
+     */
+    static StockageCreux depuisTriplets(int nMajeurs, int nMineurs, int[] majeurs, int[] mineurs,
+                                        double[] valeurs, int n) {
+        // Tri par majeur (comptage), puis par mineur à l'intérieur de chaque majeure
+        int[] pointeurs = new int[nMajeurs + 1];
+        for (int p = 0; p < n; p++) {
+            pointeurs[majeurs[p] + 1]++;
+        }
+        for (int r = 0; r < nMajeurs; r++) {
+            pointeurs[r + 1] += pointeurs[r];
+        }
+        int[] suivant = Arrays.copyOf(pointeurs, nMajeurs);
+        int[] indices = new int[n];
+        double[] vals = new double[n];
+        for (int p = 0; p < n; p++) {
+            int q = suivant[majeurs[p]]++;
+            indices[q] = mineurs[p];
+            vals[q] = valeurs[p];
+        }
+
+        StockageCreux brut = new StockageCreux(nMajeurs, nMineurs, pointeurs, indices, vals);
+        // Deux transpositions trient les mineurs ; les doublons sont alors voisins
+        StockageCreux trie = brut.transposer().transposer();
+        return trie.fusionnerDoublons();
+    }
+
+    /**
+     * Additionne les éléments voisins de même indice (indices triés).
+     */
+    private StockageCreux fusionnerDoublons() {
+        int[] nouveaux = new int[nMajeurs + 1];
+        int q = 0;
+        for (int r = 0; r < nMajeurs; r++) {
+            int debut = q;
+            for (int p = pointeurs[r]; p < pointeurs[r + 1]; p++) {
+                if (q > debut && indices[q - 1] == indices[p]) {
+                    valeurs[q - 1] += valeurs[p];
+                } else {
+                    indices[q] = indices[p];
+                    valeurs[q++] = valeurs[p];
+                }
+            }
+            nouveaux[r + 1] = q;
+        }
+        return new StockageCreux(nMajeurs, nMineurs, nouveaux,
+                                 Arrays.copyOf(indices, q), Arrays.copyOf(valeurs, q));
+    }
+
+    /**
+     * Le même contenu rangé dans l'autre sens (CSR vers CSC et inversement),
+     * par tri par comptage : O(nnz + nMajeurs + nMineurs). Les indices du
+     * résultat sont croissants.
+     */
+    StockageCreux transposer() {
+        int nnz = nnz();
+        int[] pointeursT = new int[nMineurs + 1];
+        for (int p = 0; p < nnz; p++) {
+            pointeursT[indices[p] + 1]++;
+        }
+        for (int c = 0; c < nMineurs; c++) {
+            pointeursT[c + 1] += pointeursT[c];
+        }
+
+        int[] suivant = Arrays.copyOf(pointeursT, nMineurs);
+        int[] indicesT = new int[nnz];
+        double[] valeursT = new double[nnz];
+        for (int r = 0; r < nMajeurs; r++) {
+            for (int p = pointeurs[r]; p < pointeurs[r + 1]; p++) {
+                int q = suivant[indices[p]]++;
+                indicesT[q] = r;
+                valeursT[q] = valeurs[p];
+            }
+        }
+        return new StockageCreux(nMineurs, nMajeurs, pointeursT, indicesT, valeursT);
+    }
+
+    /**
+     * Élément (majeur, mineur) par recherche dichotomique dans la majeure.
+     */
+    double get(int majeur, int mineur) {
+        int p = Arrays.binarySearch(indices, pointeurs[majeur], pointeurs[majeur + 1], mineur);
+        return p >= 0 ? valeurs[p] : 0.0;
+    }
+
+    /**
+     * Échange deux majeures : seuls les éléments situés entre elles sont
+     * déplacés, en O(nnz) au pire.
+     */
+    void echangerMajeurs(int a, int b) {
+        if (a == b) {
+            return;
+        }
+        if (a > b) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+
+        int debutA = pointeurs[a];
+        int finA = pointeurs[a + 1];
+        int debutB = pointeurs[b];
+        int finB = pointeurs[b + 1];
+        int nA = finA - debutA;
+        int nB = finB - debutB;
+        int nMilieu = debutB - finA;
+
+        // Nouvel ordre de la zone [debutA, finB[ : B, milieu, A
+        int[] indicesZone = new int[finB - debutA];
+        double[] valeursZone = new double[finB - debutA];
+        System.arraycopy(indices, debutB, indicesZone, 0, nB);
+        System.arraycopy(valeurs, debutB, valeursZone, 0, nB);
+        System.arraycopy(indices, finA, indicesZone, nB, nMilieu);
+        System.arraycopy(valeurs, finA, valeursZone, nB, nMilieu);
+        System.arraycopy(indices, debutA, indicesZone, nB + nMilieu, nA);
+        System.arraycopy(valeurs, debutA, valeursZone, nB + nMilieu, nA);
+        System.arraycopy(indicesZone, 0, indices, debutA, indicesZone.length);
+        System.arraycopy(valeursZone, 0, valeurs, debutA, valeursZone.length);
+
+        int decalage = nB - nA;
+        for (int r = a + 1; r <= b; r++) {
+            pointeurs[r] += decalage;
+        }
+    }
+
+    /**
+     * Échange deux indices mineurs dans toutes les majeures : O(nnz). Les
+     * éléments concernés sont replacés pour garder les indices croissants.
+     */
+    void echangerMineurs(int a, int b) {
+        if (a == b) {
+            return;
+        }
+        for (int r = 0; r < nMajeurs; r++) {
+            int debut = pointeurs[r];
+            int fin = pointeurs[r + 1];
+            int pa = Arrays.binarySearch(indices, debut, fin, a);
+            int pb = Arrays.binarySearch(indices, debut, fin, b);
+            if (pa >= 0 && pb >= 0) {
+                // Les deux présents : seules les valeurs changent de place
+                double temp = valeurs[pa];
+                valeurs[pa] = valeurs[pb];
+                valeurs[pb] = temp;
+            } else if (pa >= 0) {
+                deplacer(pa, debut, fin, b);
+            } else if (pb >= 0) {
+                deplacer(pb, debut, fin, a);
+            }
+        }
+    }
+
+    /**
+     * Donne l'indice nouvelIndice à l'élément p et le déplace à sa place
+     * dans [debut, fin[.
+     */
+    private void deplacer(int p, int debut, int fin, int nouvelIndice) {
+        double valeur = valeurs[p];
+        while (p > debut && indices[p - 1] > nouvelIndice) {
+            indices[p] = indices[p - 1];
+            valeurs[p] = valeurs[p - 1];
+            p--;
+        }
+        while (p + 1 < fin && indices[p + 1] < nouvelIndice) {
+            indices[p] = indices[p + 1];
+            valeurs[p] = valeurs[p + 1];
+            p++;
+        }
+        indices[p] = nouvelIndice;
+        valeurs[p] = valeur;
+    }
+
+    /**
+     * Produit de deux stockages par lignes majeures (algorithme de Gustavson) :
+     * majeure r du résultat = somme des x[r][k] * majeure k de y. Un
+     * accumulateur dense de nMineurs(y) éléments et une liste des indices
+     * touchés évitent tout parcours des zéros.
+     */
+    static StockageCreux produit(StockageCreux x, StockageCreux y) {
+        int n = y.nMineurs;
+        double[] accumulateur = new double[n];
+        int[] marque = new int[n];
+        Arrays.fill(marque, -1);
+        int[] touches = new int[n];
+
+        int[] pointeurs = new int[x.nMajeurs + 1];
+        int capacite = Math.max(16, x.nnz() + y.nnz());
+        int[] indices = new int[capacite];
+        double[] valeurs = new double[capacite];
+        int nnz = 0;
+
+        for (int r = 0; r < x.nMajeurs; r++) {
+            int nTouches = 0;
+            for (int p = x.pointeurs[r]; p < x.pointeurs[r + 1]; p++) {
+                int k = x.indices[p];
+                double v = x.valeurs[p];
+                for (int q = y.pointeurs[k]; q < y.pointeurs[k + 1]; q++) {
+                    int c = y.indices[q];
+                    if (marque[c] != r) {
+                        marque[c] = r;
+                        accumulateur[c] = 0.0;
+                        touches[nTouches++] = c;
+                    }
+                    accumulateur[c] += v * y.valeurs[q];
+                }
+            }
+
+            if (nnz + nTouches > indices.length) {
+                int nouvelle = Math.max(nnz + nTouches, 2 * indices.length);
+                indices = Arrays.copyOf(indices, nouvelle);
+                valeurs = Arrays.copyOf(valeurs, nouvelle);
+            }
+            Arrays.sort(touches, 0, nTouches);
+            for (int t = 0; t < nTouches; t++) {
+                indices[nnz] = touches[t];
+                valeurs[nnz++] = accumulateur[touches[t]];
+            }
+            pointeurs[r + 1] = nnz;
+        }
+
+        return new StockageCreux(x.nMajeurs, n, pointeurs,
+                                 Arrays.copyOf(indices, nnz), Arrays.copyOf(valeurs, nnz));
+    }
+
+    /**
+     * c += S × b, où S est ce stockage et b une matrice dense du tas non
+     * transposée (c aussi). En CSR (parLignes), la majeure r est la ligne r
+     * de S : c[r] += S[r][k] * b[k]. En CSC, c'est la colonne r :
+     * c[k] += S[k][r] * b[r]. Dans les deux cas une ligne entière de b est
+     * ajoutée par élément non nul (axpy vectorisé).
+     */
+    void multiplierADroite(Supermat b, Supermat c, boolean parLignes) {
+        Noyaux noyaux = Noyaux.INSTANCE;
+        double[] db = b.donnees();
+        double[] dc = c.donnees();
+        int n = b.getNombreColonnes();
+        for (int r = 0; r < nMajeurs; r++) {
+            for (int p = pointeurs[r]; p < pointeurs[r + 1]; p++) {
+                int k = indices[p];
+                if (parLignes) {
+                    noyaux.axpy(valeurs[p], db, b.debutLigne(k), dc, c.debutLigne(r), n);
+                } else {
+                    noyaux.axpy(valeurs[p], db, b.debutLigne(r), dc, c.debutLigne(k), n);
+                }
+            }
+        }
+    }
+
+    /**
+     * c += a × S, où a est une matrice dense du tas non transposée (c aussi).
+     * En CSR (parLignes), chaque a[i][k] non nul disperse la ligne k de S
+     * dans c[i] ; en CSC, c[i][j] reçoit le produit scalaire creux de a[i]
+     * par la colonne j de S.
+     */
+    void multiplierAGauche(Supermat a, Supermat c, boolean parLignes) {
+        double[] da = a.donnees();
+        double[] dc = c.donnees();
+        for (int i = 0; i < a.getNombreLignes(); i++) {
+            int la = a.debutLigne(i);
+            int lc = c.debutLigne(i);
+            for (int r = 0; r < nMajeurs; r++) {
+                if (parLignes) {
+                    double air = da[la + r];
+                    if (air != 0.0) {
+                        for (int p = pointeurs[r]; p < pointeurs[r + 1]; p++) {
+                            dc[lc + indices[p]] += air * valeurs[p];
+                        }
+                    }
+                } else {
+                    double somme = 0.0;
+                    for (int p = pointeurs[r]; p < pointeurs[r + 1]; p++) {
+                        somme += da[la + indices[p]] * valeurs[p];
+                    }
+                    dc[lc + r] += somme;
+                }
+            }
+        }
+    }
+
+    /**
+     * Écrit les éléments dans une matrice dense nulle : en (r, k) si
+     * parLignes, sinon en (k, r).
+     */
+    void versDense(Supermat c, boolean parLignes) {
+        double[] dc = c.donnees();
+        for (int r = 0; r < nMajeurs; r++) {
+            for (int p = pointeurs[r]; p < pointeurs[r + 1]; p++) {
+                if (parLignes) {
+                    dc[c.debutLigne(r) + indices[p]] = valeurs[p];
+                } else {
+                    dc[c.debutLigne(indices[p]) + r] = valeurs[p];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package supermat;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stockage d'une supermatrice dans un fichier projeté en mémoire, hors du tas
+ * (voir Supermat.projeter()).
+ *
+ * Le fichier contient nl lignes de ld doubles petit-boutistes, à partir de la
+ * position debut. Un MappedByteBuffer étant limité à 2 Go, le fichier est
+ * projeté par tranches d'un nombre entier de lignes : une ligne n'est jamais
+ * coupée entre deux tranches et se copie donc en un seul transfert.
+ */
+final class StockageProjete {
+
+    /** Taille visée d'une tranche projetée, en octets. */
+    static final long OCTETS_PAR_TRANCHE = 1L << 30;
+
+    /** Longueur maximale d'une ligne (une tranche contient au moins une ligne). */
+    static final int LD_MAX = Integer.MAX_VALUE / Double.BYTES;
+
+    /** Unsafe.invokeCleaner(ByteBuffer), si le module jdk.unsupported est disponible. */
+    private static final Object UNSAFE;
+    private static final Method NETTOYEUR;
+
+    static {
+        Object unsafe = null;
+        Method nettoyeur = null;
+        try {
+            Class<?> classe = Class.forName("sun.misc.Unsafe");
+            Field champ = classe.getDeclaredField("theUnsafe");
+            champ.setAccessible(true);
+            unsafe = champ.get(null);
+            nettoyeur = classe.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            nettoyeur = null;
+        }
+        UNSAFE = unsafe;
+        NETTOYEUR = nettoyeur;
+    }
+
+    private final FileChannel canal;
+    private final boolean lectureSeule;
+    private final int ld;
+    private final int lignesParTranche;
+    private MappedByteBuffer[] projections;
+    private DoubleBuffer[] tranches;
+
+    private StockageProjete(FileChannel canal, boolean lectureSeule, int ld, int lignesParTranche,
+                            MappedByteBuffer[] projections) {
+        this.canal = canal;
+        this.lectureSeule = lectureSeule;
+        this.ld = ld;
+        this.lignesParTranche = lignesParTranche;
+        this.projections = projections;
+        this.tranches = new DoubleBuffer[projections.length];
+        for (int t = 0; t < projections.length; t++) {
+            tranches[t] = projections[t].order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+    }
+
+    /**
+     * Projette nl lignes de ld doubles à partir de l'octet debut du fichier.
+     * En lecture-écriture, le fichier est créé ou agrandi si nécessaire.
+     */
+    static StockageProjete ouvrir(Path fichier, long debut, int nl, int ld,
+                                  FileChannel.MapMode mode) throws IOException {
+        boolean lectureSeule = mode == FileChannel.MapMode.READ_ONLY;
+        FileChannel canal = lectureSeule
+            ? FileChannel.open(fichier, StandardOpenOption.READ)
+            : FileChannel.open(fichier, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                               StandardOpenOption.CREATE);
+        try {
+            long octetsParLigne = (long) ld * Double.BYTES;
+            if (lectureSeule && canal.size() < debut + nl * octetsParLigne) {
+                throw new IOException("fichier trop court (" + canal.size() + " octets pour "
+                                      + nl + "x" + ld + " éléments)");
+            }
+
+            int lignesParTranche = (int) Math.max(1, Math.min(nl, OCTETS_PAR_TRANCHE / octetsParLigne));
+            int nbTranches = (nl + lignesParTranche - 1) / lignesParTranche;
+            MappedByteBuffer[] projections = new MappedByteBuffer[nbTranches];
+            for (int t = 0; t < nbTranches; t++) {
+                int lignes = Math.min(lignesParTranche, nl - t * lignesParTranche);
+                projections[t] = canal.map(mode, debut + t * lignesParTranche * octetsParLigne,
+                                           lignes * octetsParLigne);
+            }
+            return new StockageProjete(canal, lectureSeule, ld, lignesParTranche, projections);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    boolean isLectureSeule() {
+        return lectureSeule;
+    }
+
+    boolean isFerme() {
+        return tranches == null;
+    }
+
+    /** Élément de la colonne colonne de la ligne ligne du fichier. */
+    double lire(int ligne, int colonne) {
+        return tranches[ligne / lignesParTranche].get(position(ligne) + colonne);
+    }
+
+    void ecrire(int ligne, int colonne, double valeur) {
+        tranches[ligne / lignesParTranche].put(position(ligne) + colonne, valeur);
+    }
+
+    /** Copie n éléments de la ligne à partir de colonne dans dst[pos..pos+n[. */
+    void lire(int ligne, int colonne, double[] dst, int pos, int n) {
+        tranches[ligne / lignesParTranche].get(position(ligne) + colonne, dst, pos, n);
+    }
+
+    /** Copie src[pos..pos+n[ dans la ligne à partir de colonne. */
+    void ecrire(int ligne, int colonne, double[] src, int pos, int n) {
+        tranches[ligne / lignesParTranche].put(position(ligne) + colonne, src, pos, n);
+    }
+
+    void remplir(int ligne, int colonne, int n, double valeur) {
+        DoubleBuffer tranche = tranches[ligne / lignesParTranche];
+        int debut = position(ligne) + colonne;
+        for (int k = debut; k < debut + n; k++) {
+            tranche.put(k, valeur);
+        }
+    }
+
+    /** Écrit sur le disque les pages modifiées. */
+    void synchroniser() {
+        if (!lectureSeule && projections != null) {
+            for (MappedByteBuffer projection : projections) {
+                projection.force();
+            }
+        }
+    }
+
+    /**
+     * Libère les projections et ferme le fichier. Les vues qui partagent ce
+     * stockage ne doivent plus être utilisées ensuite.
+     */
+    void fermer() {
+        if (tranches == null) {
+            return;
+        }
+        MappedByteBuffer[] anciennes = projections;
+        tranches = null;
+        projections = null;
+        for (MappedByteBuffer projection : anciennes) {
+            liberer(projection);
+        }
+        try {
+            canal.close();
+        } catch (IOException e) {
+            throw new SupermatException("fermeture du fichier impossible (" + e.getMessage() + ")", e);
+        }
+    }
+
+    private int position(int ligne) {
+        return (ligne % lignesParTranche) * ld;
+    }
+
+    /**
+     * Supprime immédiatement la projection (Unsafe.invokeCleaner du module
+     * jdk.unsupported) ; sinon elle ne disparaît qu'au passage du ramasse-miettes.
+     */
+    private static void liberer(ByteBuffer projection) {
+        Method nettoyeur = NETTOYEUR;
+        if (nettoyeur != null) {
+            try {
+                nettoyeur.invoke(UNSAFE, projection);
+            } catch (ReflectiveOperationException e) {
+                // Laissée au ramasse-miettes
+            }
+        }
+    }
+}
@@ -1,68 +1,341 @@
 package supermat;
 
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Stream;
+
 /**
  * Classe représentant une supermatrice avec ses dimensions et ses données.
  * Équivalent Java de la structure supermat_desc du code C.
+ * C'est aussi une Expression, feuille des calculs différés (t(), fois(), ...).
  */
-public class Supermat {
+public class Supermat implements Expression {
     private int nl;           // nombre de lignes
     private int nc;           // nombre de colonnes
-    private double[][] ligne; // tableau des pointeurs vers les lignes
+    private double[] donnees; // stockage contigu, ligne par ligne (partagé par les vues)
+    private int decalage;     // position de l'élément (0, 0) dans donnees
+    private int ld;           // pas entre deux lignes (dimension principale)
+    private int[] indLigne;   // permutation des lignes (null = ordre naturel)
+    private int baseLigne;    // première entrée de indLigne utilisée par cette matrice
+    private boolean permPartagee; // indLigne est aussi utilisé par une vue ou un parent
+    private boolean transposee;   // vue transposée : l'élément (i, j) est rangé en (j, i)
     private boolean isSousMat;   // indique si c'est une vue (sous-matrice)
+    private StockageProjete projete; // fichier projeté hors du tas (donnees vaut alors null)
+    private int ligne0;          // ligne du fichier projeté où commence la matrice (sans permutation)
+    private boolean reservee;    // donnees a été louée à ReserveTampons par cette matrice
+    private boolean vuesCreees;  // des vues (sousMatrice, transposee) partagent donnees
+    private long[] modifications; // compteur de modifications, partagé avec les vues (null = non suivi)
     
     /**
      * Constructeur principal - alloue une nouvelle supermatrice de taille nl x nc.
      * Équivalent de allouerSupermat() en C.
+     *
+     * @throws DimensionsException si nl ou nc n'est pas positif, ou si la
+     *         matrice ne tient pas dans un tableau
      */
     public Supermat(int nl, int nc) {
-        if (nl <= 0 || nc <= 0) {
-            System.err.println("Erreur : dimensions invalides (" + nl + ", " + nc + ")");
-            this.nl = 1;
-            this.nc = 1;
-        } else {
-            this.nl = nl;
-            this.nc = nc;
-        }
-        
+        Controles.dimensions(nl, nc);
+        this.nl = nl;
+        this.nc = nc;
         this.isSousMat = false;
         
-        // Allocation du tableau de lignes
-        this.ligne = new double[this.nl][this.nc];
+        // Bloc unique de nl x nc éléments nuls, loué à la réserve (voir ReserveTampons)
+        this.donnees = ReserveTampons.INSTANCE.louer(this.nl * this.nc);
+        this.reservee = true;
+        this.ld = this.nc;
+        this.modifications = new long[1];
     }
 
     /**
-     * Constructeur pour créer une vue (sous-matrice).
-     * Utilisé par sousMatrice().
+     * Constructeur pour créer une vue sur un stockage existant.
+     * Utilisé par sousMatrice(), transposee(), envelopper() et projeter().
      */
-    private Supermat(int nl, int nc, double[][] ligneRef, boolean isSousMat) {
+    private Supermat(int nl, int nc, double[] donnees, int decalage, int ld,
+                     int[] indLigne, int baseLigne, boolean isSousMat) {
         this.nl = nl;
         this.nc = nc;
-        this.ligne = ligneRef;
+        this.donnees = donnees;
+        this.decalage = decalage;
+        this.ld = ld;
+        this.indLigne = indLigne;
+        this.baseLigne = baseLigne;
+        this.permPartagee = indLigne != null;
         this.isSousMat = isSousMat;
     }
     
     /**
      * Accès en lecture à un élément - équivalent de la macro acces(a, i, j).
+     *
+     * @throws IndexOutOfBoundsException si (i, j) est hors de la matrice
+     *         (contrôle supprimé par -Dsupermat.controles=false, voir Controles)
      */
     public double get(int i, int j) {
-        if (i < 0 || i >= nl || j < 0 || j >= nc) {
-            System.err.println("Erreur : indices hors limites (" + i + ", " + j + 
-                             ") pour matrice " + nl + "x" + nc);
-            return 0.0;
+        if (Controles.INDICES) {
+            Objects.checkIndex(i, nl);
+            Objects.checkIndex(j, nc);
+        }
+        if (projete != null) {
+            verifierLecture();
+            return lire(i, j);
         }
-        return ligne[i][j];
+        return donnees[adresse(i, j)];
     }
     
     /**
      * Accès en écriture à un élément.
+     *
+     * @throws IndexOutOfBoundsException si (i, j) est hors de la matrice
+     *         (contrôle supprimé par -Dsupermat.controles=false, voir Controles)
      */
     public void set(int i, int j, double valeur) {
-        if (i < 0 || i >= nl || j < 0 || j >= nc) {
-            System.err.println("Erreur : indices hors limites (" + i + ", " + j + 
-                             ") pour matrice " + nl + "x" + nc);
+        if (Controles.INDICES) {
+            Objects.checkIndex(i, nl);
+            Objects.checkIndex(j, nc);
+        }
+        if (projete != null) {
+            verifierEcriture();
+            modifiee();
+            ecrire(i, j, valeur);
+            return;
+        }
+        modifiee();
+        donnees[adresse(i, j)] = valeur;
+    }
+    
+    /**
+     * Lit l'élément (i, j) sans contrôle, quel que soit le stockage.
+     */
+    private double lire(int i, int j) {
+        if (projete == null) {
+            return donnees[adresse(i, j)];
+        }
+        return transposee ? projete.lire(ligneStockage(j), decalage + i)
+                          : projete.lire(ligneStockage(i), decalage + j);
+    }
+    
+    /**
+     * Écrit l'élément (i, j) sans contrôle, quel que soit le stockage.
+     */
+    private void ecrire(int i, int j, double valeur) {
+        if (projete == null) {
+            donnees[adresse(i, j)] = valeur;
+        } else if (transposee) {
+            projete.ecrire(ligneStockage(j), decalage + i, valeur);
+        } else {
+            projete.ecrire(ligneStockage(i), decalage + j, valeur);
+        }
+    }
+    
+    /**
+     * Refuse la lecture d'un fichier projeté fermé.
+     */
+    private void verifierLecture() {
+        if (projete != null && projete.isFerme()) {
+            throw new MatriceLibereeException();
+        }
+    }
+    
+    /**
+     * Refuse l'écriture dans un fichier projeté en lecture seule ou fermé.
+     */
+    private void verifierEcriture() {
+        if (projete == null) {
             return;
         }
-        ligne[i][j] = valeur;
+        if (projete.isFerme()) {
+            throw new MatriceLibereeException();
+        }
+        if (projete.isLectureSeule()) {
+            throw new SupermatException("supermatrice projetée en lecture seule");
+        }
+    }
+
+    /**
+     * Copie la ligne i dans dst[0..nc[.
+     * Les indices sont contrôlés une fois pour toute la ligne, puis la copie
+     * se fait d'un seul System.arraycopy (élément par élément sur une vue transposée).
+     */
+    public void getLigne(int i, double[] dst) {
+        getLigne(i, dst, 0);
+    }
+    
+    /**
+     * Copie la ligne i dans dst[pos..pos+nc[.
+     */
+    public void getLigne(int i, double[] dst, int pos) {
+        verifierLigne(i, dst, pos);
+        
+        if (transposee) {
+            for (int j = 0; j < nc; j++) {
+                dst[pos + j] = lire(i, j);
+            }
+        } else {
+            lireStockage(i, 0, dst, pos, nc);
+        }
+    }
+    
+    /**
+     * Copie les n éléments de la ligne i à partir de la colonne debut dans
+     * dst[pos..pos+n[ (une partie de ligne, pour l'affichage résumé).
+     */
+    void getLigne(int i, int debut, double[] dst, int pos, int n) {
+        verifierLecture();
+        if (Controles.INDICES) {
+            Objects.checkIndex(i, nl);
+            Objects.checkFromIndexSize(debut, n, nc);
+            Controles.tableau(dst, pos, n);
+        }
+        
+        if (transposee) {
+            for (int j = 0; j < n; j++) {
+                dst[pos + j] = lire(i, debut + j);
+            }
+        } else {
+            lireStockage(i, debut, dst, pos, n);
+        }
+    }
+    
+    /**
+     * Remplace la ligne i par src[0..nc[.
+     */
+    public void setLigne(int i, double[] src) {
+        setLigne(i, src, 0);
+    }
+    
+    /**
+     * Remplace la ligne i par src[pos..pos+nc[.
+     */
+    public void setLigne(int i, double[] src, int pos) {
+        verifierLigne(i, src, pos);
+        verifierEcriture();
+        modifiee();
+        
+        if (transposee) {
+            for (int j = 0; j < nc; j++) {
+                ecrire(i, j, src[pos + j]);
+            }
+        } else if (projete != null) {
+            projete.ecrire(ligneStockage(i), decalage, src, pos, nc);
+        } else {
+            System.arraycopy(src, pos, donnees, debutLigne(i), nc);
+        }
+    }
+    
+    /**
+     * Vérifie l'indice de ligne et la place disponible dans le tableau.
+     */
+    private void verifierLigne(int i, double[] tableau, int pos) {
+        verifierLecture();
+        Objects.requireNonNull(tableau, "le tableau ne peut pas être null");
+        if (Controles.INDICES) {
+            Objects.checkIndex(i, nl);
+            Controles.tableau(tableau, pos, nc);
+        }
+    }
+    
+    /**
+     * Remplace chaque élément x par f(x), sur place.
+     * Le stockage est parcouru ligne par ligne (sur une vue transposée, dans
+     * l'ordre du stockage et non des lignes de la vue) : f ne doit donc pas
+     * dépendre de l'ordre de visite.
+     */
+    public void appliquer(DoubleUnaryOperator f) {
+        Objects.requireNonNull(f, "la fonction ne peut pas être null");
+        modifiee();
+        
+        // Lignes du stockage : colonnes de la vue si elle est transposée
+        int lignes = transposee ? nc : nl;
+        int colonnes = transposee ? nl : nc;
+        
+        if (projete != null) {
+            verifierEcriture();
+            double[] ligne = new double[colonnes];
+            for (int r = 0; r < lignes; r++) {
+                projete.lire(ligneStockage(r), decalage, ligne, 0, colonnes);
+                for (int k = 0; k < colonnes; k++) {
+                    ligne[k] = f.applyAsDouble(ligne[k]);
+                }
+                projete.ecrire(ligneStockage(r), decalage, ligne, 0, colonnes);
+            }
+            return;
+        }
+        
+        if (estBlocContigu()) {
+            colonnes *= lignes;
+            lignes = 1;
+        }
+        
+        for (int i = 0; i < lignes; i++) {
+            int debut = transposee ? debutColonne(i) : debutLigne(i);
+            for (int k = debut; k < debut + colonnes; k++) {
+                donnees[k] = f.applyAsDouble(donnees[k]);
+            }
+        }
+    }
+    
+    /**
+     * Passe chaque élément à action, ligne par ligne, de (0, 0) à (nl-1, nc-1).
+     */
+    public void pourChaque(DoubleConsumer action) {
+        Objects.requireNonNull(action, "l'action ne peut pas être null");
+        verifierLecture();
+        
+        double[] ligne = projete != null ? new double[nc] : null;
+        for (int i = 0; i < nl; i++) {
+            if (transposee) {
+                for (int j = 0; j < nc; j++) {
+                    action.accept(lire(i, j));
+                }
+            } else if (projete != null) {
+                projete.lire(ligneStockage(i), decalage, ligne, 0, nc);
+                for (double x : ligne) {
+                    action.accept(x);
+                }
+            } else {
+                int debut = debutLigne(i);
+                for (int k = debut; k < debut + nc; k++) {
+                    action.accept(donnees[k]);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Donne à tous les éléments la même valeur, par ligne du stockage,
+     * ou en une seule fois sur tout le bloc quand il est contigu.
+     */
+    public void remplir(double valeur) {
+        Noyaux noyaux = Noyaux.INSTANCE;
+        modifiee();
+        int lignes = transposee ? nc : nl;
+        int colonnes = transposee ? nl : nc;
+        
+        if (projete != null) {
+            verifierEcriture();
+            for (int r = 0; r < lignes; r++) {
+                projete.remplir(ligneStockage(r), decalage, colonnes, valeur);
+            }
+            return;
+        }
+        
+        if (estBlocContigu()) {
+            noyaux.remplir(donnees, debutLigne(0), nl * nc, valeur);
+            return;
+        }
+        
+        for (int i = 0; i < lignes; i++) {
+            noyaux.remplir(donnees, transposee ? debutColonne(i) : debutLigne(i), colonnes, valeur);
+        }
     }
     
     /**
@@ -86,103 +359,673 @@ public class Supermat {
         return isSousMat;
     }
     
+    /**
+     * Tableau de stockage (usage interne aux noyaux de calcul).
+     */
+    double[] donnees() {
+        return donnees;
+    }
+    
+    /**
+     * Indique si cette supermatrice est une vue transposée (voir transposee()).
+     */
+    public boolean isTransposee() {
+        return transposee;
+    }
+    
+    /**
+     * Position dans donnees() du premier élément de la ligne i, les éléments
+     * suivants de la ligne étant consécutifs. Réservé aux matrices non transposées.
+     */
+    int debutLigne(int i) {
+        return decalage + ligneStockage(i) * ld;
+    }
+    
+    /**
+     * Position dans donnees() du premier élément de la colonne j, les éléments
+     * suivants de la colonne étant consécutifs. Réservé aux vues transposées.
+     */
+    int debutColonne(int j) {
+        return decalage + ligneStockage(j) * ld;
+    }
+    
+    /**
+     * Position dans donnees() de l'élément (i, j).
+     */
+    int adresse(int i, int j) {
+        return transposee ? debutColonne(j) + i : debutLigne(i) + j;
+    }
+    
+    /**
+     * Ligne du stockage (tableau ou fichier projeté) qui contient la ligne r,
+     * ou la colonne r d'une vue transposée.
+     */
+    private int ligneStockage(int r) {
+        return indLigne == null ? ligne0 + r : indLigne[baseLigne + r];
+    }
+    
+    /**
+     * Copie dans dst[pos..pos+n[ les n éléments consécutifs du stockage qui
+     * commencent à la colonne debut de la ligne r (à la ligne debut de la
+     * colonne r sur une vue transposée). Valable pour tout stockage : c'est
+     * ainsi que les noyaux lisent les matrices projetées.
+     */
+    void lireStockage(int r, int debut, double[] dst, int pos, int n) {
+        if (projete == null) {
+            System.arraycopy(donnees, decalage + ligneStockage(r) * ld + debut, dst, pos, n);
+        } else {
+            projete.lire(ligneStockage(r), decalage + debut, dst, pos, n);
+        }
+    }
+    
+    /**
+     * Écrit src[pos..pos+n[ dans le stockage à partir de la colonne debut de
+     * la ligne r (pendant de lireStockage()).
+     */
+    void ecrireStockage(int r, int debut, double[] src, int pos, int n) {
+        if (projete == null) {
+            System.arraycopy(src, pos, donnees, decalage + ligneStockage(r) * ld + debut, n);
+        } else {
+            projete.ecrire(ligneStockage(r), decalage + debut, src, pos, n);
+        }
+    }
+    
+    /**
+     * Position dans donnees() du début de la ligne r du stockage : ligne r
+     * de la matrice, ou colonne r d'une vue transposée.
+     */
+    int debutStockage(int r) {
+        return decalage + ligneStockage(r) * ld;
+    }
+    
+    /**
+     * Indique si les éléments sont dans un fichier projeté (voir projeter())
+     * plutôt que dans un tableau du tas.
+     */
+    public boolean isProjetee() {
+        return projete != null;
+    }
+    
+    /**
+     * Écrit sur le disque les modifications d'une supermatrice projetée
+     * (MappedByteBuffer.force()). Sans effet sur une matrice du tas.
+     */
+    public void synchroniser() {
+        if (projete != null && !projete.isFerme()) {
+            projete.synchroniser();
+        }
+    }
+    
+    /**
+     * Crée une vue transposée - aucune donnée n'est copiée.
+     * La vue partage le stockage : get(i, j) lit l'élément (j, i) de cette matrice.
+     * Passée à produit(), elle est lue directement par le noyau sans être
+     * matérialisée. Transposer la vue redonne une vue dans le sens d'origine.
+     */
+    public Supermat transposee() {
+        if (estLiberee()) {
+            throw new MatriceLibereeException();
+        }
+        
+        if (indLigne != null) {
+            permPartagee = true;
+        }
+        vuesCreees = true;
+        Supermat vue = new Supermat(nc, nl, donnees, decalage, ld, indLigne, baseLigne, true);
+        vue.transposee = !transposee;
+        vue.projete = projete;
+        vue.ligne0 = ligne0;
+        vue.modifications = modifications;
+        return vue;
+    }
+    
+    /**
+     * Transposée dans une expression différée : la vue transposee().
+     */
+    @Override
+    public Expression t() {
+        return transposee();
+    }
+    
+    /**
+     * Une supermatrice est déjà évaluée : retourne la matrice elle-même,
+     * sans copie.
+     */
+    @Override
+    public Supermat evaluer() {
+        return this;
+    }
+    
     /**
      * Produit matriciel de deux supermatrices.
      * Équivalent de superProduit() en C.
      */
     public static Supermat produit(Supermat matrice1, Supermat matrice2) {
-        if (matrice1 == null) {
-            System.err.println("Erreur : la première matrice ne peut pas être null");
-            return null;
-        }
+        verifierProduit(matrice1, matrice2);
         
-        if (matrice2 == null) {
-            System.err.println("Erreur : la seconde matrice ne peut pas être null");
-            return null;
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.PRODUIT) : null;
+        Supermat resultat = new Supermat(matrice1.nl, matrice2.nc);
+
+        // Produit par blocs (voir NoyauProduit) : le résultat est nul à l'allocation
+        NoyauProduit.multiplier(matrice1, matrice2, resultat, 0, matrice1.nl, 0, matrice2.nc);
+
+        if (mesure != null) {
+            mesurerProduit(mesure, matrice1, matrice2, true);
         }
+        return resultat;
+    }
+    
+    /**
+     * Produit matriciel écrit dans une matrice existante, qui est écrasée :
+     * aucune matrice n'est allouée. La destination (nl(matrice1) x
+     * nc(matrice2)) doit être une matrice du tas non transposée, éventuellement
+     * une vue sousMatrice(), et ne pas partager les données des opérandes.
+     * Retourne destination.
+     */
+    public static Supermat produit(Supermat matrice1, Supermat matrice2, Supermat destination) {
+        verifierProduit(matrice1, matrice2);
+        verifierDestination(destination, matrice1.nl, matrice2.nc);
+        verifierAlias(destination, matrice1, matrice2);
         
-        if (matrice1.nc != matrice2.nl) {
-            System.err.println("Erreur : dimensions incompatibles pour le produit (" + 
-                             matrice1.nc + " != " + matrice2.nl + ")");
-            return null;
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.PRODUIT) : null;
+        destination.remplir(0.0);
+        NoyauProduit.multiplier(matrice1, matrice2, destination, 0, matrice1.nl, 0, matrice2.nc);
+        if (mesure != null) {
+            mesurerProduit(mesure, matrice1, matrice2, false);
         }
+        return destination;
+    }
+    
+    /**
+     * Produit matriciel parallèle sur le pool fork-join commun.
+     */
+    public static Supermat produitParallele(Supermat matrice1, Supermat matrice2) {
+        return produitParallele(matrice1, matrice2, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Produit matriciel parallèle sur un pool fork-join donné.
+     * Le nombre de threads est celui du pool (new ForkJoinPool(n)). Les petits
+     * produits sont calculés directement sur le thread appelant.
+     */
+    public static Supermat produitParallele(Supermat matrice1, Supermat matrice2, ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "le pool de threads ne peut pas être null");
+        verifierProduit(matrice1, matrice2);
         
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.PRODUIT_PARALLELE) : null;
         Supermat resultat = new Supermat(matrice1.nl, matrice2.nc);
+        multiplierParallele(matrice1, matrice2, resultat, pool);
+        if (mesure != null) {
+            mesurerProduit(mesure, matrice1, matrice2, true);
+        }
+        return resultat;
+    }
+    
+    /**
+     * Produit matriciel parallèle écrit dans une matrice existante (voir
+     * produit(Supermat, Supermat, Supermat)). Retourne destination.
+     */
+    public static Supermat produitParallele(Supermat matrice1, Supermat matrice2, Supermat destination,
+                                            ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "le pool de threads ne peut pas être null");
+        verifierProduit(matrice1, matrice2);
+        verifierDestination(destination, matrice1.nl, matrice2.nc);
+        verifierAlias(destination, matrice1, matrice2);
         
-        for (int i = 0; i < matrice1.nl; i++) {
-            for (int j = 0; j < matrice2.nc; j++) {
-                double somme = 0.0;
-                for (int k = 0; k < matrice1.nc; k++) {
-                    somme += matrice1.ligne[i][k] * matrice2.ligne[k][j];
-                }
-                resultat.ligne[i][j] = somme;
-            }
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.PRODUIT_PARALLELE) : null;
+        destination.remplir(0.0);
+        multiplierParallele(matrice1, matrice2, destination, pool);
+        if (mesure != null) {
+            mesurerProduit(mesure, matrice1, matrice2, false);
         }
+        return destination;
+    }
+    
+    /**
+     * Fin de la mesure d'un produit : 2 nl nc p opérations flottantes (même
+     * pour Strassen, par convention), et le résultat s'il a été alloué.
+     */
+    private static void mesurerProduit(Mesures.Mesure mesure, Supermat matrice1, Supermat matrice2,
+                                       boolean alloue) {
+        int nl = matrice1.nl;
+        int nc = matrice2.nc;
+        int p = matrice1.nc;
+        mesure.fin(nl, nc, p, 2L * nl * nc * p, alloue ? 8L * nl * nc : 0L);
+    }
+    
+    /**
+     * resultat += matrice1 × matrice2 sur le pool ; les petits produits
+     * restent sur le thread appelant.
+     */
+    private static void multiplierParallele(Supermat matrice1, Supermat matrice2, Supermat resultat,
+                                            ForkJoinPool pool) {
+        TacheProduit tache = new TacheProduit(matrice1, matrice2, resultat, pool.getParallelism());
         
+        if ((long) matrice1.nl * matrice2.nc * matrice1.nc <= TacheProduit.SEUIL) {
+            tache.invoke();
+        } else {
+            pool.invoke(tache);
+        }
+    }
+    
+    /**
+     * Produit matrice × vecteur : y = A x, où x a nc éléments et y nl.
+     * Aucune matrice n'est allouée (voir multiplierVecteur(double, double[], double, double[])).
+     */
+    public void multiplierVecteur(double[] x, double[] y) {
+        multiplierVecteur(1.0, x, 0.0, y);
+    }
+    
+    /**
+     * y = alpha A x + beta y (GEMV). Si beta vaut 0, y n'est pas lu. Les
+     * lignes sont traitées 4 par 4, x étant lu une fois pour les 4 produits
+     * scalaires ; sur une vue transposée, le stockage est parcouru dans son
+     * ordre (voir NoyauVecteur).
+     */
+    public void multiplierVecteur(double alpha, double[] x, double beta, double[] y) {
+        multiplierVecteur(alpha, x, beta, y, null);
+    }
+    
+    /**
+     * GEMV dont les lignes (les colonnes de y sur une vue transposée) sont
+     * réparties sur un pool fork-join ; les petites matrices restent sur le
+     * thread appelant. Le résultat est le même qu'en séquentiel.
+     */
+    public void multiplierVecteur(double alpha, double[] x, double beta, double[] y, ForkJoinPool pool) {
+        verifierVecteurs(x, nc, y, nl);
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.PRODUIT_VECTEUR) : null;
+        calculerVecteur(false, alpha, x, beta, y, pool);
+        if (mesure != null) {
+            mesure.fin(nl, nc, 0, 2L * nl * nc, 0L);
+        }
+    }
+    
+    /**
+     * Produit par la transposée : y = Aᵗ x, où x a nl éléments et y nc,
+     * sans vue ni copie de la transposée.
+     */
+    public void multiplierVecteurTransposee(double[] x, double[] y) {
+        multiplierVecteurTransposee(1.0, x, 0.0, y);
+    }
+    
+    /**
+     * y = alpha Aᵗ x + beta y. Le résultat est cumulé 4 lignes de A à la
+     * fois, y étant lu et écrit une fois pour les 4.
+     */
+    public void multiplierVecteurTransposee(double alpha, double[] x, double beta, double[] y) {
+        multiplierVecteurTransposee(alpha, x, beta, y, null);
+    }
+    
+    /**
+     * y = alpha Aᵗ x + beta y, réparti sur un pool fork-join.
+     */
+    public void multiplierVecteurTransposee(double alpha, double[] x, double beta, double[] y,
+                                            ForkJoinPool pool) {
+        verifierVecteurs(x, nl, y, nc);
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.PRODUIT_VECTEUR_TRANSPOSEE) : null;
+        calculerVecteur(true, alpha, x, beta, y, pool);
+        if (mesure != null) {
+            mesure.fin(nl, nc, 0, 2L * nl * nc, 0L);
+        }
+    }
+    
+    /**
+     * y = alpha op(A) x + beta y, op(A) étant A ou sa transposée. Sur le
+     * stockage S (A, ou Aᵗ pour une vue transposée), il s'agit de S x ou de
+     * Sᵗ x.
+     */
+    private void calculerVecteur(boolean parTransposee, double alpha, double[] x, double beta, double[] y,
+                                 ForkJoinPool pool) {
+        long elements = (long) nl * nc;
+        if (parTransposee == transposee) {
+            NoyauVecteur.executer(pool, y.length, elements,
+                                  (d, f) -> NoyauVecteur.lignes(this, alpha, x, beta, y, d, f));
+        } else {
+            NoyauVecteur.executer(pool, y.length, elements,
+                                  (d, f) -> NoyauVecteur.colonnes(this, alpha, x, beta, y, d, f));
+        }
+    }
+    
+    /**
+     * Mise à jour de rang 1 (GER) : A += alpha x yᵗ, où x a nl éléments et
+     * y nc. Chaque ligne i reçoit alpha x[i] y, sans allocation.
+     */
+    public void ajouterProduitExterieur(double alpha, double[] x, double[] y) {
+        ajouterProduitExterieur(alpha, x, y, null);
+    }
+    
+    /**
+     * A += alpha x yᵗ, les lignes étant réparties sur un pool fork-join.
+     */
+    public void ajouterProduitExterieur(double alpha, double[] x, double[] y, ForkJoinPool pool) {
+        verifierVecteurs(x, nl, y, nc);
+        verifierEcriture();
+        modifiee();
+        
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.PRODUIT_EXTERIEUR) : null;
+        // Sur une vue transposée, le stockage reçoit alpha y xᵗ
+        double[] u = transposee ? y : x;
+        double[] v = transposee ? x : y;
+        NoyauVecteur.executer(pool, u.length, (long) nl * nc,
+                              (d, f) -> NoyauVecteur.rangUn(this, alpha, u, v, d, f));
+        if (mesure != null) {
+            mesure.fin(nl, nc, 0, 2L * nl * nc, 0L);
+        }
+    }
+    
+    /**
+     * Applique la matrice à une suite de vecteurs : pour chaque x, y = A x
+     * est calculé dans un seul tableau de nl éléments, réutilisé d'un
+     * vecteur à l'autre et passé à action. action doit donc copier y s'il
+     * veut le conserver.
+     */
+    public void multiplierVecteurs(Iterator<double[]> vecteurs, Consumer<double[]> action) {
+        Objects.requireNonNull(vecteurs, "les vecteurs ne peuvent pas être null");
+        Objects.requireNonNull(action, "l'action ne peut pas être null");
+        
+        double[] y = new double[nl];
+        while (vecteurs.hasNext()) {
+            multiplierVecteur(1.0, vecteurs.next(), 0.0, y);
+            action.accept(y);
+        }
+    }
+    
+    /**
+     * multiplierVecteurs() sur un flux, parcouru dans l'ordre sur le thread
+     * appelant (le tableau résultat étant unique).
+     */
+    public void multiplierVecteurs(Stream<double[]> vecteurs, Consumer<double[]> action) {
+        Objects.requireNonNull(vecteurs, "les vecteurs ne peuvent pas être null");
+        multiplierVecteurs(vecteurs.sequential().iterator(), action);
+    }
+    
+    /**
+     * Vérifie les vecteurs d'un produit matrice × vecteur (x de nx éléments,
+     * y de ny éléments, distincts).
+     */
+    private void verifierVecteurs(double[] x, int nx, double[] y, int ny) {
+        Objects.requireNonNull(x, "le vecteur x ne peut pas être null");
+        Objects.requireNonNull(y, "le vecteur y ne peut pas être null");
+        
+        if (estLiberee()) {
+            throw new MatriceLibereeException();
+        }
+        
+        if (x.length != nx) {
+            throw new DimensionsException("le vecteur x a " + x.length + " éléments au lieu de " + nx);
+        }
+        
+        if (y.length != ny) {
+            throw new DimensionsException("le vecteur y a " + y.length + " éléments au lieu de " + ny);
+        }
+        
+        if (x == y) {
+            throw new IllegalArgumentException("les vecteurs x et y doivent être distincts");
+        }
+    }
+    
+    /**
+     * Produit matriciel par l'algorithme de Strassen-Winograd, avec le seuil
+     * par défaut (256). Voir produitStrassen(Supermat, Supermat, int).
+     */
+    public static Supermat produitStrassen(Supermat matrice1, Supermat matrice2) {
+        return produitStrassen(matrice1, matrice2, ProduitStrassen.SEUIL_DEFAUT);
+    }
+    
+    /**
+     * Produit matriciel par l'algorithme de Strassen-Winograd (7 produits de
+     * quadrants au lieu de 8 à chaque niveau), intéressant pour les grandes
+     * matrices carrées. La récursion s'arrête quand une dimension ne dépasse
+     * plus seuil, et produit() termine le calcul ; les dimensions impaires
+     * sont traitées à part. Les arrondis diffèrent légèrement de produit()
+     * (erreur de l'ordre de n^0.58 fois plus grande dans le pire cas).
+     * Les opérandes transposés ou projetés sont d'abord recopiés dans le tas.
+     */
+    public static Supermat produitStrassen(Supermat matrice1, Supermat matrice2, int seuil) {
+        if (seuil < 1) {
+            throw new IllegalArgumentException("le seuil de Strassen doit être positif (" + seuil + ")");
+        }
+        verifierProduit(matrice1, matrice2);
+        
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.PRODUIT_STRASSEN) : null;
+        Supermat resultat = new Supermat(matrice1.nl, matrice2.nc);
+        Supermat a = versTas(matrice1);
+        Supermat b = versTas(matrice2);
+        ProduitStrassen.multiplier(a, b, resultat, seuil);
+        
+        // Copies éventuelles rendues à la réserve
+        if (a != matrice1) {
+            a.liberer();
+        }
+        if (b != matrice2) {
+            b.liberer();
+        }
+        if (mesure != null) {
+            mesurerProduit(mesure, matrice1, matrice2, true);
+        }
         return resultat;
     }
     
+    /**
+     * La matrice elle-même si ses lignes sont dans un tableau du tas, sinon
+     * une copie (vue transposée ou matrice projetée).
+     */
+    static Supermat versTas(Supermat m) {
+        if (!m.transposee && m.projete == null) {
+            return m;
+        }
+        Supermat copie = new Supermat(m.nl, m.nc);
+        copie.copierDepuis(m);
+        return copie;
+    }
+    
+    /**
+     * Vérifie qu'une matrice peut recevoir un résultat nl x nc : matrice du
+     * tas, non transposée et non libérée.
+     */
+    static void verifierDestination(Supermat destination, int nl, int nc) {
+        Objects.requireNonNull(destination, "la matrice destination ne peut pas être null");
+        
+        if (destination.estLiberee()) {
+            throw new MatriceLibereeException("la matrice destination a été libérée");
+        }
+        
+        if (destination.transposee || destination.projete != null) {
+            throw new SupermatException("la matrice destination doit être une matrice du tas non transposée");
+        }
+        
+        if (destination.nl != nl || destination.nc != nc) {
+            throw new DimensionsException("la matrice destination est " + destination.nl + "x" +
+                                          destination.nc + " au lieu de " + nl + "x" + nc);
+        }
+    }
+    
+    /**
+     * Vérifie que la destination d'un produit ne partage pas les données
+     * d'un opérande (elle serait écrasée pendant sa lecture).
+     */
+    private static void verifierAlias(Supermat destination, Supermat matrice1, Supermat matrice2) {
+        if (destination.donnees == matrice1.donnees || destination.donnees == matrice2.donnees) {
+            throw new IllegalArgumentException("la matrice destination partage les données d'un opérande");
+        }
+    }
+    
+    /**
+     * Vérifie que deux matrices peuvent être multipliées.
+     */
+    private static void verifierProduit(Supermat matrice1, Supermat matrice2) {
+        Objects.requireNonNull(matrice1, "la première matrice ne peut pas être null");
+        Objects.requireNonNull(matrice2, "la seconde matrice ne peut pas être null");
+        
+        if (matrice1.estLiberee() || matrice2.estLiberee()) {
+            throw new MatriceLibereeException();
+        }
+        
+        Controles.produit(matrice1.nc, matrice2.nl);
+    }
+    
+    /**
+     * Signale une écriture dans la matrice (et donc dans ses vues et son
+     * parent, qui partagent le compteur) : voir version().
+     */
+    void modifiee() {
+        if (modifications != null) {
+            modifications[0]++;
+        }
+    }
+    
+    /**
+     * Compteur de modifications du stockage, commun à une matrice et à ses
+     * vues : il change à chaque écriture par les méthodes de la bibliothèque
+     * (set(), permuterLignes(), copierDepuis(), produit dans une destination,
+     * libération...). Vaut -1 pour une matrice dont les écritures ne sont pas
+     * suivies : tableau enveloppé (envelopper()), qui peut être modifié
+     * directement, ou fichier projeté (projeter()). Utilisé par CacheSupermat.
+     * Champ ordinaire, sans barrière : une modification n'est visible d'un
+     * autre thread que si elle arrive-avant (happens-before) la lecture.
+     */
+    long version() {
+        return modifications != null ? modifications[0] : -1L;
+    }
+    
+    /**
+     * Vrai après recupererSupermat() (ou la fermeture du fichier projeté partagé).
+     */
+    private boolean estLiberee() {
+        return donnees == null && (projete == null || projete.isFerme());
+    }
+    
     /**
      * Permute deux lignes de la matrice - équivalent de permuterLignes() en C.
-     * En Java, on échange les références aux tableaux.
+     * Comme en C, aucune donnée n'est déplacée : on échange deux entrées du
+     * vecteur de permutation des lignes, créé au premier appel. Si ce vecteur
+     * est partagé avec une vue, il est d'abord recopié : comme les tableaux de
+     * pointeurs du C, parent et vues permutent leurs lignes indépendamment.
+     * Sur une vue transposée, les lignes sont des colonnes du stockage : les
+     * éléments sont alors réellement échangés (coût proportionnel à nc).
      */
     public void permuterLignes(int i, int j) {
-        if (i < 0 || j < 0 || i >= nl || j >= nl) {
-            System.err.println("Erreur : indices de lignes invalides (" + i + ", " + j + 
-                             ") pour matrice " + nl + "x" + nc);
-            return;
+        Objects.checkIndex(i, nl);
+        Objects.checkIndex(j, nl);
+        if (i != j) {
+            modifiee();
         }
         
-        if (i != j) {
-            double[] temp = ligne[i];
-            ligne[i] = ligne[j];
-            ligne[j] = temp;
+        if (i != j && transposee) {
+            verifierEcriture();
+            for (int k = 0; k < nc; k++) {
+                double temp = lire(i, k);
+                ecrire(i, k, lire(j, k));
+                ecrire(j, k, temp);
+            }
+        } else if (i != j) {
+            if (indLigne == null) {
+                indLigne = new int[nl];
+                for (int k = 0; k < nl; k++) {
+                    indLigne[k] = ligne0 + k;
+                }
+                baseLigne = 0;
+            } else if (permPartagee) {
+                indLigne = Arrays.copyOfRange(indLigne, baseLigne, baseLigne + nl);
+                baseLigne = 0;
+                permPartagee = false;
+            }
+            int temp = indLigne[i];
+            indLigne[i] = indLigne[j];
+            indLigne[j] = temp;
         }
     }
     
     /**
      * Crée une sous-matrice (vue) - équivalent de sousMatrice() en C.
-     * La sous-matrice partage les données avec la matrice originale.
+     * La sous-matrice partage les données avec la matrice originale : aucune
+     * donnée n'est copiée, la vue ne retient qu'un décalage, le pas entre
+     * lignes et une référence au stockage du parent (coût O(1) en mémoire).
      */
     public Supermat sousMatrice(int l1, int l2, int c1, int c2) {
         if (l1 < 0 || l2 >= nl || c1 < 0 || c2 >= nc || l1 > l2 || c1 > c2) {
-            System.err.println("Erreur : indices invalides pour la sous-matrice [" + 
-                             l1 + ".." + l2 + "][" + c1 + ".." + c2 + "]");
-            return null;
+            throw new IndexOutOfBoundsException("indices invalides pour la sous-matrice [" +
+                                                l1 + ".." + l2 + "][" + c1 + ".." + c2 + "] de " + this);
         }
         
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.SOUS_MATRICE) : null;
         int nouvNl = l2 - l1 + 1;
         int nouvNc = c2 - c1 + 1;
         
-        // Création d'un tableau de références vers les sous-lignes
-        double[][] nouvLigne = new double[nouvNl][];
-        for (int i = 0; i < nouvNl; i++) {
-            // Création d'un sous-tableau pour chaque ligne
-            nouvLigne[i] = new double[nouvNc];
-            // Référence vers la portion de ligne originale
-            System.arraycopy(ligne[l1 + i], c1, nouvLigne[i], 0, nouvNc);
-        }
+        // Décalages exprimés dans le stockage (lignes et colonnes échangées si transposée)
+        int dLigne = transposee ? c1 : l1;
+        int dColonne = transposee ? l1 : c1;
         
-        return new Supermat(nouvNl, nouvNc, nouvLigne, true);
+        vuesCreees = true;
+        Supermat vue;
+        if (projete != null && indLigne == null) {
+            // Fichier projeté : la première ligne est retenue à part (le décalage
+            // resterait sinon limité à 2^31 éléments)
+            vue = new Supermat(nouvNl, nouvNc, null, decalage + dColonne, ld, null, 0, true);
+            vue.ligne0 = ligne0 + dLigne;
+        } else if (indLigne == null) {
+            vue = new Supermat(nouvNl, nouvNc, donnees, decalage + dLigne * ld + dColonne, ld,
+                               null, 0, true);
+        } else {
+            // Lignes permutées : la vue partage le vecteur de permutation
+            permPartagee = true;
+            vue = new Supermat(nouvNl, nouvNc, donnees, decalage + dColonne, ld,
+                               indLigne, baseLigne + dLigne, true);
+        }
+        vue.transposee = transposee;
+        vue.projete = projete;
+        vue.modifications = modifications;
+        if (mesure != null) {
+            // Une vue n'alloue aucun tableau
+            mesure.fin(nouvNl, nouvNc, 0, 0L, 0L);
+        }
+        return vue;
     }
     
     /**
      * Copie les valeurs d'une autre matrice dans cette matrice.
      */
     public void copierDepuis(Supermat source) {
-        if (source == null) {
-            System.err.println("Erreur : la matrice source ne peut pas être null");
-            return;
+        Objects.requireNonNull(source, "la matrice source ne peut pas être null");
+        
+        if (source.estLiberee()) {
+            throw new MatriceLibereeException("la matrice source a été libérée");
         }
         
         if (this.nl != source.nl || this.nc != source.nc) {
-            System.err.println("Erreur : dimensions incompatibles (" + 
-                             this.nl + "x" + this.nc + " vs " + source.nl + "x" + source.nc + ")");
+            throw new DimensionsException("dimensions incompatibles (" +
+                                          this.nl + "x" + this.nc + " vs " + source.nl + "x" + source.nc + ")");
+        }
+        
+        verifierEcriture();
+        modifiee();
+        
+        if (source.projete != null || this.projete != null) {
+            // Fichier projeté : copie ligne par ligne à travers un tampon
+            double[] ligne = new double[nc];
+            for (int i = 0; i < nl; i++) {
+                source.getLigne(i, ligne);
+                this.setLigne(i, ligne);
+            }
+            return;
+        }
+        
+        if (source.estBlocContigu() && this.estBlocContigu()) {
+            System.arraycopy(source.donnees, source.debutLigne(0), this.donnees, this.debutLigne(0), nl * nc);
+            return;
+        }
+        
+        if (source.transposee || this.transposee) {
+            for (int i = 0; i < nl; i++) {
+                for (int j = 0; j < nc; j++) {
+                    this.donnees[this.adresse(i, j)] = source.donnees[source.adresse(i, j)];
+                }
+            }
             return;
         }
         
         for (int i = 0; i < nl; i++) {
-            System.arraycopy(source.ligne[i], 0, this.ligne[i], 0, nc);
+            System.arraycopy(source.donnees, source.debutLigne(i), this.donnees, this.debutLigne(i), nc);
         }
     }
     
@@ -191,56 +1034,177 @@ public class Supermat {
      * Équivalent de matSupermat() en C.
      */
     public static Supermat matSupermat(double[] m, int nld, int ncd, int nle, int nce) {
-        if (m == null) {
-            System.err.println("Erreur : le tableau ne peut pas être null");
-            return null;
+        verifierTableau(m, nld, ncd, nle, nce);
+        
+        Supermat resultat = new Supermat(nle, nce);
+        
+        if (nce == ncd) {
+            System.arraycopy(m, 0, resultat.donnees, 0, nle * nce);
+        } else {
+            for (int i = 0; i < nle; i++) {
+                System.arraycopy(m, i * ncd, resultat.donnees, i * nce, nce);
+            }
         }
         
+        return resultat;
+    }
+    
+    /**
+     * Crée une supermatrice qui utilise directement le tableau 1D fourni,
+     * sans copie : comme le matSupermat() du C, les modifications de l'une
+     * sont visibles dans l'autre. Le pas entre deux lignes est ncd.
+     */
+    public static Supermat envelopper(double[] m, int nld, int ncd, int nle, int nce) {
+        verifierTableau(m, nld, ncd, nle, nce);
+        return new Supermat(nle, nce, m, 0, ncd, null, 0, false);
+    }
+    
+    /**
+     * Vérifie un tableau nld x ncd dont on garde le coin nle x nce
+     * (matSupermat(), envelopper(), supermatMat()).
+     */
+    static void verifierTableau(double[] m, int nld, int ncd, int nle, int nce) {
+        Objects.requireNonNull(m, "le tableau ne peut pas être null");
+        
         if (nle <= 0 || nce <= 0 || nle > nld || nce > ncd) {
-            System.err.println("Erreur : paramètres invalides pour matSupermat");
-            return null;
+            throw new DimensionsException("dimensions invalides (" + nle + "x" + nce +
+                                          " dans un tableau " + nld + "x" + ncd + ")");
         }
         
-        if (m.length < nld * ncd) {
-            System.err.println("Erreur : tableau trop petit");
-            return null;
+        if (m.length < (long) nld * ncd) {
+            throw new DimensionsException("tableau trop petit (" + m.length + " éléments pour " +
+                                          nld + "x" + ncd + ")");
         }
+    }
+    
+    /**
+     * Projette en mémoire une supermatrice nl x nc stockée dans un fichier,
+     * en lecture-écriture. Le fichier est créé ou agrandi si nécessaire.
+     * Voir projeter(Path, int, int, FileChannel.MapMode).
+     */
+    public static Supermat projeter(Path fichier, int nl, int nc) {
+        return projeter(fichier, nl, nc, FileChannel.MapMode.READ_WRITE);
+    }
+    
+    /**
+     * Projette en mémoire une supermatrice nl x nc stockée dans un fichier.
+     * Les éléments restent hors du tas : le fichier (nl x nc doubles
+     * petit-boutistes, ligne par ligne, sans en-tête) peut dépasser la mémoire
+     * disponible, le système chargeant les pages à la demande. En READ_ONLY,
+     * plusieurs JVM peuvent partager le même fichier sans le recopier ; en
+     * PRIVATE, les écritures restent locales au processus.
+     * get/set, sousMatrice(), transposee(), produit() et les utilitaires
+     * s'utilisent comme sur une matrice ordinaire ; recupererSupermat() ferme
+     * le fichier, et synchroniser() force l'écriture des modifications.
+     *
+     * @throws SupermatException si le fichier ne peut pas être projeté
+     *         (l'IOException d'origine est dans getCause())
+     */
+    public static Supermat projeter(Path fichier, int nl, int nc, FileChannel.MapMode mode) {
+        Objects.requireNonNull(fichier, "le fichier ne peut pas être null");
+        Objects.requireNonNull(mode, "le mode ne peut pas être null");
         
-        Supermat resultat = new Supermat(nle, nce);
+        if (nl <= 0 || nc <= 0 || nc > StockageProjete.LD_MAX) {
+            throw new DimensionsException("dimensions invalides (" + nl + ", " + nc + ")");
+        }
+        
+        StockageProjete stockage;
+        try {
+            stockage = StockageProjete.ouvrir(fichier, 0, nl, nc, mode);
+        } catch (IOException e) {
+            throw new SupermatException("projection de " + fichier + " impossible (" + e.getMessage() + ")", e);
+        }
+        
+        Supermat resultat = new Supermat(nl, nc, null, 0, nc, null, 0, false);
+        resultat.projete = stockage;
+        return resultat;
+    }
+    
+    /**
+     * Projette en mémoire un fichier écrit par sauvegarder() : les dimensions
+     * sont lues dans l'en-tête et les éléments restent dans le fichier
+     * (voir projeter(Path, int, int, FileChannel.MapMode)).
+     */
+    public static Supermat projeter(Path fichier, FileChannel.MapMode mode) {
+        Objects.requireNonNull(fichier, "le fichier ne peut pas être null");
+        Objects.requireNonNull(mode, "le mode ne peut pas être null");
         
-        for (int i = 0; i < nle; i++) {
-            for (int j = 0; j < nce; j++) {
-                double valeur = m[i * ncd + j];
-                resultat.set(i, j, valeur);
+        StockageProjete stockage;
+        FormatSupermat.EnTete enTete;
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            enTete = FormatSupermat.lireEnTete(canal);
+            if (enTete.ordre != ByteOrder.LITTLE_ENDIAN) {
+                throw new IOException("éléments gros-boutistes, utiliser charger()");
             }
+            stockage = StockageProjete.ouvrir(fichier, FormatSupermat.TAILLE_EN_TETE,
+                                              enTete.nl, enTete.nc, mode);
+        } catch (IOException e) {
+            throw new SupermatException("projection de " + fichier + " impossible (" + e.getMessage() + ")", e);
         }
         
+        Supermat resultat = new Supermat(enTete.nl, enTete.nc, null, 0, enTete.nc, null, 0, false);
+        resultat.projete = stockage;
         return resultat;
     }
     
+    /**
+     * Enregistre la supermatrice dans un fichier binaire (voir FormatSupermat) :
+     * en-tête de 32 octets puis éléments ligne par ligne, écrits par blocs à
+     * travers un FileChannel. Un fichier existant est remplacé.
+     *
+     * @throws SupermatException si l'écriture échoue (l'IOException d'origine
+     *         est dans getCause())
+     */
+    public void sauvegarder(Path fichier) {
+        Objects.requireNonNull(fichier, "le fichier ne peut pas être null");
+        
+        if (estLiberee()) {
+            throw new MatriceLibereeException();
+        }
+        
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.WRITE,
+                                                  StandardOpenOption.CREATE,
+                                                  StandardOpenOption.TRUNCATE_EXISTING)) {
+            FormatSupermat.ecrire(this, canal);
+        } catch (IOException e) {
+            throw new SupermatException("écriture de " + fichier + " impossible (" + e.getMessage() + ")", e);
+        }
+    }
+    
+    /**
+     * Charge dans le tas une supermatrice enregistrée par sauvegarder().
+     * Pour un fichier trop grand pour le tas, voir projeter(Path, MapMode)
+     * ou LecteurSupermat, qui lit le fichier par blocs de lignes.
+     */
+    public static Supermat charger(Path fichier) {
+        try (LecteurSupermat lecteur = LecteurSupermat.ouvrir(fichier)) {
+            return lecteur.lireTout();
+        }
+    }
+    
     /**
      * Copie les éléments d'une supermatrice dans un tableau 1D.
      * Équivalent de supermatMat() en C.
      */
     public void supermatMat(double[] m, int nld, int ncd) {
-        if (m == null) {
-            System.err.println("Erreur : le tableau ne peut pas être null");
-            return;
+        if (estLiberee()) {
+            throw new MatriceLibereeException();
         }
         
-        if (this.nl > nld || this.nc > ncd) {
-            System.err.println("Erreur : dimensions incompatibles pour supermatMat");
-            return;
-        }
+        verifierTableau(m, nld, ncd, this.nl, this.nc);
         
-        if (m.length < nld * ncd) {
-            System.err.println("Erreur : tableau trop petit");
+        if (projete == null && ncd == this.nc && estBlocContigu()) {
+            System.arraycopy(this.donnees, debutLigne(0), m, 0, this.nl * this.nc);
             return;
         }
         
         for (int i = 0; i < this.nl; i++) {
-            for (int j = 0; j < this.nc; j++) {
-                m[i * ncd + j] = this.ligne[i][j];
+            if (transposee) {
+                for (int j = 0; j < this.nc; j++) {
+                    m[i * ncd + j] = lire(i, j);
+                }
+            } else {
+                lireStockage(i, 0, m, i * ncd, this.nc);
             }
         }
     }
@@ -248,34 +1212,57 @@ public class Supermat {
     /**
      * Libère les ressources de la supermatrice.
      * Équivalent de recuprèreSupermat() en C.
-     * En Java, cette méthode marque la matrice comme libérée pour information.
+     * Le tableau d'une matrice créée par new Supermat() est rendu à la réserve
+     * (voir ReserveTampons) pour être réutilisé par les allocations suivantes,
+     * sauf si des vues en ont été tirées : il est alors laissé au garbage
+     * collector, les vues pouvant encore le lire.
+     * Pour une supermatrice projetée (voir projeter()), le fichier est réellement
+     * libéré : projections supprimées et fichier fermé. Ses vues ne doivent
+     * plus être utilisées ensuite ; libérer une vue ne ferme pas le fichier.
+     * Rien n'est affiché : la libération reste aussi peu coûteuse que la
+     * location du tableau.
      */
     public void recupererSupermat() {
-        // En Java, le garbage collector s'occupe automatiquement de la mémoire
-        // On peut juste marquer la matrice comme "libérée" pour cohérence avec le C
-        this.ligne = null;
+        if (vuesCreees) {
+            reservee = false;
+        }
+        liberer();
+    }
+    
+    /**
+     * Libère la matrice sans message. Le tableau loué est rendu à la réserve
+     * même si des vues en ont été tirées : réservé aux temporaires internes
+     * dont les vues ne servent plus.
+     */
+    void liberer() {
+        modifiee();
+        if (projete != null && !isSousMat) {
+            projete.fermer();
+        }
+        if (reservee && donnees != null) {
+            ReserveTampons.INSTANCE.rendre(donnees);
+        }
+        
+        this.donnees = null;
+        this.projete = null;
+        this.indLigne = null;
+        this.permPartagee = false;
+        this.transposee = false;
+        this.reservee = false;
         this.nl = 0;
         this.nc = 0;
         this.isSousMat = false;
-        System.out.println("Supermatrice libérée (marquée pour garbage collection)");
     }
     
     /**
      * Affiche le contenu de la supermatrice - équivalent d'afficherSupermat() en C.
+     * Le texte est formaté par AfficheurSupermat, qui sait aussi écrire vers
+     * un fichier et résumer les grandes matrices.
      */
     public void afficher(String nom) {
-        if (nom == null || nom.isEmpty()) {
-            nom = "Matrice";
-        }
-        
-        System.out.printf("%s (%dx%d) :\n", nom, nl, nc);
-        for (int i = 0; i < nl; i++) {
-            for (int j = 0; j < nc; j++) {
-                System.out.printf("%7.2f ", ligne[i][j]);
-            }
-            System.out.println();
-        }
-        System.out.println();
+        AfficheurSupermat sortie = new AfficheurSupermat(System.out);
+        sortie.afficher(nom, this);
+        sortie.flush();
     }
     
     /**
@@ -286,19 +1273,73 @@ public class Supermat {
         StringBuilder sb = new StringBuilder();
         sb.append(String.format("Supermat(%dx%d)", nl, nc));
         if (isSousMat) {
-            sb.append(" [Vue]");
+            sb.append(transposee ? " [Vue transposée]" : " [Vue]");
+        }
+        if (projete != null) {
+            sb.append(" [Projetée]");
         }
         return sb.toString();
     }
     
     /**
      * Analyse la contiguïté des données - équivalent de contiguite() en C.
-     * En Java, les tableaux sont toujours contigus, donc cette méthode
-     * retourne toujours 2 pour une matrice normale.
+     * Retourne 2 si les lignes se suivent en mémoire dans l'ordre, 1 si elles
+     * occupent un bloc contigu mais dans le désordre (après permuterLignes),
+     * 0 sinon (vue dont le pas entre lignes dépasse le nombre de colonnes,
+     * ou vue transposée dont les lignes sont des colonnes du stockage).
      */
     public int contiguite() {
-        // En Java, les tableaux 2D sont toujours organisés de manière contiguë
-        // par ligne, donc on retourne toujours 2 (contigu et ordonné)
-        return isSousMat ? 1 : 2;
+        if (estLiberee()) {
+            return 0;
+        }
+        
+        if (transposee) {
+            // Une seule colonne : les éléments (i, 0) se suivent dans le stockage
+            return nc == 1 ? 2 : 0;
+        }
+        
+        if (nl > 1 && ld != nc) {
+            return 0;
+        }
+        
+        if (estBlocContigu()) {
+            return 2;
+        }
+        
+        // Les lignes permutées forment-elles encore un bloc sans trou ?
+        int min = Integer.MAX_VALUE;
+        boolean[] vue = new boolean[nl];
+        for (int i = 0; i < nl; i++) {
+            min = Math.min(min, indLigne[baseLigne + i]);
+        }
+        for (int i = 0; i < nl; i++) {
+            int k = indLigne[baseLigne + i] - min;
+            if (k >= nl || vue[k]) {
+                return 0;
+            }
+            vue[k] = true;
+        }
+        return 1;
+    }
+    
+    /**
+     * Vrai si les éléments occupent nl*nc cases consécutives de donnees
+     * à partir de debutLigne(0), dans l'ordre naturel.
+     */
+    private boolean estBlocContigu() {
+        if (transposee || (nl > 1 && ld != nc)) {
+            return false;
+        }
+        
+        if (indLigne != null) {
+            int premiere = indLigne[baseLigne];
+            for (int i = 1; i < nl; i++) {
+                if (indLigne[baseLigne + i] != premiere + i) {
+                    return false;
+                }
+            }
+        }
+        
+        return true;
     }
 }
@@ -0,0 +1,219 @@
+package supermat;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Calculs asynchrones : chaque opération rend aussitôt un CompletableFuture
+ * et s'exécute sur un pool de calcul borné, partagé par tous les appelants.
+ *
+ * Les opérations peuvent dépendre de résultats encore en cours (produit(),
+ * transpose() et apres() acceptent des CompletionStage) : on décrit ainsi un
+ * graphe de calculs, chaque nœud partant dès que ses entrées sont prêtes.
+ * Une erreur ou une annulation se propage aux nœuds qui en dépendent.
+ *
+ * Contre-pression : au plus capacite opérations sont en attente ou en cours.
+ * Au-delà, l'appel qui soumet une opération attend qu'une place se libère ;
+ * les threads du pool, eux, n'attendent jamais. Les appelants peuvent ainsi
+ * être bien plus nombreux que les cœurs sans surcharger le pool. Un calcul
+ * passé à soumettre() ou apres() ne doit donc pas soumettre lui-même
+ * d'opération : il bloquerait un thread du pool.
+ *
+ * Annulation : cancel() sur le futur d'une opération qui n'a pas commencé
+ * l'empêche de partir et libère sa place ; une opération déjà commencée va
+ * à son terme (les noyaux ne sont pas interruptibles) et son résultat est
+ * ignoré.
+ *
+ * <pre>
+ * try (SupermatAsync calcul = new SupermatAsync()) {
+ *     CompletableFuture&lt;Supermat&gt; ab = calcul.produit(a, b);
+ *     CompletableFuture&lt;Supermat&gt; abc = calcul.produit(ab, CompletableFuture.completedFuture(c));
+ *     Supermat r = abc.join();
+ * }
+ * </pre>
+ */
+public final class SupermatAsync implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final boolean proprietaire;   // pool créé ici, arrêté par close()
+    private final int capacite;
+    private final Semaphore places;
+
+    /**
+     * Pool de calcul à un thread par cœur, créé pour cette instance, et
+     * capacité de 4 opérations par cœur.
+     */
+    public SupermatAsync() {
+        this(new ForkJoinPool(Runtime.getRuntime().availableProcessors()),
+             4 * Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * Calculs sur un pool existant (non arrêté par close()), avec au plus
+     * capacite opérations en attente ou en cours.
+     */
+    public SupermatAsync(ForkJoinPool pool, int capacite) {
+        this(pool, capacite, false);
+    }
+
+    private SupermatAsync(ForkJoinPool pool, int capacite, boolean proprietaire) {
+        Objects.requireNonNull(pool, "le pool de threads ne peut pas être null");
+        if (capacite < 1) {
+            throw new IllegalArgumentException("la capacité doit être positive (" + capacite + ")");
+        }
+
+        this.pool = pool;
+        this.proprietaire = proprietaire;
+        this.capacite = capacite;
+        this.places = new Semaphore(capacite);
+    }
+
+    /**
+     * Produit a × b. Un grand produit est lui-même réparti sur le pool
+     * (produitParallele()).
+     */
+    public CompletableFuture<Supermat> produit(Supermat a, Supermat b) {
+        Objects.requireNonNull(a, "la première matrice ne peut pas être null");
+        Objects.requireNonNull(b, "la seconde matrice ne peut pas être null");
+        return planifier(CompletableFuture.completedFuture(null), () -> Supermat.produitParallele(a, b, pool));
+    }
+
+    /**
+     * Produit de deux résultats à venir, calculé dès que les deux sont prêts.
+     */
+    public CompletableFuture<Supermat> produit(CompletionStage<Supermat> a, CompletionStage<Supermat> b) {
+        CompletableFuture<Supermat> fa = etape(a);
+        CompletableFuture<Supermat> fb = etape(b);
+        return planifier(CompletableFuture.allOf(fa, fb),
+                         () -> Supermat.produitParallele(fa.join(), fb.join(), pool));
+    }
+
+    /**
+     * Transposée copiée (SupermatUtils.transpose()).
+     */
+    public CompletableFuture<Supermat> transpose(Supermat a) {
+        Objects.requireNonNull(a, "la supermatrice ne peut pas être null");
+        return planifier(CompletableFuture.completedFuture(null), () -> SupermatUtils.transpose(a));
+    }
+
+    /**
+     * Transposée d'un résultat à venir.
+     */
+    public CompletableFuture<Supermat> transpose(CompletionStage<Supermat> a) {
+        CompletableFuture<Supermat> fa = etape(a);
+        return planifier(fa, () -> SupermatUtils.transpose(fa.join()));
+    }
+
+    /**
+     * Évaluation d'une expression différée (Expression.evaluer()).
+     */
+    public CompletableFuture<Supermat> evaluer(Expression e) {
+        Objects.requireNonNull(e, "l'expression ne peut pas être null");
+        return planifier(CompletableFuture.completedFuture(null), e::evaluer);
+    }
+
+    /**
+     * Calcul quelconque (décomposition LU, résolution...) sur le pool.
+     */
+    public <T> CompletableFuture<T> soumettre(Supplier<? extends T> calcul) {
+        Objects.requireNonNull(calcul, "le calcul ne peut pas être null");
+        return planifier(CompletableFuture.completedFuture(null), calcul);
+    }
+
+    /**
+     * Calcul sur un résultat à venir, lancé sur le pool dès qu'il est prêt.
+     */
+    public <S, T> CompletableFuture<T> apres(CompletionStage<S> source, Function<? super S, ? extends T> calcul) {
+        Objects.requireNonNull(calcul, "le calcul ne peut pas être null");
+        CompletableFuture<S> fs = etape(source);
+        return planifier(fs, () -> calcul.apply(fs.join()));
+    }
+
+    /**
+     * Nombre maximal d'opérations en attente ou en cours.
+     */
+    public int getCapacite() {
+        return capacite;
+    }
+
+    /**
+     * Nombre d'opérations en attente ou en cours.
+     */
+    public int getEnCours() {
+        return capacite - places.availablePermits();
+    }
+
+    /**
+     * Arrête le pool s'il a été créé par cette instance ; les opérations
+     * déjà lancées vont à leur terme.
+     */
+    @Override
+    public void close() {
+        if (proprietaire) {
+            pool.shutdown();
+        }
+    }
+
+    private static <T> CompletableFuture<T> etape(CompletionStage<T> etape) {
+        Objects.requireNonNull(etape, "le résultat attendu ne peut pas être null");
+        return etape.toCompletableFuture();
+    }
+
+    /**
+     * Réserve une place (en attendant si besoin, sur le thread appelant), puis
+     * lance calcul sur le pool quand prerequis est terminé. La place est
+     * rendue dès que le futur rendu est terminé, quelle qu'en soit la
+     * manière (résultat, erreur, annulation).
+     */
+    private <T> CompletableFuture<T> planifier(CompletableFuture<?> prerequis, Supplier<? extends T> calcul) {
+        try {
+            places.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<T> resultat = new CompletableFuture<>();
+        resultat.whenComplete((r, e) -> places.release());
+
+        prerequis.whenComplete((v, erreur) -> {
+            if (erreur != null) {
+                resultat.completeExceptionally(erreur);
+                return;
+            }
+            if (resultat.isDone()) {
+                return;   // annulée avant le départ
+            }
+            try {
+                pool.execute(() -> {
+                    if (resultat.isDone()) {
+                        return;
+                    }
+                    try {
+                        resultat.complete(calcul.get());
+                    } catch (Throwable t) {
+                        resultat.completeExceptionally(t);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                resultat.completeExceptionally(new SupermatException("pool de calcul arrêté", e));
+            }
+        });
+        return resultat;
+    }
+
+    /**
+     * Retourne une représentation textuelle de l'instance.
+     */
+    @Override
+    public String toString() {
+        return String.format("SupermatAsync(%d/%d en cours, %d threads)", getEnCours(), capacite,
+                             pool.getParallelism());
+    }
+}
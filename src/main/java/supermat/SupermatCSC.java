@@ -0,0 +1,87 @@
+package supermat;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Matrice creuse au format CSC (Compressed Sparse Column) : les éléments non
+ * nuls sont rangés colonne par colonne, avec leurs indices de ligne
+ * croissants. Format adapté aux produits dense × creuse et à l'accès aux
+ * colonnes.
+ */
+public final class SupermatCSC extends SupermatCreuse {
+
+    SupermatCSC(StockageCreux stockage) {
+        super(stockage, false);
+    }
+
+    /**
+     * Compresse une supermatrice dense (éléments différents de 0.0).
+     */
+    public static SupermatCSC depuisDense(Supermat m) {
+        Objects.requireNonNull(m, "la supermatrice ne peut pas être null");
+        return new SupermatCSC(StockageCreux.depuisDense(m, false));
+    }
+
+    /**
+     * Construit une matrice nl x nc à partir des tableaux CSC : les éléments
+     * de la colonne j sont en positions pointeurs[j]..pointeurs[j+1]-1 de
+     * lignes (strictement croissantes) et de valeurs. Les tableaux sont
+     * recopiés et leur cohérence est vérifiée.
+     */
+    public static SupermatCSC depuisTableaux(int nl, int nc, int[] pointeurs, int[] lignes, double[] valeurs) {
+        verifierTableaux(nc, nl, pointeurs, lignes, valeurs);
+        int nnz = pointeurs[nc];
+        return new SupermatCSC(new StockageCreux(nc, nl, pointeurs.clone(),
+                                                 Arrays.copyOf(lignes, nnz), Arrays.copyOf(valeurs, nnz)));
+    }
+
+    /**
+     * Construit une matrice nl x nc à partir de triplets (ligne, colonne,
+     * valeur) dans un ordre quelconque ; les doublons sont additionnés.
+     */
+    public static SupermatCSC depuisTriplets(int nl, int nc, int[] lignes, int[] colonnes, double[] valeurs) {
+        verifierTriplets(nl, nc, lignes, colonnes, valeurs);
+        return new SupermatCSC(StockageCreux.depuisTriplets(nc, nl, colonnes, lignes, valeurs, lignes.length));
+    }
+
+    /**
+     * Matrice identité n x n.
+     */
+    public static SupermatCSC identite(int n) {
+        return new SupermatCSC(SupermatCSR.identite(n).stockage);
+    }
+
+    /**
+     * Transposée sans copie, en O(1) : les tableaux CSC de la matrice sont
+     * exactement les tableaux CSR de sa transposée. Les deux matrices
+     * partagent leurs éléments.
+     */
+    public SupermatCSR transposee() {
+        return new SupermatCSR(stockage);
+    }
+
+    /**
+     * Copie transposée au format CSC, en O(nnz + nl + nc).
+     */
+    public SupermatCSC transpose() {
+        return new SupermatCSC(stockage.transposer());
+    }
+
+    /**
+     * Copie de la matrice au format CSR, en O(nnz + nl + nc).
+     */
+    public SupermatCSR versCSR() {
+        return new SupermatCSR(stockage.transposer());
+    }
+
+    /**
+     * Produit creuse × creuse. En CSC, la colonne j de A × B combine les
+     * colonnes de A désignées par la colonne j de B : c'est le produit de
+     * Gustavson appliqué aux stockages dans l'ordre (B, A).
+     */
+    public static SupermatCSC produit(SupermatCSC a, SupermatCSC b) {
+        verifierProduit(a, b);
+        return new SupermatCSC(StockageCreux.produit(b.stockage, a.stockage));
+    }
+}
@@ -0,0 +1,124 @@
+package supermat;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Matrice creuse au format CSR (Compressed Sparse Row) : les éléments non
+ * nuls sont rangés ligne par ligne, avec leurs indices de colonne croissants.
+ * Format adapté aux produits creuse × dense et au parcours par lignes.
+ */
+public final class SupermatCSR extends SupermatCreuse {
+
+    SupermatCSR(StockageCreux stockage) {
+        super(stockage, true);
+    }
+
+    /**
+     * Compresse une supermatrice dense (éléments différents de 0.0).
+     */
+    public static SupermatCSR depuisDense(Supermat m) {
+        Objects.requireNonNull(m, "la supermatrice ne peut pas être null");
+        return new SupermatCSR(StockageCreux.depuisDense(m, true));
+    }
+
+    /**
+     * Construit une matrice nl x nc à partir des tableaux CSR : les éléments
+     * de la ligne i sont en positions pointeurs[i]..pointeurs[i+1]-1 de
+     * colonnes (strictement croissantes) et de valeurs. Les tableaux sont
+     * recopiés et leur cohérence est vérifiée.
+     */
+    public static SupermatCSR depuisTableaux(int nl, int nc, int[] pointeurs, int[] colonnes, double[] valeurs) {
+        verifierTableaux(nl, nc, pointeurs, colonnes, valeurs);
+        int nnz = pointeurs[nl];
+        return new SupermatCSR(new StockageCreux(nl, nc, pointeurs.clone(),
+                                                 Arrays.copyOf(colonnes, nnz), Arrays.copyOf(valeurs, nnz)));
+    }
+
+    /**
+     * Construit une matrice nl x nc à partir de triplets (ligne, colonne,
+     * valeur) dans un ordre quelconque ; les doublons sont additionnés.
+     */
+    public static SupermatCSR depuisTriplets(int nl, int nc, int[] lignes, int[] colonnes, double[] valeurs) {
+        verifierTriplets(nl, nc, lignes, colonnes, valeurs);
+        return new SupermatCSR(StockageCreux.depuisTriplets(nl, nc, lignes, colonnes, valeurs, lignes.length));
+    }
+
+    /**
+     * Matrice aléatoire nl x nc dont chaque élément est non nul avec la
+     * probabilité densite (entre 0 et 1), de valeur uniforme dans [min, max[.
+     * Le coût est proportionnel au nombre de non-nuls ; la même graine
+     * redonne la même matrice (voir GenerateurAleatoire).
+     */
+    public static SupermatCSR aleatoire(int nl, int nc, double densite, double min, double max, long graine) {
+        if (nl <= 0 || nc <= 0) {
+            throw new DimensionsException("dimensions invalides (" + nl + ", " + nc + ")");
+        }
+
+        if (!(densite >= 0.0 && densite <= 1.0)) {
+            throw new IllegalArgumentException("la densité doit être entre 0 et 1 (" + densite + ")");
+        }
+
+        if (min > max) {
+            throw new IllegalArgumentException("min doit être inférieur ou égal à max (" + min + " > " + max + ")");
+        }
+
+        if (densite * nl * nc > Integer.MAX_VALUE - 8) {
+            throw new DimensionsException("trop d'éléments non nuls pour une matrice creuse (" +
+                                          nl + "x" + nc + ", densité " + densite + ")");
+        }
+
+        return new SupermatCSR(GenerateurAleatoire.creux(nl, nc, densite, min, max, graine));
+    }
+
+    /**
+     * Matrice identité n x n.
+     */
+    public static SupermatCSR identite(int n) {
+        if (n <= 0) {
+            throw new DimensionsException("dimension invalide (" + n + ")");
+        }
+
+        int[] pointeurs = new int[n + 1];
+        int[] colonnes = new int[n];
+        double[] valeurs = new double[n];
+        for (int i = 0; i < n; i++) {
+            pointeurs[i + 1] = i + 1;
+            colonnes[i] = i;
+            valeurs[i] = 1.0;
+        }
+        return new SupermatCSR(new StockageCreux(n, n, pointeurs, colonnes, valeurs));
+    }
+
+    /**
+     * Transposée sans copie, en O(1) : les tableaux CSR de la matrice sont
+     * exactement les tableaux CSC de sa transposée. Les deux matrices
+     * partagent leurs éléments.
+     */
+    public SupermatCSC transposee() {
+        return new SupermatCSC(stockage);
+    }
+
+    /**
+     * Copie transposée au format CSR, en O(nnz + nl + nc).
+     */
+    public SupermatCSR transpose() {
+        return new SupermatCSR(stockage.transposer());
+    }
+
+    /**
+     * Copie de la matrice au format CSC, en O(nnz + nl + nc).
+     */
+    public SupermatCSC versCSC() {
+        return new SupermatCSC(stockage.transposer());
+    }
+
+    /**
+     * Produit creuse × creuse (algorithme de Gustavson, ligne par ligne).
+     * Le coût ne dépend que des éléments non nuls effectivement combinés.
+     */
+    public static SupermatCSR produit(SupermatCSR a, SupermatCSR b) {
+        verifierProduit(a, b);
+        return new SupermatCSR(StockageCreux.produit(a.stockage, b.stockage));
+    }
+}
@@ -0,0 +1,323 @@
+package supermat;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Supermatrice partagée entre threads : get(), set(), ajouter(), getLigne(),
+ * setLigne() et permuterLignes() peuvent être appelés en même temps depuis
+ * plusieurs threads, chaque élément et chaque ligne étant lus ou modifiés
+ * d'un seul tenant.
+ *
+ * Comme le tableau de pointeurs de lignes du C, chaque ligne est un tableau
+ * distinct : permuterLignes() échange deux références (O(1)). Les lignes sont
+ * protégées par bandes de LIGNES_PAR_VERROU lignes, chacune par un
+ * StampedLock. Les lectures sont optimistes : elles ne prennent pas le
+ * verrou, et ne sont refaites sous verrou de lecture que si une écriture sur
+ * la même bande les a croisées. Les écritures sur des bandes différentes ne
+ * s'attendent pas.
+ *
+ * instantane() rend une copie figée de la matrice sans recopier les éléments :
+ * les deux matrices partagent leurs lignes, et la première écriture dans une
+ * ligne partagée la recopie (copie sur écriture). Les lecteurs d'un instantané
+ * ne prennent aucun des verrous de la matrice d'origine ; les calculs plus
+ * longs (produit, décomposition...) se font sur versSupermat(), qui part d'un
+ * instantané.
+ *
+ * <pre>
+ * SupermatConcurrente modele = SupermatConcurrente.depuis(a);
+ * // threads écrivains
+ * modele.set(i, j, v);
+ * modele.ajouter(i, j, delta);
+ * // threads lecteurs
+ * double x = modele.get(i, j);
+ * Supermat c = Supermat.produit(modele.versSupermat(), b);  // état cohérent à un instant
+ * </pre>
+ */
+public final class SupermatConcurrente implements Expression {
+
+    /** Nombre de lignes consécutives protégées par un même verrou. */
+    static final int LIGNES_PAR_VERROU = 8;
+
+    private final int nl;
+    private final int nc;
+    private final double[][] lignes;     // ligne i de la matrice, partagée ou non avec un instantané
+    private final boolean[] partagee;    // lignes[i] est aussi lue par un instantané : recopier avant d'écrire
+    private final StampedLock[] verrous; // verrous[i / LIGNES_PAR_VERROU] protège lignes[i] et partagee[i]
+
+    /**
+     * Alloue une matrice nl x nc d'éléments nuls.
+     */
+    public SupermatConcurrente(int nl, int nc) {
+        Controles.dimensions(nl, nc);
+
+        this.nl = nl;
+        this.nc = nc;
+        this.lignes = new double[nl][nc];
+        this.partagee = new boolean[nl];
+        this.verrous = creerVerrous(nl);
+    }
+
+    /**
+     * Instantané : lignes partagées avec la matrice d'origine.
+     */
+    private SupermatConcurrente(int nl, int nc, double[][] lignes) {
+        this.nl = nl;
+        this.nc = nc;
+        this.lignes = lignes;
+        this.partagee = new boolean[nl];
+        Arrays.fill(partagee, true);
+        this.verrous = creerVerrous(nl);
+    }
+
+    private static StampedLock[] creerVerrous(int nl) {
+        StampedLock[] v = new StampedLock[(nl + LIGNES_PAR_VERROU - 1) / LIGNES_PAR_VERROU];
+        for (int b = 0; b < v.length; b++) {
+            v[b] = new StampedLock();
+        }
+        return v;
+    }
+
+    /**
+     * Copie une matrice (ou une expression évaluée).
+     */
+    public static SupermatConcurrente depuis(Expression source) {
+        Objects.requireNonNull(source, "la matrice source ne peut pas être null");
+
+        Supermat m = ExpressionDifferee.materialiser(source);
+        SupermatConcurrente resultat = new SupermatConcurrente(m.getNombreLignes(), m.getNombreColonnes());
+        for (int i = 0; i < resultat.nl; i++) {
+            m.getLigne(i, resultat.lignes[i]);
+        }
+        return resultat;
+    }
+
+    @Override
+    public int getNombreLignes() {
+        return nl;
+    }
+
+    @Override
+    public int getNombreColonnes() {
+        return nc;
+    }
+
+    /**
+     * Accès en lecture à un élément, sans attendre les écrivains sauf si l'un
+     * d'eux modifie la même bande de lignes pendant la lecture.
+     */
+    @Override
+    public double get(int i, int j) {
+        if (Controles.INDICES) {
+            Objects.checkIndex(i, nl);
+            Objects.checkIndex(j, nc);
+        }
+        StampedLock verrou = verrous[i / LIGNES_PAR_VERROU];
+        long jeton = verrou.tryOptimisticRead();
+        double valeur = lignes[i][j];
+        if (!verrou.validate(jeton)) {
+            jeton = verrou.readLock();
+            try {
+                valeur = lignes[i][j];
+            } finally {
+                verrou.unlockRead(jeton);
+            }
+        }
+        return valeur;
+    }
+
+    /**
+     * Accès en écriture à un élément.
+     */
+    public void set(int i, int j, double valeur) {
+        if (Controles.INDICES) {
+            Objects.checkIndex(i, nl);
+            Objects.checkIndex(j, nc);
+        }
+        StampedLock verrou = verrous[i / LIGNES_PAR_VERROU];
+        long jeton = verrou.writeLock();
+        try {
+            ligneModifiable(i)[j] = valeur;
+        } finally {
+            verrou.unlockWrite(jeton);
+        }
+    }
+
+    /**
+     * Ajoute delta à l'élément (i, j) d'un seul tenant (aucune mise à jour
+     * concurrente n'est perdue) et retourne la nouvelle valeur.
+     */
+    public double ajouter(int i, int j, double delta) {
+        if (Controles.INDICES) {
+            Objects.checkIndex(i, nl);
+            Objects.checkIndex(j, nc);
+        }
+        StampedLock verrou = verrous[i / LIGNES_PAR_VERROU];
+        long jeton = verrou.writeLock();
+        try {
+            double[] ligne = ligneModifiable(i);
+            return ligne[j] += delta;
+        } finally {
+            verrou.unlockWrite(jeton);
+        }
+    }
+
+    /**
+     * Copie la ligne i dans dst[0..nc[ ; la ligne copiée n'est jamais à
+     * moitié modifiée.
+     */
+    public void getLigne(int i, double[] dst) {
+        Objects.checkIndex(i, nl);
+        Objects.requireNonNull(dst, "le tableau ne peut pas être null");
+        Controles.tableau(dst, 0, nc);
+
+        StampedLock verrou = verrous[i / LIGNES_PAR_VERROU];
+        long jeton = verrou.tryOptimisticRead();
+        System.arraycopy(lignes[i], 0, dst, 0, nc);
+        if (!verrou.validate(jeton)) {
+            jeton = verrou.readLock();
+            try {
+                System.arraycopy(lignes[i], 0, dst, 0, nc);
+            } finally {
+                verrou.unlockRead(jeton);
+            }
+        }
+    }
+
+    /**
+     * Remplace la ligne i par src[0..nc[, d'un seul tenant.
+     */
+    public void setLigne(int i, double[] src) {
+        Objects.checkIndex(i, nl);
+        Objects.requireNonNull(src, "le tableau ne peut pas être null");
+        Controles.tableau(src, 0, nc);
+
+        StampedLock verrou = verrous[i / LIGNES_PAR_VERROU];
+        long jeton = verrou.writeLock();
+        try {
+            if (partagee[i]) {
+                // Inutile de recopier l'ancienne ligne : elle est entièrement remplacée
+                lignes[i] = Arrays.copyOf(src, nc);
+                partagee[i] = false;
+            } else {
+                System.arraycopy(src, 0, lignes[i], 0, nc);
+            }
+        } finally {
+            verrou.unlockWrite(jeton);
+        }
+    }
+
+    /**
+     * Échange les lignes i et j (échange de deux références, O(1)). Les
+     * verrous des deux bandes sont pris dans l'ordre croissant.
+     */
+    public void permuterLignes(int i, int j) {
+        Objects.checkIndex(i, nl);
+        Objects.checkIndex(j, nl);
+        if (i == j) {
+            return;
+        }
+
+        int b1 = Math.min(i, j) / LIGNES_PAR_VERROU;
+        int b2 = Math.max(i, j) / LIGNES_PAR_VERROU;
+        long jeton1 = verrous[b1].writeLock();
+        long jeton2 = b2 != b1 ? verrous[b2].writeLock() : 0L;
+        try {
+            double[] ligne = lignes[i];
+            lignes[i] = lignes[j];
+            lignes[j] = ligne;
+            boolean p = partagee[i];
+            partagee[i] = partagee[j];
+            partagee[j] = p;
+        } finally {
+            if (b2 != b1) {
+                verrous[b2].unlockWrite(jeton2);
+            }
+            verrous[b1].unlockWrite(jeton1);
+        }
+    }
+
+    /**
+     * Copie figée de la matrice à cet instant, sans recopie des éléments :
+     * les lignes sont partagées, puis recopiées par la première écriture de
+     * l'une ou l'autre matrice. Tous les verrous sont pris le temps de copier
+     * les nl références de lignes (O(nl), pas O(nl x nc)).
+     *
+     * L'instantané est lui-même une SupermatConcurrente, qui peut être lue
+     * ou modifiée sans effet sur l'original.
+     */
+    public SupermatConcurrente instantane() {
+        long[] jetons = new long[verrous.length];
+        for (int b = 0; b < verrous.length; b++) {
+            jetons[b] = verrous[b].writeLock();
+        }
+        try {
+            Arrays.fill(partagee, true);
+            return new SupermatConcurrente(nl, nc, lignes.clone());
+        } finally {
+            for (int b = verrous.length - 1; b >= 0; b--) {
+                verrous[b].unlockWrite(jetons[b]);
+            }
+        }
+    }
+
+    /**
+     * Copie dans une nouvelle supermatrice du tas de l'état de la matrice à
+     * un instant (instantane()), recopié sans verrou.
+     */
+    public Supermat versSupermat() {
+        SupermatConcurrente fige = instantane();
+        Supermat resultat = new Supermat(nl, nc);
+        for (int i = 0; i < nl; i++) {
+            resultat.setLigne(i, fige.lignes[i]);
+        }
+        return resultat;
+    }
+
+    /**
+     * Évaluation dans une expression différée : versSupermat().
+     */
+    @Override
+    public Supermat evaluer() {
+        return versSupermat();
+    }
+
+    /**
+     * Transposée dans une expression différée : vue transposée d'une copie
+     * (versSupermat()), qui ne suit pas les modifications ultérieures.
+     */
+    @Override
+    public Expression t() {
+        return versSupermat().transposee();
+    }
+
+    /**
+     * Ligne i prête à être modifiée : recopiée d'abord si elle est partagée
+     * avec un instantané. Appelée sous le verrou d'écriture de sa bande.
+     */
+    private double[] ligneModifiable(int i) {
+        double[] ligne = lignes[i];
+        if (partagee[i]) {
+            ligne = ligne.clone();
+            lignes[i] = ligne;
+            partagee[i] = false;
+        }
+        return ligne;
+    }
+
+    /**
+     * Affiche le contenu (état à un instant), comme Supermat.afficher().
+     */
+    public void afficher(String nom) {
+        versSupermat().afficher(nom);
+    }
+
+    /**
+     * Retourne une représentation textuelle de la matrice.
+     */
+    @Override
+    public String toString() {
+        return String.format("SupermatConcurrente(%dx%d)", nl, nc);
+    }
+}
@@ -0,0 +1,218 @@
+package supermat;
+
+import java.util.Objects;
+
+/**
+ * Supermatrice creuse : seuls les éléments non nuls sont stockés, et la
+ * mémoire comme le temps de calcul sont proportionnels à leur nombre (nnz)
+ * plutôt qu'à nl x nc. Deux formats : SupermatCSR (compressé par lignes) et
+ * SupermatCSC (compressé par colonnes), voir StockageCreux.
+ *
+ * Comme Supermat.transposee(), transposee() ne copie rien : elle relit les
+ * mêmes tableaux dans l'autre format, et les deux matrices partagent alors
+ * leurs éléments (permuterLignes() sur l'une modifie l'autre).
+ */
+public abstract class SupermatCreuse {
+
+    final StockageCreux stockage;
+    final boolean parLignes;   // true : CSR, false : CSC
+
+    SupermatCreuse(StockageCreux stockage, boolean parLignes) {
+        this.stockage = stockage;
+        this.parLignes = parLignes;
+    }
+
+    /**
+     * Retourne le nombre de lignes.
+     */
+    public int getNombreLignes() {
+        return parLignes ? stockage.nMajeurs : stockage.nMineurs;
+    }
+
+    /**
+     * Retourne le nombre de colonnes.
+     */
+    public int getNombreColonnes() {
+        return parLignes ? stockage.nMineurs : stockage.nMajeurs;
+    }
+
+    /**
+     * Nombre d'éléments stockés (non nuls).
+     */
+    public int getNombreNonNuls() {
+        return stockage.nnz();
+    }
+
+    /**
+     * Accès en lecture à un élément (recherche dichotomique, O(log nnz par ligne)).
+     */
+    public double get(int i, int j) {
+        if (Controles.INDICES) {
+            Objects.checkIndex(i, getNombreLignes());
+            Objects.checkIndex(j, getNombreColonnes());
+        }
+        return parLignes ? stockage.get(i, j) : stockage.get(j, i);
+    }
+
+    /**
+     * Permute deux lignes. En CSR, seuls les éléments rangés entre les deux
+     * lignes sont déplacés ; en CSC, chaque colonne est parcourue une fois.
+     * Coût O(nnz) au pire dans les deux cas.
+     */
+    public void permuterLignes(int i, int j) {
+        Objects.checkIndex(i, getNombreLignes());
+        Objects.checkIndex(j, getNombreLignes());
+
+        if (parLignes) {
+            stockage.echangerMajeurs(i, j);
+        } else {
+            stockage.echangerMineurs(i, j);
+        }
+    }
+
+    /**
+     * Convertit en supermatrice dense.
+     */
+    public Supermat versDense() {
+        if ((long) getNombreLignes() * getNombreColonnes() > Integer.MAX_VALUE - 8) {
+            throw new DimensionsException("matrice trop grande pour être densifiée (" +
+                                          getNombreLignes() + "x" + getNombreColonnes() + ")");
+        }
+
+        Supermat resultat = new Supermat(getNombreLignes(), getNombreColonnes());
+        stockage.versDense(resultat, parLignes);
+        return resultat;
+    }
+
+    /**
+     * Produit creuse × dense : chaque élément non nul ajoute une ligne de b
+     * au résultat, sans jamais multiplier de zéros. Coût O(nnz × nc(b)).
+     */
+    public static Supermat produit(SupermatCreuse a, Supermat b) {
+        Objects.requireNonNull(a, "les matrices ne peuvent pas être null");
+        Objects.requireNonNull(b, "les matrices ne peuvent pas être null");
+        Controles.produit(a.getNombreColonnes(), b.getNombreLignes());
+
+        Supermat resultat = new Supermat(a.getNombreLignes(), b.getNombreColonnes());
+        Supermat dense = Supermat.versTas(b);
+        a.stockage.multiplierADroite(dense, resultat, a.parLignes);
+
+        // Copie éventuelle rendue à la réserve
+        if (dense != b) {
+            dense.liberer();
+        }
+        return resultat;
+    }
+
+    /**
+     * Produit dense × creuse. Coût O(nl(a) × nnz), plus nl(a) × nc(a) tests
+     * de nullité en CSR.
+     */
+    public static Supermat produit(Supermat a, SupermatCreuse b) {
+        Objects.requireNonNull(a, "les matrices ne peuvent pas être null");
+        Objects.requireNonNull(b, "les matrices ne peuvent pas être null");
+        Controles.produit(a.getNombreColonnes(), b.getNombreLignes());
+
+        Supermat resultat = new Supermat(a.getNombreLignes(), b.getNombreColonnes());
+        Supermat dense = Supermat.versTas(a);
+        b.stockage.multiplierAGauche(dense, resultat, b.parLignes);
+
+        // Copie éventuelle rendue à la réserve
+        if (dense != a) {
+            dense.liberer();
+        }
+        return resultat;
+    }
+
+    /**
+     * Vérifie les dimensions d'un produit creuse × creuse.
+     */
+    static void verifierProduit(SupermatCreuse a, SupermatCreuse b) {
+        Objects.requireNonNull(a, "les matrices ne peuvent pas être null");
+        Objects.requireNonNull(b, "les matrices ne peuvent pas être null");
+        Controles.produit(a.getNombreColonnes(), b.getNombreLignes());
+    }
+
+    /**
+     * Vérifie des tableaux compressés fournis par l'utilisateur : pointeurs
+     * croissants de 0 à nnz, indices dans [0, nMineurs[ et strictement
+     * croissants dans chaque majeure.
+     */
+    static void verifierTableaux(int nMajeurs, int nMineurs, int[] pointeurs, int[] indices,
+                                 double[] valeurs) {
+        if (nMajeurs <= 0 || nMineurs <= 0) {
+            throw new DimensionsException("dimensions invalides (" + nMajeurs + ", " + nMineurs + ")");
+        }
+
+        Objects.requireNonNull(pointeurs, "les tableaux ne peuvent pas être null");
+        Objects.requireNonNull(indices, "les tableaux ne peuvent pas être null");
+        Objects.requireNonNull(valeurs, "les tableaux ne peuvent pas être null");
+
+        if (pointeurs.length != nMajeurs + 1 || pointeurs[0] != 0
+                || indices.length < pointeurs[nMajeurs] || valeurs.length < pointeurs[nMajeurs]) {
+            throw new DimensionsException("tailles de tableaux incohérentes");
+        }
+
+        for (int r = 0; r < nMajeurs; r++) {
+            if (pointeurs[r + 1] < pointeurs[r]) {
+                throw new IllegalArgumentException("pointeurs décroissants en " + r);
+            }
+            for (int p = pointeurs[r]; p < pointeurs[r + 1]; p++) {
+                if (indices[p] < 0 || indices[p] >= nMineurs
+                        || (p > pointeurs[r] && indices[p] <= indices[p - 1])) {
+                    throw new IllegalArgumentException("indice invalide ou non croissant (" + indices[p] +
+                                                       ") en position " + p);
+                }
+            }
+        }
+    }
+
+    /**
+     * Vérifie des triplets (ligne, colonne, valeur) fournis par l'utilisateur.
+     */
+    static void verifierTriplets(int nl, int nc, int[] lignes, int[] colonnes, double[] valeurs) {
+        if (nl <= 0 || nc <= 0) {
+            throw new DimensionsException("dimensions invalides (" + nl + ", " + nc + ")");
+        }
+
+        Objects.requireNonNull(lignes, "les tableaux de triplets ne peuvent pas être null");
+        Objects.requireNonNull(colonnes, "les tableaux de triplets ne peuvent pas être null");
+        Objects.requireNonNull(valeurs, "les tableaux de triplets ne peuvent pas être null");
+
+        if (lignes.length != colonnes.length || lignes.length != valeurs.length) {
+            throw new DimensionsException("tableaux de triplets de tailles différentes");
+        }
+
+        for (int p = 0; p < lignes.length; p++) {
+            if (lignes[p] < 0 || lignes[p] >= nl || colonnes[p] < 0 || colonnes[p] >= nc) {
+                throw new IndexOutOfBoundsException("triplet hors limites (" + lignes[p] + ", " + colonnes[p] +
+                                                    ") pour matrice " + nl + "x" + nc);
+            }
+        }
+    }
+
+    /**
+     * Affiche le contenu sous forme dense, comme Supermat.afficher().
+     */
+    public void afficher(String nom) {
+        AfficheurSupermat sortie = new AfficheurSupermat(System.out);
+        sortie.afficher(nom, this);
+        sortie.flush();
+    }
+
+    /**
+     * Élément (i, j) sans contrôle des indices.
+     */
+    double lire(int i, int j) {
+        return parLignes ? stockage.get(i, j) : stockage.get(j, i);
+    }
+
+    /**
+     * Retourne une représentation textuelle de la matrice.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s(%dx%d, nnz=%d)", getClass().getSimpleName(),
+                             getNombreLignes(), getNombreColonnes(), getNombreNonNuls());
+    }
+}
@@ -0,0 +1,24 @@
+package supermat;
+
+/**
+ * Erreur signalée par la bibliothèque : dimensions invalides ou incompatibles
+ * (DimensionsException), matrice libérée (MatriceLibereeException), système
+ * singulier (MatriceSinguliereException), écriture refusée ou échec d'une
+ * entrée-sortie (cause d'origine dans getCause()).
+ *
+ * Les autres erreurs d'appel sont signalées par les exceptions usuelles :
+ * NullPointerException pour un argument null, IndexOutOfBoundsException pour
+ * un indice hors limites, IllegalArgumentException pour un paramètre invalide.
+ */
+public class SupermatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SupermatException(String message) {
+        super(message);
+    }
+
+    public SupermatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,330 @@
+package supermat;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Supermatrice en simple précision : les éléments sont des float, rangés
+ * comme ceux de Supermat dans un bloc unique avec un pas ld entre lignes.
+ *
+ * Deux fois moins de mémoire et deux fois plus d'éléments par vecteur qu'en
+ * double, pour les calculs où 7 chiffres significatifs suffisent. Le produit
+ * peut garder ses sommes en double (Precision.DOUBLE) : seuls les résultats
+ * sont arrondis en float.
+ *
+ * Comme Supermat, une SupermatFloat est une Expression (lue en double) :
+ * elle peut entrer dans une expression différée, dont evaluer() donne une
+ * Supermat.
+ *
+ * <pre>
+ * SupermatFloat a = SupermatFloat.depuis(m);                      // conversion
+ * SupermatFloat c = SupermatFloat.produit(a, b);                  // sommes en float
+ * SupermatFloat d = SupermatFloat.produit(a, b, Precision.DOUBLE); // sommes en double
+ * Supermat e = c.versDouble();
+ * </pre>
+ */
+public final class SupermatFloat implements Expression {
+
+    private final int nl;
+    private final int nc;
+    final float[] donnees;
+    private final int decalage;
+    final int ld;                       // pas entre deux lignes (colonnes si transposée) du stockage
+    private final boolean transposee;   // get(i, j) lit l'élément (j, i) du stockage
+    private final boolean isSousMat;
+
+    /** Côté des tuiles de transpose() (2 tuiles de 64x64 float tiennent dans L1). */
+    private static final int TUILE = 64;
+
+    /**
+     * Alloue une matrice nl x nc d'éléments nuls.
+     */
+    public SupermatFloat(int nl, int nc) {
+        Controles.dimensions(nl, nc);
+
+        this.nl = nl;
+        this.nc = nc;
+        this.donnees = new float[nl * nc];
+        this.decalage = 0;
+        this.ld = nc;
+        this.transposee = false;
+        this.isSousMat = false;
+    }
+
+    /**
+     * Vue sur un stockage existant (sousMatrice(), transposee(), envelopper()).
+     */
+    private SupermatFloat(int nl, int nc, float[] donnees, int decalage, int ld,
+                          boolean transposee, boolean isSousMat) {
+        this.nl = nl;
+        this.nc = nc;
+        this.donnees = donnees;
+        this.decalage = decalage;
+        this.ld = ld;
+        this.transposee = transposee;
+        this.isSousMat = isSousMat;
+    }
+
+    /**
+     * Copie une matrice (ou une expression évaluée) en simple précision ;
+     * chaque élément est arrondi au float le plus proche.
+     */
+    public static SupermatFloat depuis(Expression source) {
+        Objects.requireNonNull(source, "la matrice source ne peut pas être null");
+
+        Supermat m = ExpressionDifferee.materialiser(source);
+        int nl = m.getNombreLignes();
+        int nc = m.getNombreColonnes();
+        SupermatFloat resultat = new SupermatFloat(nl, nc);
+        double[] ligne = new double[nc];
+        for (int i = 0; i < nl; i++) {
+            m.getLigne(i, ligne);
+            int debut = i * nc;
+            for (int j = 0; j < nc; j++) {
+                resultat.donnees[debut + j] = (float) ligne[j];
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Crée une matrice qui utilise directement le tableau fourni, sans copie
+     * (voir Supermat.envelopper()). Le pas entre deux lignes est ncd.
+     */
+    public static SupermatFloat envelopper(float[] m, int nld, int ncd, int nle, int nce) {
+        Objects.requireNonNull(m, "le tableau ne peut pas être null");
+
+        if (nle <= 0 || nce <= 0 || nle > nld || nce > ncd) {
+            throw new DimensionsException("dimensions invalides (" + nle + "x" + nce +
+                                          " dans un tableau " + nld + "x" + ncd + ")");
+        }
+
+        if (m.length < (long) nld * ncd) {
+            throw new DimensionsException("tableau trop petit (" + m.length + " éléments pour " +
+                                          nld + "x" + ncd + ")");
+        }
+
+        return new SupermatFloat(nle, nce, m, 0, ncd, false, false);
+    }
+
+    /**
+     * Copie en double précision (exacte : tout float est un double).
+     */
+    public Supermat versDouble() {
+        Supermat resultat = new Supermat(nl, nc);
+        double[] d = resultat.donnees();
+        for (int i = 0; i < nl; i++) {
+            int li = resultat.debutLigne(i);
+            for (int j = 0; j < nc; j++) {
+                d[li + j] = donnees[adresse(i, j)];
+            }
+        }
+        return resultat;
+    }
+
+    @Override
+    public int getNombreLignes() {
+        return nl;
+    }
+
+    @Override
+    public int getNombreColonnes() {
+        return nc;
+    }
+
+    /**
+     * Indique si cette matrice est une vue (sousMatrice(), transposee()).
+     */
+    public boolean isView() {
+        return isSousMat;
+    }
+
+    /**
+     * Indique si cette matrice est une vue transposée.
+     */
+    public boolean isTransposee() {
+        return transposee;
+    }
+
+    /**
+     * Accès en lecture à un élément.
+     */
+    @Override
+    public double get(int i, int j) {
+        return getFloat(i, j);
+    }
+
+    /**
+     * Accès en lecture à un élément, sans conversion.
+     */
+    public float getFloat(int i, int j) {
+        if (Controles.INDICES) {
+            Objects.checkIndex(i, nl);
+            Objects.checkIndex(j, nc);
+        }
+        return donnees[adresse(i, j)];
+    }
+
+    /**
+     * Accès en écriture à un élément.
+     */
+    public void set(int i, int j, float valeur) {
+        if (Controles.INDICES) {
+            Objects.checkIndex(i, nl);
+            Objects.checkIndex(j, nc);
+        }
+        donnees[adresse(i, j)] = valeur;
+    }
+
+    /**
+     * Position dans donnees de l'élément (i, j).
+     */
+    private int adresse(int i, int j) {
+        return transposee ? decalage + j * ld + i : decalage + i * ld + j;
+    }
+
+    /**
+     * Position dans donnees du début de la ligne r du stockage : ligne r de
+     * la matrice, ou colonne r d'une vue transposée.
+     */
+    int debutStockage(int r) {
+        return decalage + r * ld;
+    }
+
+    /**
+     * Crée une sous-matrice (vue) partageant les données, comme Supermat.sousMatrice().
+     */
+    public SupermatFloat sousMatrice(int l1, int l2, int c1, int c2) {
+        if (l1 < 0 || l2 >= nl || c1 < 0 || c2 >= nc || l1 > l2 || c1 > c2) {
+            throw new IndexOutOfBoundsException("indices invalides pour la sous-matrice [" +
+                                                l1 + ".." + l2 + "][" + c1 + ".." + c2 + "] de " + this);
+        }
+
+        return new SupermatFloat(l2 - l1 + 1, c2 - c1 + 1, donnees, adresse(l1, c1), ld, transposee, true);
+    }
+
+    /**
+     * Vue transposée, sans copie : get(i, j) lit l'élément (j, i) de cette
+     * matrice. Elle est lue directement par produit().
+     */
+    public SupermatFloat transposee() {
+        return new SupermatFloat(nc, nl, donnees, decalage, ld, !transposee, true);
+    }
+
+    /**
+     * Transposée copiée dans une nouvelle matrice, par tuiles comme
+     * SupermatUtils.transpose().
+     */
+    public SupermatFloat transpose() {
+        SupermatFloat resultat = new SupermatFloat(nc, nl);
+        float[] dst = resultat.donnees;
+        for (int ib = 0; ib < nl; ib += TUILE) {
+            int finI = Math.min(ib + TUILE, nl);
+            for (int jb = 0; jb < nc; jb += TUILE) {
+                int finJ = Math.min(jb + TUILE, nc);
+                for (int i = ib; i < finI; i++) {
+                    for (int j = jb; j < finJ; j++) {
+                        dst[j * nl + i] = donnees[adresse(i, j)];
+                    }
+                }
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Transposée dans une expression différée : la vue transposee().
+     */
+    @Override
+    public Expression t() {
+        return transposee();
+    }
+
+    /**
+     * Évaluation en double : versDouble().
+     */
+    @Override
+    public Supermat evaluer() {
+        return versDouble();
+    }
+
+    /**
+     * Produit matriciel en simple précision (sommes en float).
+     */
+    public static SupermatFloat produit(SupermatFloat a, SupermatFloat b) {
+        return produit(a, b, Precision.SIMPLE);
+    }
+
+    /**
+     * Produit matriciel dont les sommes sont faites dans la précision
+     * donnée : Precision.DOUBLE garde les sommes en double et n'arrondit en
+     * float que le résultat (précision mixte).
+     */
+    public static SupermatFloat produit(SupermatFloat a, SupermatFloat b, Precision accumulation) {
+        verifierProduit(a, b, accumulation);
+
+        SupermatFloat resultat = new SupermatFloat(a.nl, b.nc);
+        NoyauProduitFloat.multiplier(a, b, resultat, accumulation == Precision.DOUBLE, 0, a.nl, 0, b.nc);
+        return resultat;
+    }
+
+    /**
+     * Produit écrit dans une matrice existante (nl(a) x nc(b), non
+     * transposée, ne partageant pas les données de a ou b), qui est écrasée.
+     * Retourne destination.
+     */
+    public static SupermatFloat produit(SupermatFloat a, SupermatFloat b, SupermatFloat destination,
+                                        Precision accumulation) {
+        verifierProduit(a, b, accumulation);
+        Objects.requireNonNull(destination, "la matrice destination ne peut pas être null");
+
+        if (destination.transposee) {
+            throw new SupermatException("la matrice destination ne doit pas être transposée");
+        }
+
+        if (destination.nl != a.nl || destination.nc != b.nc) {
+            throw new DimensionsException("la matrice destination est " + destination.nl + "x" +
+                                          destination.nc + " au lieu de " + a.nl + "x" + b.nc);
+        }
+
+        if (destination.donnees == a.donnees || destination.donnees == b.donnees) {
+            throw new IllegalArgumentException("la matrice destination partage les données d'un opérande");
+        }
+
+        for (int i = 0; i < destination.nl; i++) {
+            int debut = destination.debutStockage(i);
+            Arrays.fill(destination.donnees, debut, debut + destination.nc, 0.0f);
+        }
+        NoyauProduitFloat.multiplier(a, b, destination, accumulation == Precision.DOUBLE, 0, a.nl, 0, b.nc);
+        return destination;
+    }
+
+    private static void verifierProduit(SupermatFloat a, SupermatFloat b, Precision accumulation) {
+        Objects.requireNonNull(a, "les matrices ne peuvent pas être null");
+        Objects.requireNonNull(b, "les matrices ne peuvent pas être null");
+        Objects.requireNonNull(accumulation, "la précision ne peut pas être null");
+        Controles.produit(a.nc, b.nl);
+    }
+
+    /**
+     * Affiche le contenu, comme Supermat.afficher().
+     */
+    public void afficher(String nom) {
+        AfficheurSupermat sortie = new AfficheurSupermat(System.out);
+        sortie.afficher(nom, this);
+        sortie.flush();
+    }
+
+    /**
+     * Retourne une représentation textuelle de la matrice.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("SupermatFloat(%dx%d)", nl, nc));
+        if (isSousMat) {
+            sb.append(transposee ? " [Vue transposée]" : " [Vue]");
+        }
+        return sb.toString();
+    }
+}
@@ -1,5 +1,8 @@
 package supermat;
 
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Classe utilitaire pour les fonctions de conversion et d'analyse des supermatrices.
  * Équivalent des fonctions matSupermat, supermatMat, etc. du code C.
@@ -16,33 +19,17 @@ public class SupermatUtils {
      * @param nle Nombre de lignes à extraire
      * @param nce Nombre de colonnes à extraire
      * @return Une nouvelle supermatrice
+     * @throws DimensionsException si le tableau est trop petit ou si les
+     *         dimensions sont invalides
      */
     public static Supermat matSupermat(double[] tableau, int nld, int ncd, 
                                        int nle, int nce) {
-        if (tableau == null) {
-            System.err.println("Erreur : le tableau ne peut pas être null");
-            return null;
-        }
-        
-        if (nle <= 0 || nce <= 0 || nle > nld || nce > ncd) {
-            System.err.println("Erreur : paramètres invalides pour la conversion: " +
-                              "nle=" + nle + ", nce=" + nce + ", nld=" + nld + ", ncd=" + ncd);
-            return null;
-        }
-        
-        if (tableau.length < nld * ncd) {
-            System.err.println("Erreur : tableau trop petit: " + tableau.length + 
-                              " éléments pour " + nld + "x" + ncd);
-            return null;
-        }
+        Supermat.verifierTableau(tableau, nld, ncd, nle, nce);
         
         Supermat resultat = new Supermat(nle, nce);
         
         for (int i = 0; i < nle; i++) {
-            for (int j = 0; j < nce; j++) {
-                double valeur = tableau[i * ncd + j];
-                resultat.set(i, j, valeur);
-            }
+            resultat.setLigne(i, tableau, i * ncd);
         }
         
         return resultat;
@@ -53,9 +40,9 @@ public class SupermatUtils {
      * Version surchargée plus pratique pour Java.
      */
     public static Supermat matSupermat(double[][] tableau) {
-        if (tableau == null || tableau.length == 0) {
-            System.err.println("Erreur : le tableau ne peut pas être null ou vide");
-            return null;
+        Objects.requireNonNull(tableau, "le tableau ne peut pas être null");
+        if (tableau.length == 0) {
+            throw new DimensionsException("le tableau ne peut pas être vide");
         }
         
         int nle = tableau.length;
@@ -64,17 +51,14 @@ public class SupermatUtils {
         // Vérifier que toutes les lignes ont la même taille
         for (int i = 1; i < nle; i++) {
             if (tableau[i] == null || tableau[i].length != nce) {
-                System.err.println("Erreur : ligne " + i + " de taille incorrecte");
-                return null;
+                throw new DimensionsException("ligne " + i + " de taille incorrecte");
             }
         }
         
         Supermat resultat = new Supermat(nle, nce);
         
         for (int i = 0; i < nle; i++) {
-            for (int j = 0; j < nce; j++) {
-                resultat.set(i, j, tableau[i][j]);
-            }
+            resultat.setLigne(i, tableau[i]);
         }
         
         return resultat;
@@ -86,33 +70,11 @@ public class SupermatUtils {
      */
     public static void supermatMat(Supermat sm, double[] tableau, 
                                    int nld, int ncd) {
-        if (sm == null) {
-            System.err.println("Erreur : la supermatrice ne peut pas être null");
-            return;
-        }
-        
-        if (tableau == null) {
-            System.err.println("Erreur : le tableau ne peut pas être null");
-            return;
-        }
-        
-        if (sm.getNombreLignes() > nld || sm.getNombreColonnes() > ncd) {
-            System.err.println("Erreur : dimensions incompatibles pour la copie: " +
-                              "supermat " + sm.getNombreLignes() + "x" + sm.getNombreColonnes() + 
-                              " vs tableau " + nld + "x" + ncd);
-            return;
-        }
-        
-        if (tableau.length < nld * ncd) {
-            System.err.println("Erreur : tableau trop petit: " + tableau.length + 
-                              " éléments pour " + nld + "x" + ncd);
-            return;
-        }
+        Objects.requireNonNull(sm, "la supermatrice ne peut pas être null");
+        Supermat.verifierTableau(tableau, nld, ncd, sm.getNombreLignes(), sm.getNombreColonnes());
         
         for (int i = 0; i < sm.getNombreLignes(); i++) {
-            for (int j = 0; j < sm.getNombreColonnes(); j++) {
-                tableau[i * ncd + j] = sm.get(i, j);
-            }
+            sm.getLigne(i, tableau, i * ncd);
         }
     }
     
@@ -121,30 +83,21 @@ public class SupermatUtils {
      * Version surchargée plus pratique pour Java.
      */
     public static void supermatMat(Supermat sm, double[][] tableau) {
-        if (sm == null) {
-            System.err.println("Erreur : la supermatrice ne peut pas être null");
-            return;
-        }
+        Objects.requireNonNull(sm, "la supermatrice ne peut pas être null");
         
-        if (tableau == null || tableau.length == 0) {
-            System.err.println("Erreur : le tableau ne peut pas être null ou vide");
-            return;
-        }
+        Objects.requireNonNull(tableau, "le tableau ne peut pas être null");
         
         int nld = tableau.length;
-        int ncd = tableau[0].length;
+        int ncd = nld == 0 ? 0 : tableau[0].length;
         
         if (sm.getNombreLignes() > nld || sm.getNombreColonnes() > ncd) {
-            System.err.println("Erreur : dimensions incompatibles pour la copie: " +
-                              "supermat " + sm.getNombreLignes() + "x" + sm.getNombreColonnes() + 
-                              " vs tableau " + nld + "x" + ncd);
-            return;
+            throw new DimensionsException("dimensions incompatibles pour la copie : supermat " +
+                                          sm.getNombreLignes() + "x" + sm.getNombreColonnes() +
+                                          " vs tableau " + nld + "x" + ncd);
         }
         
         for (int i = 0; i < sm.getNombreLignes(); i++) {
-            for (int j = 0; j < sm.getNombreColonnes(); j++) {
-                tableau[i][j] = sm.get(i, j);
-            }
+            sm.getLigne(i, tableau[i]);
         }
     }
     
@@ -154,10 +107,9 @@ public class SupermatUtils {
     public static Supermat identite(int n) {
         Supermat resultat = new Supermat(n, n);
         
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                resultat.set(i, j, (i == j) ? 1.0 : 0.0);
-            }
+        // Les éléments sont nuls à l'allocation : seule la diagonale est écrite
+        for (int i = 0; i < resultat.getNombreLignes(); i++) {
+            resultat.set(i, i, 1.0);
         }
         
         return resultat;
@@ -167,59 +119,367 @@ public class SupermatUtils {
      * Remplit une matrice avec une valeur constante.
      */
     public static void remplir(Supermat sm, double valeur) {
-        if (sm == null) {
-            System.err.println("Erreur : la supermatrice ne peut pas être null");
-            return;
+        Objects.requireNonNull(sm, "la supermatrice ne peut pas être null");
+        
+        sm.remplir(valeur);
+    }
+    
+    /**
+     * Remplit une matrice avec des valeurs aléatoires entre min et max
+     * (graine tirée au hasard, voir remplirAleatoire(Supermat, double, double, long)).
+     */
+    public static void remplirAleatoire(Supermat sm, double min, double max) {
+        remplirAleatoire(sm, min, max, ThreadLocalRandom.current().nextLong());
+    }
+    
+    /**
+     * Remplit une matrice avec des valeurs uniformes dans [min, max[, tirées
+     * à partir d'une graine : la même graine redonne la même matrice, quel
+     * que soit le nombre de threads. Les grandes matrices sont remplies en
+     * parallèle par blocs (voir GenerateurAleatoire).
+     */
+    public static void remplirAleatoire(Supermat sm, double min, double max, long graine) {
+        Objects.requireNonNull(sm, "la supermatrice ne peut pas être null");
+        
+        if (min > max) {
+            throw new IllegalArgumentException("min doit être inférieur ou égal à max (" + min + " > " + max + ")");
         }
         
-        for (int i = 0; i < sm.getNombreLignes(); i++) {
-            for (int j = 0; j < sm.getNombreColonnes(); j++) {
-                sm.set(i, j, valeur);
-            }
+        double etendue = max - min;
+        GenerateurAleatoire.remplir(sm, graine, g -> min + g.nextDouble() * etendue);
+    }
+    
+    /**
+     * Remplit une matrice selon une loi normale, de façon reproductible
+     * (voir remplirAleatoire(Supermat, double, double, long)).
+     */
+    public static void remplirNormale(Supermat sm, double moyenne, double ecartType, long graine) {
+        Objects.requireNonNull(sm, "la supermatrice ne peut pas être null");
+        
+        if (!(ecartType >= 0.0)) {
+            throw new IllegalArgumentException("l'écart-type doit être positif ou nul (" + ecartType + ")");
         }
+        
+        GenerateurAleatoire.remplir(sm, graine, g -> g.nextGaussian(moyenne, ecartType));
     }
     
     /**
-     * Remplit une matrice avec des valeurs aléatoires entre min et max.
+     * Remplit une matrice d'entiers uniformes entre min et max inclus, de
+     * façon reproductible (voir remplirAleatoire(Supermat, double, double, long)).
      */
-    public static void remplirAleatoire(Supermat sm, double min, double max) {
-        if (sm == null) {
-            System.err.println("Erreur : la supermatrice ne peut pas être null");
+    public static void remplirEntiers(Supermat sm, int min, int max, long graine) {
+        Objects.requireNonNull(sm, "la supermatrice ne peut pas être null");
+        
+        if (min > max) {
+            throw new IllegalArgumentException("min doit être inférieur ou égal à max (" + min + " > " + max + ")");
+        }
+        
+        long borne = (long) max + 1;
+        GenerateurAleatoire.remplir(sm, graine, g -> g.nextLong(min, borne));
+    }
+    
+    /**
+     * Somme élément par élément a + b.
+     */
+    public static Supermat addition(Supermat a, Supermat b) {
+        return combinaison(1.0, a, 1.0, b);
+    }
+    
+    /**
+     * Différence élément par élément a - b.
+     */
+    public static Supermat soustraction(Supermat a, Supermat b) {
+        return combinaison(1.0, a, -1.0, b);
+    }
+    
+    /**
+     * Combinaison linéaire alpha * a + beta * b, calculée ligne par ligne.
+     */
+    public static Supermat combinaison(double alpha, Supermat a, double beta, Supermat b) {
+        verifierCombinaison(a, b);
+        
+        Supermat resultat = new Supermat(a.getNombreLignes(), a.getNombreColonnes());
+        combiner(alpha, a, beta, b, resultat);
+        return resultat;
+    }
+    
+    /**
+     * Combinaison linéaire alpha * a + beta * b écrite dans une matrice
+     * existante, sans allocation. La destination (matrice du tas non
+     * transposée) peut être a ou b elle-même, mais ne doit pas chevaucher
+     * autrement leurs données. Retourne destination.
+     */
+    public static Supermat combinaison(double alpha, Supermat a, double beta, Supermat b, Supermat destination) {
+        verifierCombinaison(a, b);
+        Supermat.verifierDestination(destination, a.getNombreLignes(), a.getNombreColonnes());
+        destination.modifiee();
+        
+        combiner(alpha, a, beta, b, destination);
+        return destination;
+    }
+    
+    private static void verifierCombinaison(Supermat a, Supermat b) {
+        Objects.requireNonNull(a, "les supermatrices ne peuvent pas être null");
+        Objects.requireNonNull(b, "les supermatrices ne peuvent pas être null");
+        verifierMemesDimensions(a, b);
+    }
+    
+    private static void verifierMemesDimensions(Supermat a, Supermat b) {
+        if (a.getNombreLignes() != b.getNombreLignes() || a.getNombreColonnes() != b.getNombreColonnes()) {
+            throw new DimensionsException("dimensions incompatibles (" +
+                                          a.getNombreLignes() + "x" + a.getNombreColonnes() + " vs " +
+                                          b.getNombreLignes() + "x" + b.getNombreColonnes() + ")");
+        }
+    }
+    
+    private static void combiner(double alpha, Supermat a, double beta, Supermat b, Supermat resultat) {
+        Noyaux noyaux = Noyaux.INSTANCE;
+        
+        if (a.isTransposee() || b.isTransposee() || a.isProjetee() || b.isProjetee()) {
+            // Lignes non contiguës ou hors du tas : recopiées dans des tampons
+            int nc = a.getNombreColonnes();
+            double[] ligneA = new double[nc];
+            double[] ligneB = new double[nc];
+            for (int i = 0; i < a.getNombreLignes(); i++) {
+                a.getLigne(i, ligneA);
+                b.getLigne(i, ligneB);
+                noyaux.combiner(alpha, ligneA, 0, beta, ligneB, 0,
+                                resultat.donnees(), resultat.debutLigne(i), nc);
+            }
             return;
         }
         
-        if (min > max) {
-            System.err.println("Erreur : min doit être inférieur ou égal à max");
+        for (int i = 0; i < a.getNombreLignes(); i++) {
+            noyaux.combiner(alpha, a.donnees(), a.debutLigne(i), beta, b.donnees(), b.debutLigne(i),
+                            resultat.donnees(), resultat.debutLigne(i), a.getNombreColonnes());
+        }
+    }
+    
+    /**
+     * Multiplie sur place tous les éléments d'une matrice par alpha.
+     */
+    public static void multiplierParScalaire(Supermat sm, double alpha) {
+        Objects.requireNonNull(sm, "la supermatrice ne peut pas être null");
+        sm.modifiee();
+        
+        if (sm.isProjetee()) {
+            sm.appliquer(x -> alpha * x);
             return;
         }
         
-        java.util.Random random = new java.util.Random();
+        if (sm.isTransposee()) {
+            sm = sm.transposee();
+        }
         
+        Noyaux noyaux = Noyaux.INSTANCE;
         for (int i = 0; i < sm.getNombreLignes(); i++) {
-            for (int j = 0; j < sm.getNombreColonnes(); j++) {
-                double valeur = min + random.nextDouble() * (max - min);
-                sm.set(i, j, valeur);
+            noyaux.echelonner(alpha, sm.donnees(), sm.debutLigne(i), sm.getNombreColonnes());
+        }
+    }
+    
+    /**
+     * Produit scalaire de Frobenius : somme des a[i][j] * b[i][j].
+     */
+    public static double produitScalaire(Supermat a, Supermat b) {
+        verifierCombinaison(a, b);
+        
+        if (a.isTransposee() && b.isTransposee()) {
+            a = a.transposee();
+            b = b.transposee();
+        }
+        
+        Noyaux noyaux = Noyaux.INSTANCE;
+        double somme = 0.0;
+        
+        if (a.isTransposee() || b.isTransposee() || a.isProjetee() || b.isProjetee()) {
+            int nc = a.getNombreColonnes();
+            double[] ligneA = new double[nc];
+            double[] ligneB = new double[nc];
+            for (int i = 0; i < a.getNombreLignes(); i++) {
+                a.getLigne(i, ligneA);
+                b.getLigne(i, ligneB);
+                somme += noyaux.produitScalaire(ligneA, 0, ligneB, 0, nc);
             }
+            return somme;
         }
+        
+        for (int i = 0; i < a.getNombreLignes(); i++) {
+            somme += noyaux.produitScalaire(a.donnees(), a.debutLigne(i),
+                                            b.donnees(), b.debutLigne(i), a.getNombreColonnes());
+        }
+        return somme;
     }
     
+    /** Côté des tuiles de la transposée (2 tuiles de 32x32 doubles tiennent dans L1). */
+    private static final int TUILE = 32;
+    
     /**
      * Transpose une matrice.
+     * La copie se fait par tuiles de TUILE x TUILE : lectures et écritures restent
+     * dans quelques lignes de cache au lieu de parcourir toute une colonne.
+     * Pour ne pas copier du tout, voir Supermat.transposee().
      */
     public static Supermat transpose(Supermat sm) {
-        if (sm == null) {
-            System.err.println("Erreur : la supermatrice ne peut pas être null");
-            return null;
+        Objects.requireNonNull(sm, "la supermatrice ne peut pas être null");
+        
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.TRANSPOSE) : null;
+        int nl = sm.getNombreLignes();
+        int nc = sm.getNombreColonnes();
+        Supermat resultat = transposer(sm, new Supermat(nc, nl));
+        if (mesure != null) {
+            mesure.fin(nl, nc, 0, 0L, 8L * nl * nc);
         }
+        return resultat;
+    }
+    
+    /**
+     * Transpose une matrice dans une matrice existante (nc x nl, du tas, non
+     * transposée et distincte de sm), sans allocation. Retourne destination.
+     */
+    public static Supermat transpose(Supermat sm, Supermat destination) {
+        Objects.requireNonNull(sm, "la supermatrice ne peut pas être null");
         
-        Supermat resultat = new Supermat(sm.getNombreColonnes(), sm.getNombreLignes());
+        Mesures.Mesure mesure = Mesures.ACTIVES ? Mesures.debut(Mesures.Operation.TRANSPOSE) : null;
+        transposer(sm, destination);
+        if (mesure != null) {
+            mesure.fin(sm.getNombreLignes(), sm.getNombreColonnes(), 0, 0L, 0L);
+        }
+        return destination;
+    }
+    
+    /**
+     * Corps de transpose() : transpose sm dans destination par tuiles.
+     */
+    private static Supermat transposer(Supermat sm, Supermat destination) {
+        int nl = sm.getNombreLignes();
+        int nc = sm.getNombreColonnes();
+        Supermat.verifierDestination(destination, nc, nl);
         
-        for (int i = 0; i < sm.getNombreLignes(); i++) {
-            for (int j = 0; j < sm.getNombreColonnes(); j++) {
-                resultat.set(j, i, sm.get(i, j));
+        if (destination.donnees() == sm.donnees()) {
+            throw new IllegalArgumentException("la matrice destination partage les données de la matrice à transposer");
+        }
+        destination.modifiee();
+        
+        if (sm.isTransposee()) {
+            // La transposée d'une vue transposée est la matrice d'origine
+            destination.copierDepuis(sm.transposee());
+            return destination;
+        }
+        
+        double[] dst = destination.donnees();
+        
+        if (sm.isProjetee()) {
+            // Chaque bande de TUILE lignes est lue une fois du fichier, puis transposée
+            double[] bande = new double[Math.min(TUILE, nl) * nc];
+            for (int ib = 0; ib < nl; ib += TUILE) {
+                int finI = Math.min(ib + TUILE, nl);
+                for (int i = ib; i < finI; i++) {
+                    sm.getLigne(i, bande, (i - ib) * nc);
+                }
+                for (int jb = 0; jb < nc; jb += TUILE) {
+                    int finJ = Math.min(jb + TUILE, nc);
+                    for (int j = jb; j < finJ; j++) {
+                        int debut = destination.debutLigne(j);
+                        for (int i = ib; i < finI; i++) {
+                            dst[debut + i] = bande[(i - ib) * nc + j];
+                        }
+                    }
+                }
             }
+            return destination;
         }
         
-        return resultat;
+        double[] src = sm.donnees();
+        for (int ib = 0; ib < nl; ib += TUILE) {
+            int finI = Math.min(ib + TUILE, nl);
+            for (int jb = 0; jb < nc; jb += TUILE) {
+                int finJ = Math.min(jb + TUILE, nc);
+                for (int i = ib; i < finI; i++) {
+                    int debut = sm.debutLigne(i);
+                    for (int j = jb; j < finJ; j++) {
+                        dst[destination.debutLigne(j) + i] = src[debut + j];
+                    }
+                }
+            }
+        }
+        
+        return destination;
+    }
+    
+    /**
+     * Transpose sur place une matrice carrée, sans allouer de seconde matrice.
+     * Les tuiles symétriques (ib, jb) et (jb, ib) sont échangées deux à deux.
+     */
+    public static void transposerEnPlace(Supermat sm) {
+        Objects.requireNonNull(sm, "la supermatrice ne peut pas être null");
+        
+        int n = sm.getNombreLignes();
+        if (n != sm.getNombreColonnes()) {
+            throw new DimensionsException("la transposition sur place demande une matrice carrée (" +
+                                          n + "x" + sm.getNombreColonnes() + ")");
+        }
+        
+        if (sm.isTransposee()) {
+            sm = sm.transposee();   // mêmes éléments : transposer l'un transpose l'autre
+        }
+        sm.modifiee();
+        
+        if (sm.isProjetee()) {
+            // Hors du tas : échange élément par élément à travers get/set
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    double temp = sm.get(i, j);
+                    sm.set(i, j, sm.get(j, i));
+                    sm.set(j, i, temp);
+                }
+            }
+            return;
+        }
+        
+        double[] d = sm.donnees();
+        for (int ib = 0; ib < n; ib += TUILE) {
+            int finI = Math.min(ib + TUILE, n);
+            for (int jb = ib; jb < n; jb += TUILE) {
+                int finJ = Math.min(jb + TUILE, n);
+                for (int i = ib; i < finI; i++) {
+                    int debutI = sm.debutLigne(i);
+                    // Sur la tuile diagonale, seul le triangle supérieur est parcouru
+                    for (int j = (jb == ib ? i + 1 : jb); j < finJ; j++) {
+                        int aij = debutI + j;
+                        int aji = sm.debutLigne(j) + i;
+                        double temp = d[aij];
+                        d[aij] = d[aji];
+                        d[aji] = temp;
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Résout le système a × x = b (b peut avoir plusieurs colonnes) par
+     * décomposition LU avec pivot partiel. Pour plusieurs seconds membres
+     * successifs, garder la DecompositionLU.
+     *
+     * @throws MatriceSinguliereException si a est singulière
+     */
+    public static Supermat resoudre(Supermat a, Supermat b) {
+        return DecompositionLU.decomposer(a).resoudre(b);
+    }
+    
+    /**
+     * Déterminant d'une matrice carrée (décomposition LU).
+     */
+    public static double determinant(Supermat a) {
+        return DecompositionLU.decomposer(a).determinant();
+    }
+    
+    /**
+     * Inverse d'une matrice carrée (décomposition LU).
+     *
+     * @throws MatriceSinguliereException si la matrice est singulière
+     */
+    public static Supermat inverse(Supermat a) {
+        return DecompositionLU.decomposer(a).inverse();
     }
 }
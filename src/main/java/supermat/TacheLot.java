@@ -0,0 +1,62 @@
+package supermat;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tâche fork-join du produit parallèle d'un lot (voir LotSupermat.produitParallele()).
+ *
+ * Le lot est coupé récursivement en deux plages de matrices jusqu'à environ
+ * quatre feuilles par thread du pool, sans descendre sous un bloc de NoyauLot ;
+ * chaque feuille écrit ses propres matrices de C.
+ */
+final class TacheLot extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Nombre de multiplications en dessous duquel le lot n'est pas découpé. */
+    static final long SEUIL = 64L * 64 * 64;
+
+    private final LotSupermat a;
+    private final LotSupermat b;
+    private final LotSupermat c;
+    private final int k0, k1;
+    private final int tailleMin;
+
+    /**
+     * Tâche racine calculant tout le lot pour un pool de parallélisme donné.
+     */
+    TacheLot(LotSupermat a, LotSupermat b, LotSupermat c, int parallelisme) {
+        this(a, b, c, 0, a.taille,
+             Math.max(NoyauLot.bloc(a.nc, b.nc), a.taille / (4 * Math.max(1, parallelisme))));
+    }
+
+    private TacheLot(LotSupermat a, LotSupermat b, LotSupermat c, int k0, int k1, int tailleMin) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.k0 = k0;
+        this.k1 = k1;
+        this.tailleMin = tailleMin;
+    }
+
+    /**
+     * Nombre de multiplications du produit complet.
+     */
+    static long volume(LotSupermat a, LotSupermat b) {
+        return (long) a.taille * a.nl * a.nc * b.nc;
+    }
+
+    @Override
+    protected void compute() {
+        int n = k1 - k0;
+        if (n <= tailleMin) {
+            NoyauLot.multiplier(a, b, c, k0, k1);
+            return;
+        }
+
+        // Coupure alignée sur 8 matrices (une largeur de vecteur AVX-512)
+        int milieu = k0 + ((n / 2 + 7) & ~7);
+        invokeAll(new TacheLot(a, b, c, k0, milieu, tailleMin),
+                  new TacheLot(a, b, c, milieu, k1, tailleMin));
+    }
+}
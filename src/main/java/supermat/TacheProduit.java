@@ -0,0 +1,83 @@
+package supermat;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tâche fork-join du produit parallèle (voir Supermat.produitParallele()).
+ *
+ * Le bloc de C à calculer est coupé récursivement en deux selon sa plus grande
+ * dimension jusqu'à ce que sa surface passe sous surfaceMin (environ quatre
+ * feuilles par thread du pool) ; chaque feuille appelle ensuite NoyauProduit sur
+ * son propre bloc de C, sans partage d'écriture. Des feuilles plus petites
+ * obligeraient chacune à recopier ses propres panneaux de B.
+ */
+final class TacheProduit extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Volume (lignes x colonnes x profondeur) en dessous duquel on ne découpe plus. */
+    static final long SEUIL = 64L * 64 * 64;
+
+    /** Surface minimale d'une feuille : un bloc de lignes sur un panneau de B. */
+    static final long SURFACE_MIN = (long) NoyauProduit.BLOC_I * NoyauProduit.BLOC_J;
+
+    private final Supermat a;
+    private final Supermat b;
+    private final Supermat c;
+    private final double alpha;
+    private final int i0, i1, j0, j1;
+    private final long surfaceMin;
+
+    /**
+     * Tâche racine calculant tout C pour un pool de parallélisme donné.
+     */
+    TacheProduit(Supermat a, Supermat b, Supermat c, int parallelisme) {
+        this(a, b, c, 1.0, parallelisme);
+    }
+
+    /**
+     * Tâche racine calculant C += alpha × A × B.
+     */
+    TacheProduit(Supermat a, Supermat b, Supermat c, double alpha, int parallelisme) {
+        this(a, b, c, alpha, 0, c.getNombreLignes(), 0, c.getNombreColonnes(),
+             Math.max(SURFACE_MIN, (long) c.getNombreLignes() * c.getNombreColonnes()
+                                   / (4L * Math.max(1, parallelisme))));
+    }
+
+    private TacheProduit(Supermat a, Supermat b, Supermat c, double alpha,
+                         int i0, int i1, int j0, int j1, long surfaceMin) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.alpha = alpha;
+        this.surfaceMin = surfaceMin;
+        this.i0 = i0;
+        this.i1 = i1;
+        this.j0 = j0;
+        this.j1 = j1;
+    }
+
+    @Override
+    protected void compute() {
+        int lignes = i1 - i0;
+        int colonnes = j1 - j0;
+        int p = a.getNombreColonnes();
+
+        if ((long) lignes * colonnes * p <= SEUIL || (long) lignes * colonnes <= surfaceMin
+                || (lignes <= 4 && colonnes <= 4)) {
+            NoyauProduit.multiplier(a, b, c, alpha, i0, i1, j0, j1);
+            return;
+        }
+
+        if (lignes >= colonnes) {
+            // Coupure alignée sur le micro-noyau à 4 lignes
+            int milieu = i0 + ((lignes / 2 + 3) & ~3);
+            invokeAll(new TacheProduit(a, b, c, alpha, i0, milieu, j0, j1, surfaceMin),
+                      new TacheProduit(a, b, c, alpha, milieu, i1, j0, j1, surfaceMin));
+        } else {
+            int milieu = j0 + colonnes / 2;
+            invokeAll(new TacheProduit(a, b, c, alpha, i0, i1, j0, milieu, surfaceMin),
+                      new TacheProduit(a, b, c, alpha, i0, i1, milieu, j1, surfaceMin));
+        }
+    }
+}
@@ -50,7 +50,7 @@ public class TestSupermat {
             sub.set(0, 0, 777.0);
             System.out.println("Après modification de sub :");
             sub.afficher("sub modifiée");
-            a.afficher("a (note: en Java, les vues sont indépendantes)");
+            a.afficher("a (modifiée à travers la vue)");
         }
         
         // 5) Conversion tableau → supermatrice → tableau
@@ -115,6 +115,15 @@ public class TestSupermat {
             }
         }
         
+        // Test expression mêlant Supermat et SupermatFloat (évaluée en double)
+        Supermat somme = a.plus(SupermatFloat.depuis(a)).evaluer();
+        somme.afficher("a + float(a) (doit être égal à 2a)");
+        verifierEgales("a + float(a)", somme, a.echelle(2.0).evaluer());
+        
+        // Test expression avec une SupermatConcurrente (lue sur un instantané)
+        Supermat sommeConcurrente = SupermatFloat.depuis(a).plus(SupermatConcurrente.depuis(a)).evaluer();
+        verifierEgales("float(a) + concurrente(a)", sommeConcurrente, a.echelle(2.0).evaluer());
+        
         System.out.println("8. Informations sur les matrices");
         System.out.println("a: " + a.toString());
         if (b != null) System.out.println("b: " + b.toString());
@@ -124,6 +133,21 @@ public class TestSupermat {
         System.out.println("\nFin des tests.");
     }
     
+    /**
+     * Affiche si deux matrices sont égales élément par élément.
+     */
+    private static void verifierEgales(String nom, Supermat obtenue, Supermat attendue) {
+        boolean egales = obtenue.getNombreLignes() == attendue.getNombreLignes()
+                         && obtenue.getNombreColonnes() == attendue.getNombreColonnes();
+        for (int i = 0; egales && i < obtenue.getNombreLignes(); i++) {
+            for (int j = 0; egales && j < obtenue.getNombreColonnes(); j++) {
+                egales = obtenue.get(i, j) == attendue.get(i, j);
+            }
+        }
+        System.out.println(nom + " : " + (egales ? "correct" : "ERREUR"));
+        System.out.println();
+    }
+    
     /**
      * Méthode utilitaire pour tester les cas d'erreur.
      */
@@ -132,18 +156,40 @@ public class TestSupermat {
         
         // Test dimensions invalides
         System.out.println("Test: création avec dimensions invalides...");
-        new Supermat(-1, 5);
+        try {
+            new Supermat(-1, 5);
+        } catch (DimensionsException e) {
+            System.out.println("  DimensionsException : " + e.getMessage());
+        }
         
         // Test accès hors limites
         System.out.println("Test: accès hors limites...");
         Supermat test = new Supermat(2, 2);
-        test.get(3, 1);
+        try {
+            test.get(3, 1);
+        } catch (IndexOutOfBoundsException e) {
+            System.out.println("  IndexOutOfBoundsException : " + e.getMessage());
+        }
         
         // Test produit incompatible
         System.out.println("Test: produit matriciel incompatible...");
         Supermat test1 = new Supermat(2, 3);
         Supermat test2 = new Supermat(4, 2);
-        Supermat.produit(test1, test2);
+        try {
+            Supermat.produit(test1, test2);
+        } catch (DimensionsException e) {
+            System.out.println("  DimensionsException : " + e.getMessage());
+        }
+        
+        // Test matrice libérée
+        System.out.println("Test: produit avec une matrice libérée...");
+        test2.recupererSupermat();
+        System.out.println("  Supermatrice libérée : " + test2);
+        try {
+            Supermat.produit(test1, test2);
+        } catch (MatriceLibereeException e) {
+            System.out.println("  MatriceLibereeException : " + e.getMessage());
+        }
         
         System.out.println("=== Fin des tests d'erreur ===\n");
     }
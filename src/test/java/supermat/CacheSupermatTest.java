@@ -0,0 +1,224 @@
+package supermat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static supermat.Reference.assertEgales;
+import static supermat.Reference.entiers;
+import static supermat.Reference.produitNaif;
+
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cache de résultats : succès, invalidation par chaque sorte d'écriture,
+ * éviction et clés par contenu.
+ */
+class CacheSupermatTest {
+
+    private static final long CAPACITE = 1L << 20;
+
+    /**
+     * Calcule a × b par le cache, modifie a ou b par ecriture, puis vérifie
+     * que le résultat suivant est recalculé et juste.
+     */
+    private static void assertInvalidePar(Consumer<Supermat> ecriture, boolean surA) {
+        CacheSupermat cache = new CacheSupermat(CAPACITE);
+        Supermat a = entiers(12, 10, 1);
+        Supermat b = entiers(10, 8, 2);
+
+        Supermat avant = cache.produit(a, b);
+        assertSame(avant, cache.produit(a, b));
+        assertEquals(1, cache.getSucces());
+
+        ecriture.accept(surA ? a : b);
+        Supermat apres = cache.produit(a, b);
+        assertNotSame(avant, apres);
+        assertEgales(produitNaif(a, b), apres);
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(1, cache.getNombreEntrees());
+    }
+
+    @Test
+    void succesSansRecalcul() {
+        CacheSupermat cache = new CacheSupermat(CAPACITE);
+        Supermat a = entiers(20, 15, 3);
+        Supermat b = entiers(15, 10, 4);
+
+        Supermat c = cache.produit(a, b);
+        assertEgales(produitNaif(a, b), c);
+        assertSame(c, cache.produit(a, b));
+        assertEquals(1, cache.getEchecs());
+        assertEquals(1, cache.getSucces());
+        assertEquals(8L * 20 * 10, cache.getOctets());
+
+        Supermat t = cache.transpose(a);
+        assertEgales(SupermatUtils.transpose(a), t);
+        assertSame(t, cache.transpose(a));
+        assertSame(cache.identite(5), cache.identite(5));
+        assertEgales(SupermatUtils.identite(5), cache.identite(5));
+        assertEquals(3, cache.getNombreEntrees());
+    }
+
+    @Test
+    void invalidationParSet() {
+        assertInvalidePar(m -> m.set(3, 4, 100.0), true);
+        assertInvalidePar(m -> m.set(0, 0, -7.0), false);
+    }
+
+    @Test
+    void invalidationParSetLigneEtRemplir() {
+        assertInvalidePar(m -> m.setLigne(2, new double[m.getNombreColonnes()]), true);
+        assertInvalidePar(m -> m.remplir(1.0), false);
+        assertInvalidePar(m -> m.appliquer(x -> 2 * x), true);
+    }
+
+    @Test
+    void invalidationParPermuterLignes() {
+        assertInvalidePar(m -> m.permuterLignes(0, 5), true);
+        assertInvalidePar(m -> m.permuterLignes(1, 9), false);
+    }
+
+    @Test
+    void invalidationParCopierDepuis() {
+        assertInvalidePar(m -> m.copierDepuis(entiers(m.getNombreLignes(), m.getNombreColonnes(), 9)), true);
+    }
+
+    @Test
+    void invalidationParUneVue() {
+        assertInvalidePar(m -> m.sousMatrice(2, 5, 1, 3).set(1, 1, 50.0), true);
+        assertInvalidePar(m -> m.transposee().set(1, 2, 50.0), false);
+        assertInvalidePar(m -> m.sousMatrice(0, 3, 0, 3).transposee().permuterLignes(0, 2), true);
+    }
+
+    @Test
+    void invalidationParProduitDansUnOperande() {
+        assertInvalidePar(m -> Supermat.produit(entiers(12, 6, 5), entiers(6, 10, 6), m), true);
+    }
+
+    @Test
+    void operandeVueModifieParSaMatrice() {
+        CacheSupermat cache = new CacheSupermat(CAPACITE);
+        Supermat grande = entiers(20, 20, 7);
+        Supermat vue = grande.sousMatrice(5, 14, 5, 14);
+        Supermat b = entiers(10, 10, 8);
+
+        Supermat avant = cache.produit(vue, b);
+        grande.set(6, 7, 99.0);
+        Supermat apres = cache.produit(vue, b);
+
+        assertNotSame(avant, apres);
+        assertEgales(produitNaif(vue, b), apres);
+    }
+
+    @Test
+    void resultatModifieRecalcule() {
+        CacheSupermat cache = new CacheSupermat(CAPACITE);
+        Supermat a = entiers(6, 6, 9);
+
+        Supermat t = cache.transpose(a);
+        t.set(0, 0, 1000.0);
+        Supermat t2 = cache.transpose(a);
+
+        assertNotSame(t, t2);
+        assertEgales(SupermatUtils.transpose(a), t2);
+    }
+
+    @Test
+    void envelopperReconnuParSonContenu() {
+        CacheSupermat cache = new CacheSupermat(CAPACITE);
+        double[] tableau = new double[16];
+        for (int i = 0; i < tableau.length; i++) {
+            tableau[i] = i;
+        }
+        Supermat a = Supermat.envelopper(tableau, 4, 4, 4, 4);
+        Supermat b = entiers(4, 3, 10);
+
+        Supermat avant = cache.produit(a, b);
+        assertSame(avant, cache.produit(a, b));
+
+        // Écriture dans le tableau, invisible au compteur de modifications
+        tableau[5] = -3.0;
+        Supermat apres = cache.produit(a, b);
+        assertNotSame(avant, apres);
+        assertEgales(produitNaif(a, b), apres);
+    }
+
+    @Test
+    void clesParContenu() {
+        CacheSupermat cache = new CacheSupermat(CAPACITE, CacheSupermat.Cles.CONTENU);
+        Supermat a1 = entiers(8, 8, 11);
+        Supermat a2 = SupermatUtils.transpose(SupermatUtils.transpose(a1));
+        Supermat b = entiers(8, 8, 12);
+
+        Supermat c = cache.produit(a1, b);
+        assertSame(c, cache.produit(a2, b));
+
+        a2.set(0, 0, a2.get(0, 0) + 1.0);
+        Supermat c2 = cache.produit(a2, b);
+        assertNotSame(c, c2);
+        assertEgales(produitNaif(a2, b), c2);
+        assertSame(c, cache.produit(a1, b));
+    }
+
+    @Test
+    void evictionDuMoinsRecemmentUtilise() {
+        // Place pour deux transposées 10 x 10
+        CacheSupermat cache = new CacheSupermat(2 * 8L * 100);
+        Supermat a = entiers(10, 10, 13);
+        Supermat b = entiers(10, 10, 14);
+        Supermat c = entiers(10, 10, 15);
+
+        Supermat ta = cache.transpose(a);
+        Supermat tb = cache.transpose(b);
+        assertSame(ta, cache.transpose(a));    // a devient le plus récent
+        cache.transpose(c);                    // évince b
+
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.getNombreEntrees());
+        assertEquals(2 * 8L * 100, cache.getOctets());
+        assertSame(ta, cache.transpose(a));
+        assertNotSame(tb, cache.transpose(b));
+    }
+
+    @Test
+    void resultatTropGrandNonConserve() {
+        CacheSupermat cache = new CacheSupermat(8L * 10);
+        Supermat a = entiers(4, 4, 16);
+
+        Supermat t = cache.transpose(a);
+        assertEgales(SupermatUtils.transpose(a), t);
+        assertEquals(0, cache.getNombreEntrees());
+        assertEquals(0, cache.getOctets());
+        assertNotSame(t, cache.transpose(a));
+    }
+
+    @Test
+    void purgerEtVider() {
+        CacheSupermat cache = new CacheSupermat(CAPACITE);
+        Supermat a = entiers(5, 5, 17);
+        Supermat b = entiers(5, 5, 18);
+        cache.transpose(a);
+        cache.transpose(b);
+
+        a.set(0, 0, 42.0);
+        cache.purger();
+        assertEquals(1, cache.getNombreEntrees());
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(8L * 25, cache.getOctets());
+
+        cache.vider();
+        assertEquals(0, cache.getNombreEntrees());
+        assertEquals(0, cache.getOctets());
+    }
+
+    @Test
+    void argumentsInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheSupermat(-1));
+        assertThrows(NullPointerException.class, () -> new CacheSupermat(1, null));
+        CacheSupermat cache = new CacheSupermat(CAPACITE);
+        assertThrows(DimensionsException.class, () -> cache.produit(new Supermat(2, 3), new Supermat(2, 3)));
+    }
+}
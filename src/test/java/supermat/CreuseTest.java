@@ -0,0 +1,147 @@
+package supermat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static supermat.Reference.assertEgales;
+import static supermat.Reference.assertProches;
+import static supermat.Reference.entiers;
+import static supermat.Reference.produitNaif;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Produits creuse × dense, dense × creuse et creuse × creuse (CSR, CSC,
+ * transposées partagées) comparés au produit dense naïf.
+ */
+class CreuseTest {
+
+    /**
+     * Matrice d'entiers dont environ deux éléments sur trois sont nuls,
+     * avec une ligne et une colonne entièrement nulles.
+     */
+    private static Supermat creuse(int nl, int nc, long graine) {
+        Supermat m = entiers(nl, nc, graine);
+        for (int i = 0; i < nl; i++) {
+            for (int j = 0; j < nc; j++) {
+                if (((int) m.get(i, j)) % 3 != 0 || i == nl / 2 || j == nc / 2) {
+                    m.set(i, j, 0.0);
+                }
+            }
+        }
+        return m;
+    }
+
+    @Test
+    void conversionsConserventLesElements() {
+        Supermat d = creuse(23, 17, 1);
+        SupermatCSR csr = SupermatCSR.depuisDense(d);
+        SupermatCSC csc = SupermatCSC.depuisDense(d);
+
+        assertEgales(d, csr.versDense());
+        assertEgales(d, csc.versDense());
+        assertEgales(d, csr.versCSC().versDense());
+        assertEgales(d, csc.versCSR().versDense());
+        assertEgales(SupermatUtils.transpose(d), csr.transposee().versDense());
+        assertEgales(SupermatUtils.transpose(d), csc.transpose().versDense());
+        assertEquals(csr.getNombreNonNuls(), csc.getNombreNonNuls());
+        for (int i = 0; i < d.getNombreLignes(); i++) {
+            for (int j = 0; j < d.getNombreColonnes(); j++) {
+                assertEquals(d.get(i, j), csr.get(i, j));
+                assertEquals(d.get(i, j), csc.get(i, j));
+            }
+        }
+    }
+
+    @Test
+    void creuseParDense() {
+        Supermat a = creuse(31, 27, 2);
+        Supermat b = entiers(27, 19, 3);
+        Supermat attendu = produitNaif(a, b);
+
+        assertEgales(attendu, SupermatCreuse.produit(SupermatCSR.depuisDense(a), b));
+        assertEgales(attendu, SupermatCreuse.produit(SupermatCSC.depuisDense(a), b));
+    }
+
+    @Test
+    void denseParCreuse() {
+        Supermat a = entiers(21, 27, 4);
+        Supermat b = creuse(27, 33, 5);
+        Supermat attendu = produitNaif(a, b);
+
+        assertEgales(attendu, SupermatCreuse.produit(a, SupermatCSR.depuisDense(b)));
+        assertEgales(attendu, SupermatCreuse.produit(a, SupermatCSC.depuisDense(b)));
+    }
+
+    @Test
+    void operandesDensesVuesOuTransposees() {
+        Supermat grande = entiers(60, 50, 6);
+        Supermat vue = grande.sousMatrice(4, 30, 3, 29);      // 27 x 27
+        Supermat transposee = grande.transposee().sousMatrice(0, 26, 0, 26);
+        Supermat copieVue = SupermatUtils.transpose(SupermatUtils.transpose(vue));
+        SupermatCSR s = SupermatCSR.depuisDense(creuse(27, 27, 7));
+        Supermat ds = s.versDense();
+
+        assertEgales(produitNaif(ds, vue), SupermatCreuse.produit(s, vue));
+        assertEgales(produitNaif(vue, ds), SupermatCreuse.produit(vue, s));
+        assertEgales(produitNaif(ds, transposee), SupermatCreuse.produit(s, transposee));
+        assertEgales(produitNaif(transposee, SupermatUtils.transpose(ds)),
+                     SupermatCreuse.produit(transposee, s.transposee()));
+
+        // La copie dense d'une vue est rendue à la réserve, pas la vue
+        assertEgales(copieVue, vue);
+        assertEgales(produitNaif(ds, vue), SupermatCreuse.produit(s, vue));
+    }
+
+    @Test
+    void creuseParCreuse() {
+        Supermat a = creuse(25, 30, 8);
+        Supermat b = creuse(30, 20, 9);
+        Supermat attendu = produitNaif(a, b);
+
+        assertEgales(attendu, SupermatCSR.produit(SupermatCSR.depuisDense(a), SupermatCSR.depuisDense(b)).versDense());
+        assertEgales(attendu, SupermatCSC.produit(SupermatCSC.depuisDense(a), SupermatCSC.depuisDense(b)).versDense());
+
+        // (a × b)ᵀ = bᵀ × aᵀ, par les transposées partagées
+        SupermatCSR bt = SupermatCSC.depuisDense(b).transposee();
+        SupermatCSR at = SupermatCSC.depuisDense(a).transposee();
+        assertEgales(SupermatUtils.transpose(attendu), SupermatCSR.produit(bt, at).versDense());
+    }
+
+    @Test
+    void aleatoireEtTriplets() {
+        SupermatCSR a = SupermatCSR.aleatoire(40, 35, 0.1, -1.0, 1.0, 10);
+        Supermat b = new Supermat(35, 12);
+        SupermatUtils.remplirAleatoire(b, -1.0, 1.0, 11);
+        assertProches(produitNaif(a.versDense(), b), SupermatCreuse.produit(a, b), 1e-12);
+
+        // Doublons additionnés
+        SupermatCSR t = SupermatCSR.depuisTriplets(2, 3, new int[] {1, 0, 1}, new int[] {2, 0, 2},
+                                                   new double[] {1.5, 4.0, 2.5});
+        assertEquals(2, t.getNombreNonNuls());
+        assertEquals(4.0, t.get(0, 0));
+        assertEquals(4.0, t.get(1, 2));
+        assertEquals(0.0, t.get(1, 0));
+    }
+
+    @Test
+    void permuterLignes() {
+        Supermat d = creuse(9, 7, 12);
+        SupermatCSR csr = SupermatCSR.depuisDense(d);
+        SupermatCSC csc = SupermatCSC.depuisDense(d);
+        csr.permuterLignes(1, 6);
+        csc.permuterLignes(1, 6);
+        d.permuterLignes(1, 6);
+
+        assertEgales(d, csr.versDense());
+        assertEgales(d, csc.versDense());
+    }
+
+    @Test
+    void dimensionsIncompatibles() {
+        SupermatCSR a = SupermatCSR.identite(4);
+
+        assertThrows(DimensionsException.class, () -> SupermatCreuse.produit(a, new Supermat(5, 2)));
+        assertThrows(DimensionsException.class, () -> SupermatCreuse.produit(new Supermat(2, 5), a));
+        assertThrows(DimensionsException.class, () -> SupermatCSR.produit(a, SupermatCSR.identite(3)));
+    }
+}
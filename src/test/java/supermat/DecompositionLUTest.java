@@ -0,0 +1,154 @@
+package supermat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static supermat.Reference.assertEgales;
+import static supermat.Reference.assertProches;
+import static supermat.Reference.produitNaif;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Décomposition LU : reconstruction P A = L U, résolutions et pivots nuls.
+ */
+class DecompositionLUTest {
+
+    private static Supermat aleatoire(int n, long graine) {
+        Supermat a = new Supermat(n, n);
+        SupermatUtils.remplirAleatoire(a, -1.0, 1.0, graine);
+        return a;
+    }
+
+    /**
+     * P A : la ligne i est la ligne permutation[i] de a.
+     */
+    private static Supermat permuter(Supermat a, int[] permutation) {
+        Supermat pa = new Supermat(a.getNombreLignes(), a.getNombreColonnes());
+        double[] ligne = new double[a.getNombreColonnes()];
+        for (int i = 0; i < permutation.length; i++) {
+            a.getLigne(permutation[i], ligne);
+            pa.setLigne(i, ligne);
+        }
+        return pa;
+    }
+
+    // Ordres inférieurs, égaux et supérieurs au bloc de colonnes (BLOC = 128)
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5, 31, 128, 129, 300})
+    void paEgalLU(int n) {
+        Supermat a = aleatoire(n, n);
+        Supermat copie = SupermatUtils.transpose(SupermatUtils.transpose(a));
+        DecompositionLU lu = DecompositionLU.decomposer(a);
+
+        assertFalse(lu.isSinguliere());
+        assertEquals(n, lu.getOrdre());
+        assertEgales(copie, a);   // a n'est pas modifiée
+
+        int[] permutation = lu.getPermutation();
+        int[] triee = permutation.clone();
+        Arrays.sort(triee);
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, triee[i], "la permutation doit contenir chaque ligne une fois");
+        }
+
+        Supermat l = lu.getL();
+        Supermat u = lu.getU();
+        for (int i = 0; i < n; i++) {
+            assertEquals(1.0, l.get(i, i));
+            for (int j = i + 1; j < n; j++) {
+                assertEquals(0.0, l.get(i, j));
+                assertEquals(0.0, u.get(j, i));
+                // Pivot partiel : |L| <= 1
+                assertTrue(Math.abs(l.get(j, i)) <= 1.0);
+            }
+        }
+        assertProches(permuter(a, permutation), produitNaif(l, u), 1e-12 * n);
+    }
+
+    @Test
+    void resoudreEtInverse() {
+        int n = 150;
+        Supermat a = aleatoire(n, 1);
+        Supermat b = new Supermat(n, 3);
+        SupermatUtils.remplirAleatoire(b, -1.0, 1.0, 2);
+        DecompositionLU lu = DecompositionLU.decomposer(a);
+
+        Supermat x = lu.resoudre(b);
+        assertProches(b, produitNaif(a, x), 1e-9);
+        assertProches(SupermatUtils.identite(n), produitNaif(a, lu.inverse()), 1e-9);
+        assertProches(x, SupermatUtils.resoudre(a, b), 0.0);
+    }
+
+    @Test
+    void pivotNulEnPremiereLigne() {
+        // Sans échange de lignes, le premier pivot serait nul
+        Supermat a = SupermatUtils.matSupermat(new double[][] {
+            {0.0, 2.0, 1.0},
+            {1.0, 1.0, 0.0},
+            {3.0, 0.0, 1.0},
+        });
+        DecompositionLU lu = DecompositionLU.decomposer(a);
+
+        assertFalse(lu.isSinguliere());
+        assertArrayEquals(new int[] {2, 0, 1}, lu.getPermutation());
+        assertProches(permuter(a, lu.getPermutation()), produitNaif(lu.getL(), lu.getU()), 1e-15);
+        assertEquals(-5.0, lu.determinant(), 1e-12);
+        assertEquals(-5.0, SupermatUtils.determinant(a), 1e-12);
+    }
+
+    @Test
+    void matriceSinguliere() {
+        // Troisième ligne = première + deuxième
+        Supermat a = SupermatUtils.matSupermat(new double[][] {
+            {1.0, 2.0, 3.0},
+            {4.0, 5.0, 6.0},
+            {5.0, 7.0, 9.0},
+        });
+        Supermat b = new Supermat(3, 1);
+        DecompositionLU lu = DecompositionLU.decomposer(SupermatUtils.matSupermat(new double[][] {
+            {1.0, 2.0, 0.0},
+            {2.0, 4.0, 0.0},
+            {3.0, 1.0, 0.0},
+        }));
+
+        // Colonne nulle : pivot exactement nul
+        assertTrue(lu.isSinguliere());
+        assertEquals(0.0, lu.determinant(), 0.0);
+        assertThrows(MatriceSinguliereException.class, () -> lu.resoudre(b));
+        assertThrows(MatriceSinguliereException.class, lu::inverse);
+        assertThrows(MatriceSinguliereException.class, () -> SupermatUtils.inverse(new Supermat(4, 4)));
+
+        // Singulière en arithmétique exacte, le pivot calculé peut ne pas être nul
+        assertEquals(0.0, DecompositionLU.decomposer(a).determinant(), 1e-12);
+    }
+
+    @Test
+    void colonneNulleAuMilieuDUnGrandBloc() {
+        int n = 200;
+        Supermat a = aleatoire(n, 3);
+        for (int i = 0; i < n; i++) {
+            a.set(i, 140, 0.0);
+        }
+        DecompositionLU lu = DecompositionLU.decomposer(a);
+
+        assertTrue(lu.isSinguliere());
+        assertEquals(0.0, lu.determinant(), 0.0);
+        // La factorisation reste valable malgré le pivot nul
+        assertProches(permuter(a, lu.getPermutation()), produitNaif(lu.getL(), lu.getU()), 1e-10);
+        assertThrows(MatriceSinguliereException.class, () -> lu.resoudre(new Supermat(n, 1)));
+    }
+
+    @Test
+    void dimensionsInvalides() {
+        assertThrows(DimensionsException.class, () -> DecompositionLU.decomposer(new Supermat(3, 4)));
+        DecompositionLU lu = DecompositionLU.decomposer(SupermatUtils.identite(3));
+        assertThrows(DimensionsException.class, () -> lu.resoudre(new Supermat(4, 1)));
+    }
+}
@@ -0,0 +1,106 @@
+package supermat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static supermat.Reference.assertEgales;
+import static supermat.Reference.entiers;
+import static supermat.Reference.produitNaif;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Produits de lots comparés aux produits naïfs matrice par matrice.
+ */
+class LotSupermatTest {
+
+    /**
+     * Lot de matrices d'entiers, la matrice k tirée avec la graine graine + k.
+     */
+    private static LotSupermat lot(int taille, int nl, int nc, long graine) {
+        LotSupermat lot = new LotSupermat(taille, nl, nc);
+        for (int k = 0; k < taille; k++) {
+            lot.setMatrice(k, entiers(nl, nc, graine + k));
+        }
+        return lot;
+    }
+
+    private static void assertProduitsNaifs(LotSupermat a, LotSupermat b, LotSupermat c) {
+        assertEquals(a.getTaille(), c.getTaille());
+        for (int k = 0; k < a.getTaille(); k++) {
+            assertEgales(produitNaif(a.getMatrice(k), b.getMatrice(k)), c.getMatrice(k));
+        }
+    }
+
+    // Tailles de lot non multiples de la largeur des vecteurs, formes carrées
+    // et rectangulaires
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1, 1, 1",
+        "13, 2, 2, 2",
+        "17, 3, 3, 3",
+        "64, 4, 4, 4",
+        "9, 8, 8, 8",
+        "11, 3, 5, 2",
+        "5, 1, 7, 1",
+    })
+    void produitEgalProduitsNaifs(int taille, int n, int p, int m) {
+        LotSupermat a = lot(taille, n, p, 100);
+        LotSupermat b = lot(taille, p, m, 200);
+
+        assertProduitsNaifs(a, b, LotSupermat.produit(a, b));
+    }
+
+    @Test
+    void produitParallele() {
+        // Au-delà de TacheLot.SEUIL : découpé en tâches
+        LotSupermat a = lot(5000, 4, 4, 300);
+        LotSupermat b = lot(5000, 4, 4, 400);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertProduitsNaifs(a, b, LotSupermat.produitParallele(a, b, pool));
+
+            LotSupermat destination = new LotSupermat(5000, 4, 4);
+            assertSame(destination, LotSupermat.produitParallele(a, b, destination, pool));
+            assertProduitsNaifs(a, b, destination);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void produitDansUneDestination() {
+        LotSupermat a = lot(7, 3, 3, 500);
+        LotSupermat b = lot(7, 3, 3, 600);
+        LotSupermat destination = lot(7, 3, 3, 700);
+
+        assertSame(destination, LotSupermat.produit(a, b, destination));
+        assertProduitsNaifs(a, b, destination);
+        assertThrows(IllegalArgumentException.class, () -> LotSupermat.produit(a, b, a));
+        assertThrows(DimensionsException.class, () -> LotSupermat.produit(a, b, new LotSupermat(7, 3, 2)));
+    }
+
+    @Test
+    void dispositionParElements() {
+        double[] donnees = new double[2 * 2 * 3];
+        LotSupermat lot = LotSupermat.envelopper(donnees, 2, 2, 3);
+        lot.set(1, 1, 2, 5.0);
+
+        assertEquals(5.0, donnees[(1 * 3 + 2) * 2 + 1]);
+        assertEquals(5.0, lot.getMatrice(1).get(1, 2));
+        assertEquals(0.0, lot.getMatrice(0).get(1, 2));
+    }
+
+    @Test
+    void dimensionsIncompatibles() {
+        assertThrows(DimensionsException.class, () -> LotSupermat.produit(new LotSupermat(3, 2, 2),
+                                                                          new LotSupermat(4, 2, 2)));
+        assertThrows(DimensionsException.class, () -> LotSupermat.produit(new LotSupermat(3, 2, 3),
+                                                                          new LotSupermat(3, 2, 2)));
+        assertThrows(DimensionsException.class, () -> new LotSupermat(2, 3, 3).setMatrice(0, new Supermat(3, 2)));
+    }
+}
@@ -0,0 +1,131 @@
+package supermat;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static supermat.Reference.assertEgales;
+import static supermat.Reference.assertProches;
+import static supermat.Reference.entiers;
+import static supermat.Reference.produitNaif;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Noyau de produit par blocs (produit(), produitParallele(), Strassen)
+ * comparé au produit naïf.
+ */
+class ProduitTest {
+
+    // Formes n x p × p x m : petites, non multiples des blocs (BLOC_I = 64,
+    // BLOC_J = BLOC_K = 256), à cheval sur plusieurs blocs
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1, 1",
+        "1, 7, 1",
+        "7, 1, 5",
+        "3, 5, 7",
+        "17, 33, 9",
+        "65, 257, 3",
+        "130, 70, 300",
+        "64, 256, 256",
+    })
+    void produitEgalProduitNaif(int n, int p, int m) {
+        Supermat a = entiers(n, p, 1);
+        Supermat b = entiers(p, m, 2);
+
+        assertEgales(produitNaif(a, b), Supermat.produit(a, b));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1, 1",
+        "5, 3, 9",
+        "150, 90, 70",
+        "200, 300, 129",
+    })
+    void produitParalleleEgalProduitNaif(int n, int p, int m) {
+        Supermat a = entiers(n, p, 3);
+        Supermat b = entiers(p, m, 4);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEgales(produitNaif(a, b), Supermat.produitParallele(a, b, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void produitDeReelsProcheDuProduitNaif() {
+        Supermat a = new Supermat(97, 131);
+        Supermat b = new Supermat(131, 45);
+        SupermatUtils.remplirAleatoire(a, -1.0, 1.0, 5);
+        SupermatUtils.remplirAleatoire(b, -1.0, 1.0, 6);
+
+        // Seul l'ordre des additions diffère
+        assertProches(produitNaif(a, b), Supermat.produit(a, b), 1e-12);
+    }
+
+    @Test
+    void produitDeVuesEtDeTransposees() {
+        Supermat a = entiers(80, 90, 7);
+        Supermat b = entiers(100, 70, 8);
+
+        Supermat va = a.sousMatrice(3, 72, 5, 64);       // 70 x 60
+        Supermat vb = b.sousMatrice(10, 69, 1, 50);      // 60 x 50
+        assertEgales(produitNaif(va, vb), Supermat.produit(va, vb));
+
+        Supermat ta = a.transposee();                    // 90 x 80
+        Supermat tb = b.sousMatrice(0, 79, 0, 69);       // 80 x 70
+        assertEgales(produitNaif(ta, tb), Supermat.produit(ta, tb));
+
+        Supermat tvb = b.sousMatrice(5, 64, 2, 61).transposee();   // 60 x 60
+        Supermat vta = a.transposee().sousMatrice(0, 59, 0, 59);   // 60 x 60
+        assertEgales(produitNaif(vta, tvb), Supermat.produit(vta, tvb));
+        assertEgales(produitNaif(vta, tvb), Supermat.produitParallele(vta, tvb));
+    }
+
+    @Test
+    void produitDansUneDestination() {
+        Supermat a = entiers(40, 30, 9);
+        Supermat b = entiers(30, 20, 10);
+        Supermat destination = new Supermat(40, 20);
+        destination.remplir(123.0);
+
+        assertSame(destination, Supermat.produit(a, b, destination));
+        assertEgales(produitNaif(a, b), destination);
+
+        // Destination vue : le reste de la matrice n'est pas touché
+        Supermat grande = new Supermat(50, 30);
+        Supermat vue = grande.sousMatrice(5, 44, 7, 26);
+        Supermat.produit(a, b, vue);
+        assertEgales(produitNaif(a, b), vue);
+        assertEgales(new Supermat(5, 30), grande.sousMatrice(0, 4, 0, 29));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1",
+        "33, 8",
+        "128, 32",
+        "100, 16",
+    })
+    void produitStrassenEgalProduitNaif(int n, int seuil) {
+        Supermat a = entiers(n, n, 11);
+        Supermat b = entiers(n, n, 12);
+
+        assertEgales(produitNaif(a, b), Supermat.produitStrassen(a, b, seuil));
+    }
+
+    @Test
+    void dimensionsIncompatibles() {
+        Supermat a = new Supermat(3, 4);
+        Supermat b = new Supermat(5, 2);
+
+        assertThrows(DimensionsException.class, () -> Supermat.produit(a, b));
+        assertThrows(DimensionsException.class, () -> Supermat.produitParallele(a, b));
+        assertThrows(DimensionsException.class, () -> Supermat.produit(a, a.transposee(), new Supermat(3, 4)));
+    }
+}
@@ -0,0 +1,69 @@
+package supermat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Calculs de référence des tests : produit naïf par triple boucle et
+ * comparaisons élément par élément.
+ */
+final class Reference {
+
+    private Reference() {
+    }
+
+    /**
+     * Matrice nl x nc d'entiers entre -9 et 9 : les produits et sommes
+     * restent exacts en double, quel que soit l'ordre des additions.
+     */
+    static Supermat entiers(int nl, int nc, long graine) {
+        Supermat m = new Supermat(nl, nc);
+        SupermatUtils.remplirEntiers(m, -9, 9, graine);
+        return m;
+    }
+
+    /**
+     * Produit a × b par la triple boucle i, j, k, lu par get().
+     */
+    static Supermat produitNaif(Supermat a, Supermat b) {
+        int n = a.getNombreLignes();
+        int p = a.getNombreColonnes();
+        int m = b.getNombreColonnes();
+        Supermat c = new Supermat(n, m);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                double somme = 0.0;
+                for (int k = 0; k < p; k++) {
+                    somme += a.get(i, k) * b.get(k, j);
+                }
+                c.set(i, j, somme);
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Vérifie que les deux matrices ont la même forme et les mêmes éléments.
+     */
+    static void assertEgales(Supermat attendue, Supermat obtenue) {
+        assertProches(attendue, obtenue, 0.0);
+    }
+
+    /**
+     * Vérifie que les deux matrices ont la même forme et des éléments égaux
+     * à tolerance près (écart absolu).
+     */
+    static void assertProches(Supermat attendue, Supermat obtenue, double tolerance) {
+        assertEquals(attendue.getNombreLignes(), obtenue.getNombreLignes(), "nombre de lignes");
+        assertEquals(attendue.getNombreColonnes(), obtenue.getNombreColonnes(), "nombre de colonnes");
+        for (int i = 0; i < attendue.getNombreLignes(); i++) {
+            for (int j = 0; j < attendue.getNombreColonnes(); j++) {
+                double a = attendue.get(i, j);
+                double o = obtenue.get(i, j);
+                if (!(Math.abs(a - o) <= tolerance)) {
+                    fail("élément (" + i + ", " + j + ") : attendu " + a + ", obtenu " + o);
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 @echo off
 echo Exécution des tests de la bibliothèque Supermatrice...
 echo.
-java -cp bin supermat.TestSupermat
+java --add-modules jdk.incubator.vector -cp bin supermat.TestSupermat
 echo.
 pause